@@ -7,6 +7,10 @@
 
 package io.vlingo.xoom.http;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * An HTTP response body that provides a multi-chunk format. You may create
  * one chunk in each instance, or multiple chunks.
@@ -57,6 +61,25 @@ public class ChunkedBody implements Body {
     return new PlainBody(content());
   }
 
+  /**
+   * Answer the content of each of my chunks, without their sizes and delimiters
+   * and not including the end chunk, such as for a transport that frames chunks itself.
+   * @return {@code List<String>}
+   */
+  public List<String> chunks() {
+    final List<String> chunks = new ArrayList<>();
+    forEachChunk(chunks::add);
+    return chunks;
+  }
+
+  /**
+   * Answer whether or not my end chunk has been appended.
+   * @return boolean
+   */
+  public boolean isEnded() {
+    return forEachChunk(chunk -> { });
+  }
+
   /**
    * Answer my content as a {@code String}.
    * @return String
@@ -105,6 +128,27 @@ public class ChunkedBody implements Body {
     return content.toString();
   }
 
+  /**
+   * Send the content of each of my chunks to {@code consumer}, answering whether
+   * or not my end chunk follows them.
+   * @param consumer the {@code Consumer<String>} of chunk content
+   * @return boolean
+   */
+  private boolean forEachChunk(final Consumer<String> consumer) {
+    int index = 0;
+    while (index < content.length()) {
+      final int sizeEnd = content.indexOf("\r\n", index);
+      final int size = Integer.parseInt(content.substring(index, sizeEnd), 16);
+      if (size == 0) {
+        return true;
+      }
+      final int chunkStart = sizeEnd + 2;
+      consumer.accept(content.substring(chunkStart, chunkStart + size));
+      index = chunkStart + size + 2;
+    }
+    return false;
+  }
+
   /**
    * Construct my default state.
    */
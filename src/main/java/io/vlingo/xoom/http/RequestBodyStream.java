@@ -0,0 +1,381 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * The body of a {@code Request} delivered as a sequence of {@code ByteBuffer} chunks
+ * as they arrive, rather than as a single materialized {@code Body}. The consumer
+ * registers a {@code Subscriber} and signals demand by way of {@code request(count)},
+ * receiving no more chunks than it has requested. Chunks that arrive before there
+ * is demand for them are held up to {@code maximumBufferedBytes}, beyond which the
+ * stream fails with {@code PayloadTooLarge}, because socket reads cannot be suspended.
+ * <p>
+ * All signals to the {@code Subscriber} are serialized, and it may call back into
+ * {@code request(count)} and {@code cancel()} from within its own signals.
+ */
+public class RequestBodyStream {
+  /** The default maximum number of bytes held while waiting for demand. */
+  public static final int DefaultMaximumBufferedBytes = 1024 * 1024;
+
+  /**
+   * The receiver of the body chunks, completion, and failure.
+   */
+  public interface Subscriber {
+    /**
+     * Receive the next {@code chunk} of body content, which is owned by the receiver.
+     * @param chunk the ByteBuffer ready to be read
+     */
+    void onChunk(final ByteBuffer chunk);
+
+    /**
+     * Receive notice that the full body has been delivered.
+     */
+    void onCompleted();
+
+    /**
+     * Receive notice that the body will not be delivered in full because of {@code cause}.
+     * @param cause the Throwable reason
+     */
+    void onFailure(final Throwable cause);
+  }
+
+  /**
+   * The producing side of a {@code RequestBodyStream} for transports other than
+   * the {@code RequestParser}, such as the Netty agent. Unlike socket reads of the
+   * {@code RequestParser}, those of such a transport may be suspended, and so each
+   * offer answers whether or not more content should be read now. Once the held
+   * content is drained back to half of {@code maximumBufferedBytes} the transport
+   * is told to resume by way of its {@code resume} {@code Runnable}.
+   */
+  public static final class Source {
+    private final RequestBodyStream stream;
+    private final StreamedBody body;
+
+    /**
+     * Answer the {@code StreamedBody} delivering my content.
+     * @return StreamedBody
+     */
+    public StreamedBody body() {
+      return body;
+    }
+
+    /**
+     * Cancel my stream on behalf of its request, such as once that has been answered
+     * without reading all of its body, discarding the rest and resuming reading.
+     */
+    public void cancel() {
+      stream.cancel();
+    }
+
+    /**
+     * Mark that all content has been offered.
+     */
+    public void complete() {
+      stream.complete();
+    }
+
+    /**
+     * Mark that no further content will be offered because of {@code cause}.
+     * @param cause the Throwable reason
+     */
+    public void fail(final Throwable cause) {
+      stream.fail(cause);
+    }
+
+    /**
+     * Append a copy of the remaining {@code bytes}, answering whether or not more
+     * content should be read before {@code resume} is run.
+     * @param bytes the ByteBuffer holding the content
+     * @return boolean
+     */
+    public boolean offer(final ByteBuffer bytes) {
+      return stream.offer(bytes);
+    }
+
+    private Source(final int maximumBufferedBytes, final Runnable resume) {
+      this.stream = new RequestBodyStream(maximumBufferedBytes, resume);
+      this.body = new StreamedBody(stream);
+    }
+  }
+
+  private final Queue<ByteBuffer> chunks;
+  private final int maximumBufferedBytes;
+  private final Runnable resume;
+
+  private int bufferedBytes;
+  private boolean cancelled;
+  private boolean completed;
+  private long demand;
+  private boolean draining;
+  private Throwable failure;
+  private boolean terminated;
+  private Subscriber subscriber;
+  private boolean suspended;
+
+  /**
+   * Answer a new {@code Source} whose stream holds up to {@code maximumBufferedBytes}
+   * while waiting for demand, and that runs {@code resume} when reading may resume.
+   * @param maximumBufferedBytes the int maximum number of bytes held while waiting for demand
+   * @param resume the Runnable to run when suspended reading may resume
+   * @return Source
+   */
+  public static Source source(final int maximumBufferedBytes, final Runnable resume) {
+    return new Source(maximumBufferedBytes, resume);
+  }
+
+  /**
+   * Answer a {@code RequestBodyStream} for {@code body}, which is either the
+   * stream of the {@code StreamedBody} or a completed stream of the content
+   * of any other {@code body}.
+   * @param body the Body of a Request
+   * @return RequestBodyStream
+   */
+  public static RequestBodyStream from(final Body body) {
+    if (body instanceof StreamedBody) {
+      return ((StreamedBody) body).stream;
+    }
+    final RequestBodyStream stream = new RequestBodyStream(Integer.MAX_VALUE);
+    if (body != null && body.hasContent()) {
+      final byte[] content = body.binaryContent();
+      stream.offer(content, 0, content.length);
+    }
+    stream.complete();
+    return stream;
+  }
+
+  /**
+   * Register {@code subscriber} as the single receiver of my chunks.
+   * @param subscriber the Subscriber to receive my chunks
+   */
+  public void subscribe(final Subscriber subscriber) {
+    synchronized (this) {
+      if (this.subscriber != null) {
+        throw new IllegalStateException("RequestBodyStream already has a subscriber.");
+      }
+      this.subscriber = subscriber;
+    }
+    drain();
+  }
+
+  /**
+   * Signal demand for {@code count} more chunks.
+   * @param count the long number of additional chunks that may be delivered
+   */
+  public void request(final long count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("Demand must be greater than zero.");
+    }
+    synchronized (this) {
+      demand = demand + count < 0 ? Long.MAX_VALUE : demand + count;
+    }
+    drain();
+  }
+
+  /**
+   * Stop the delivery of chunks, discarding those held and any still to arrive.
+   */
+  public void cancel() {
+    synchronized (this) {
+      cancelled = true;
+      chunks.clear();
+      bufferedBytes = 0;
+    }
+    resumeIfSuspended();
+  }
+
+  /**
+   * Answer whether or not my full content has arrived.
+   * @return boolean
+   */
+  public synchronized boolean isCompleted() {
+    return completed;
+  }
+
+  /**
+   * Answer whether or not I have failed.
+   * @return boolean
+   */
+  public synchronized boolean isFailed() {
+    return failure != null;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RequestBodyStream[bufferedBytes=" + bufferedBytes + " demand=" + demand + " completed=" + completed + " failed=" + (failure != null) + "]";
+  }
+
+  /**
+   * Construct my state.
+   * @param maximumBufferedBytes the int maximum number of bytes held while waiting for demand
+   */
+  RequestBodyStream(final int maximumBufferedBytes) {
+    this(maximumBufferedBytes, null);
+  }
+
+  /**
+   * Construct my state.
+   * @param maximumBufferedBytes the int maximum number of bytes held while waiting for demand
+   * @param resume the Runnable to run when suspended reading may resume, or null if reading is never suspended
+   */
+  RequestBodyStream(final int maximumBufferedBytes, final Runnable resume) {
+    this.chunks = new ArrayDeque<>();
+    this.maximumBufferedBytes = maximumBufferedBytes;
+    this.resume = resume;
+  }
+
+  /**
+   * Append a copy of the remaining {@code bytes}, answering whether or not more
+   * content should be read, which is not the case while I am suspended because
+   * I hold more than half of {@code maximumBufferedBytes}.
+   * @param bytes the ByteBuffer holding the content
+   * @return boolean
+   */
+  boolean offer(final ByteBuffer bytes) {
+    append(bytes.duplicate());
+    synchronized (this) {
+      if (resume != null && !cancelled && failure == null && bufferedBytes > maximumBufferedBytes / 2) {
+        suspended = true;
+      }
+      return !suspended;
+    }
+  }
+
+  /**
+   * Append a copy of {@code length} bytes of {@code bytes} starting at {@code offset}.
+   * @param bytes the byte[] holding the content
+   * @param offset the int index of the first byte
+   * @param length the int number of bytes
+   */
+  void offer(final byte[] bytes, final int offset, final int length) {
+    append(ByteBuffer.wrap(bytes, offset, length));
+  }
+
+  /**
+   * Mark that all content has been offered.
+   */
+  void complete() {
+    synchronized (this) {
+      if (failure == null) {
+        completed = true;
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Mark that no further content will be offered because of {@code cause}.
+   * @param cause the Throwable reason
+   */
+  void fail(final Throwable cause) {
+    synchronized (this) {
+      if (completed || failure != null) {
+        return;
+      }
+      chunks.clear();
+      bufferedBytes = 0;
+      failure = cause;
+    }
+    drain();
+  }
+
+  /**
+   * Append a copy of the remaining {@code bytes}, failing with {@code PayloadTooLarge}
+   * if they would exceed {@code maximumBufferedBytes}.
+   * @param bytes the ByteBuffer holding the content, which is consumed
+   */
+  private void append(final ByteBuffer bytes) {
+    final int length = bytes.remaining();
+    synchronized (this) {
+      if (cancelled || completed || failure != null || length == 0) {
+        return;
+      }
+      if (bufferedBytes + length > maximumBufferedBytes || bufferedBytes + length < 0) {
+        chunks.clear();
+        bufferedBytes = 0;
+        failure = new IllegalStateException(Response.Status.PayloadTooLarge + "\n\nUnrequested body content exceeds " + maximumBufferedBytes + " bytes.");
+      } else {
+        final byte[] chunk = new byte[length];
+        bytes.get(chunk);
+        chunks.add(ByteBuffer.wrap(chunk));
+        bufferedBytes += length;
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Deliver held chunks to my subscriber as demand allows, followed by my
+   * terminal signal once all chunks are delivered. Only one thread drains
+   * at a time, and reentrant calls by the subscriber return immediately.
+   */
+  private void drain() {
+    final Subscriber subscriber;
+    synchronized (this) {
+      if (draining || this.subscriber == null) {
+        return;
+      }
+      draining = true;
+      subscriber = this.subscriber;
+    }
+    while (true) {
+      ByteBuffer chunk = null;
+      boolean signalCompleted = false;
+      Throwable signalFailure = null;
+      synchronized (this) {
+        if (!cancelled && !terminated && demand > 0 && !chunks.isEmpty()) {
+          chunk = chunks.poll();
+          bufferedBytes -= chunk.remaining();
+          --demand;
+        } else if (!cancelled && !terminated && chunks.isEmpty() && (completed || failure != null)) {
+          terminated = true;
+          signalCompleted = completed;
+          signalFailure = failure;
+        } else {
+          draining = false;
+          return;
+        }
+      }
+      if (chunk != null) {
+        resumeIfSuspended();
+      }
+      try {
+        if (chunk != null) {
+          subscriber.onChunk(chunk);
+        } else if (signalCompleted) {
+          subscriber.onCompleted();
+        } else {
+          subscriber.onFailure(signalFailure);
+        }
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          cancel();
+          draining = false;
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Run my {@code resume} if I am suspended and hold no more than half of
+   * {@code maximumBufferedBytes}, or no longer need content.
+   */
+  private void resumeIfSuspended() {
+    synchronized (this) {
+      if (!suspended || (bufferedBytes > maximumBufferedBytes / 2 && !cancelled)) {
+        return;
+      }
+      suspended = false;
+    }
+    resume.run();
+  }
+}
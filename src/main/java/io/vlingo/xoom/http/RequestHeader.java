@@ -51,6 +51,7 @@ public class RequestHeader extends Header {
   public static final String Range = "Range";
   public static final String Referer = "Referer";
   public static final String TE = "TE";
+  public static final String TransferEncoding = "Transfer-Encoding";
   public static final String UserAgent = "User-Agent";
   public static final String Upgrade = "Upgrade";
   public static final String Via = "Via";
@@ -143,6 +144,25 @@ public class RequestHeader extends Header {
     return 0;
   }
 
+  /**
+   * Answer whether or not I am a {@code TransferEncoding} header whose final encoding is {@code chunked}.
+   * @return boolean
+   */
+  public boolean isTransferEncodingChunked() {
+    return name.equalsIgnoreCase(TransferEncoding) && isChunked(value);
+  }
+
+  /**
+   * Answer whether or not the {@code TransferEncoding} header {@code value} has {@code chunked}
+   * as its final encoding, such as with {@code "gzip, chunked"}.
+   * @param value the String value of a TransferEncoding header
+   * @return boolean
+   */
+  static boolean isChunked(final String value) {
+    final int lastComma = value.lastIndexOf(',');
+    return value.substring(lastComma + 1).trim().equalsIgnoreCase("chunked");
+  }
+
   /**
    * Construct my state.
    * @param name the String to set as my name
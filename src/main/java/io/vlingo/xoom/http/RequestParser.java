@@ -9,50 +9,113 @@ package io.vlingo.xoom.http;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.StringTokenizer;
+import java.util.function.BiPredicate;
 
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.wire.message.Converters;
 
 public class RequestParser {
-  private final VirtualStateParser virtualStateParser;
+  private final StateParser stateParser;
 
   public String currentRequestText() {
-    return virtualStateParser.requestText;
+    return stateParser.currentRequestText();
   }
 
   public static RequestParser parserFor(final ByteBuffer requestContent) {
-    return new RequestParser(requestContent);
+    return new RequestParser(new VirtualStateParser(), requestContent);
+  }
+
+  /**
+   * Answer a new {@code RequestParser} that scans the raw bytes of {@code requestContent}
+   * directly, materializing {@code String} instances only for the parts of the
+   * {@code Request} that are exposed as such, e.g. the URI, header names and values, and body.
+   * @param requestContent the ByteBuffer with the initial request content
+   * @return RequestParser
+   */
+  public static RequestParser bytesParserFor(final ByteBuffer requestContent) {
+    return bytesParserFor(requestContent, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Answer a new {@code RequestParser} that scans the raw bytes of {@code requestContent}
+   * directly, and that rejects {@code Transfer-Encoding: chunked} bodies that decode to
+   * more than {@code maxChunkedBodySize} bytes, or whose chunk size lines or trailers
+   * take more than as many bytes.
+   * @param requestContent the ByteBuffer with the initial request content
+   * @param maxChunkedBodySize the int maximum number of decoded bytes of a chunked body, and of its chunk size lines and trailers
+   * @return RequestParser
+   */
+  public static RequestParser bytesParserFor(final ByteBuffer requestContent, final int maxChunkedBodySize) {
+    return bytesParserFor(requestContent, maxChunkedBodySize, (method, uri) -> false);
+  }
+
+  /**
+   * Answer a new {@code RequestParser} that scans the raw bytes of {@code requestContent}
+   * directly, and that answers a {@code Request} with a {@code StreamedBody} as soon as its
+   * headers are parsed when {@code streamsBody} answers {@code true} for its method and URI.
+   * The body content of such a {@code Request} is then offered to its {@code RequestBodyStream}
+   * as it arrives, and is never accumulated by this parser.
+   * @param requestContent the ByteBuffer with the initial request content
+   * @param maxChunkedBodySize the int maximum number of decoded bytes of a non-streamed chunked body, and of the chunk size lines and trailers of any chunked body
+   * @param streamsBody the {@code BiPredicate<Method, URI>} answering whether the body is streamed
+   * @return RequestParser
+   */
+  public static RequestParser bytesParserFor(final ByteBuffer requestContent, final int maxChunkedBodySize, final BiPredicate<Method, URI> streamsBody) {
+    return new RequestParser(new ByteStateParser(maxChunkedBodySize, streamsBody), requestContent);
+  }
+
+  /**
+   * Fail the {@code RequestBodyStream} of the {@code Request} whose body is currently
+   * being streamed, if any, such as when its content does not arrive in time, answering
+   * whether there was such a body. Its {@code Request} has then already been answered,
+   * and so its response is the concern of the handler of the {@code Request}.
+   * @param cause the Throwable reason of the failure
+   * @return boolean
+   */
+  public boolean failStreamedBody(final Throwable cause) {
+    return stateParser.failStreamedBody(cause);
   }
 
   public boolean hasCompleted() {
-    return virtualStateParser.hasCompleted();
+    return stateParser.hasCompleted();
   }
 
   public Request fullRequest() {
-    return virtualStateParser.fullRequest();
+    return stateParser.fullRequest();
   }
 
   public boolean hasFullRequest() {
-    return virtualStateParser.hasFullRequest();
+    return stateParser.hasFullRequest();
   }
 
   public boolean hasMissingContentTimeExpired(final long timeLimit) {
-    return virtualStateParser.hasMissingContentTimeExpired(timeLimit);
+    return stateParser.hasMissingContentTimeExpired(timeLimit);
+  }
+
+  /**
+   * Answer whether or not I am missing content of the request line or headers of
+   * the current request, as opposed to of its body.
+   * @return boolean
+   */
+  public boolean isMissingHeaders() {
+    return stateParser.isMissingContent() && stateParser.isBeforeBody();
   }
 
   public boolean isMissingContent() {
-    return virtualStateParser.isMissingContent();
+    return stateParser.isMissingContent();
   }
 
   public void parseNext(final ByteBuffer requestContent) {
-    virtualStateParser.includes(requestContent).parse();
+    stateParser.includes(requestContent).parse();
   }
 
   private static String header = "==========";
@@ -64,30 +127,51 @@ public class RequestParser {
 
     builder.append(header).append(" REQUEST PARSER CONTEXT:\n");
 
-    builder.append(virtualStateParser.method.name).append(" ").append(virtualStateParser.uri).append("\n");
+    builder.append(stateParser.method().name).append(" ").append(stateParser.uri()).append("\n");
 
-    for (final RequestHeader header : virtualStateParser.headers) {
+    for (final RequestHeader header : stateParser.headers()) {
       builder.append(header.name).append(": ").append(header.value).append("\n");
     }
 
-    builder.append("\n").append(virtualStateParser.body != null ? virtualStateParser.body.content() : "");
+    builder.append("\n").append(stateParser.body() != null ? stateParser.body().content() : "");
 
-    builder.append(header).append("\n").append("DANGLING:\n").append(virtualStateParser.requestText).append("\n");
+    builder.append(header).append("\n").append("DANGLING:\n").append(stateParser.currentRequestText()).append("\n");
 
     builder.append(header).append(" END\n");
 
     return builder.toString();
   }
 
-  private RequestParser(final ByteBuffer requestContent) {
-    this.virtualStateParser = new VirtualStateParser().includes(requestContent).parse();
+  private RequestParser(final StateParser stateParser, final ByteBuffer requestContent) {
+    this.stateParser = stateParser.includes(requestContent).parse();
+  }
+
+  //=========================================
+  // StateParser
+  //=========================================
+
+  interface StateParser {
+    Body body();
+    String currentRequestText();
+    boolean failStreamedBody(final Throwable cause);
+    Request fullRequest();
+    boolean hasCompleted();
+    boolean hasFullRequest();
+    boolean hasMissingContentTimeExpired(final long timeLimit);
+    Headers<RequestHeader> headers();
+    StateParser includes(final ByteBuffer requestContent);
+    boolean isBeforeBody();
+    boolean isMissingContent();
+    Method method();
+    StateParser parse();
+    URI uri();
   }
 
   //=========================================
   // VirtualStateParser
   //=========================================
 
-  static class VirtualStateParser {
+  static class VirtualStateParser implements StateParser {
 
     private enum Step { NotStarted, RequestLine, Headers, Body, Completed };
 
@@ -122,7 +206,39 @@ public class RequestParser {
       reset();
     }
 
-    Request fullRequest() {
+    @Override
+    public Body body() {
+      return body;
+    }
+
+    @Override
+    public String currentRequestText() {
+      return requestText;
+    }
+
+    @Override
+    public boolean failStreamedBody(final Throwable cause) {
+      // bodies are never streamed
+      return false;
+    }
+
+    @Override
+    public Headers<RequestHeader> headers() {
+      return headers;
+    }
+
+    @Override
+    public Method method() {
+      return method;
+    }
+
+    @Override
+    public URI uri() {
+      return uri;
+    }
+
+    @Override
+    public Request fullRequest() {
       if (fullRequestsIterator == null) {
         fullRequestsIterator = fullRequests.listIterator();
       }
@@ -134,7 +250,8 @@ public class RequestParser {
       throw new IllegalStateException(Response.Status.BadRequest + "\n\nRequest is not completed: " + method + " " + uri);
     }
 
-    boolean hasFullRequest() {
+    @Override
+    public boolean hasFullRequest() {
       if (fullRequestsIterator != null) {
         if (!fullRequestsIterator.hasNext()) {
           fullRequestsIterator = null;
@@ -150,7 +267,8 @@ public class RequestParser {
       return true;
     }
 
-    boolean hasCompleted() {
+    @Override
+    public boolean hasCompleted() {
       if (isNotStarted() && position >= requestText.length() && contentQueue.isEmpty()) {
         requestText = compact();
         return true;
@@ -158,12 +276,14 @@ public class RequestParser {
       return false;
     }
 
-    boolean hasMissingContentTimeExpired(final long timeLimit) {
+    @Override
+    public boolean hasMissingContentTimeExpired(final long timeLimit) {
       final long timeOutTime = outOfContentTime + timeLimit;
       return timeOutTime < System.currentTimeMillis();
     }
 
-    VirtualStateParser includes(final ByteBuffer requestContent) {
+    @Override
+    public VirtualStateParser includes(final ByteBuffer requestContent) {
       outOfContentTime = 0;
       final String requestContentText = Converters.bytesToText(requestContent.array(), 0, requestContent.limit());
       final int utf8ExtraLength = requestContent.remaining() - requestContentText.length();
@@ -176,11 +296,18 @@ public class RequestParser {
       return this;
     }
 
-    boolean isMissingContent() {
+    @Override
+    public boolean isBeforeBody() {
+      return isNotStarted() || isRequestLineStep() || isHeadersStep();
+    }
+
+    @Override
+    public boolean isMissingContent() {
       return outOfContentTime > 0;
     }
 
-    VirtualStateParser parse() {
+    @Override
+    public VirtualStateParser parse() {
       boolean isOutOfContent = false;
       while (!hasCompleted()) {
         if (isNotStarted()) {
@@ -366,4 +493,661 @@ public class RequestParser {
       this.uri = null;
     }
   }
+
+  //=========================================
+  // ByteStateParser
+  //=========================================
+
+  static class ByteStateParser implements StateParser {
+
+    private enum Step { NotStarted, RequestLine, Headers, Body, StreamedBody, ChunkSize, ChunkData, ChunkDataEnd, Trailers, Completed };
+
+    private static final byte Colon = ':';
+    private static final byte Semicolon = ';';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte Space = ' ';
+    private static final byte Tab = '\t';
+
+    private static final String[] KnownHeaderNames = {
+            RequestHeader.Accept, RequestHeader.AcceptEncoding, RequestHeader.AcceptLanguage,
+            RequestHeader.Authorization, RequestHeader.CacheControl, RequestHeader.Connection,
+            RequestHeader.ContentLength, RequestHeader.ContentType, RequestHeader.Cookie,
+            RequestHeader.Host, RequestHeader.LastEventID, RequestHeader.Origin,
+            RequestHeader.TransferEncoding, RequestHeader.UserAgent, RequestHeader.XCorrelationID, RequestHeader.XForwardedFor };
+
+    private static final byte[][] KnownHeaderNameBytes = asciiBytesOf(KnownHeaderNames);
+
+    private static final Method[] Methods = Method.values();
+    private static final byte[][] MethodBytes = methodBytes();
+
+    private static final Version[] Versions = Version.values();
+    private static final byte[][] VersionBytes = versionBytes();
+
+    // DO NOT RESET: (1) bytes, (2) position, (3) limit, (4) scanPosition, (5) fullRequests
+
+    private byte[] bytes;
+    private int limit;
+    private int position;
+    private int scanPosition;
+    private int sectionLength;
+    private final Queue<Request> fullRequests;
+    private final int maxChunkedBodySize;
+    private final BiPredicate<Method, URI> streamsBody;
+
+    private Body body;
+    private RequestBodyStream bodyStream;
+    private byte[] chunkedBody;
+    private int chunkedBodyLength;
+    private int chunkRemaining;
+    private boolean chunked;
+    private int contentLength;
+    private int contentRemaining;
+    private Step currentStep;
+    private Headers<RequestHeader> headers;
+    private Method method;
+    private long outOfContentTime;
+    private Headers<RequestHeader> trailers;
+    private URI uri;
+    private Version version;
+
+    ByteStateParser(final int maxChunkedBodySize, final BiPredicate<Method, URI> streamsBody) {
+      this.maxChunkedBodySize = maxChunkedBodySize;
+      this.streamsBody = streamsBody;
+      this.bytes = new byte[1024];
+      this.currentStep = Step.NotStarted;
+      this.headers = new Headers<>(2);
+      this.fullRequests = new LinkedList<>();
+
+      reset();
+    }
+
+    @Override
+    public Body body() {
+      return body;
+    }
+
+    @Override
+    public String currentRequestText() {
+      return new String(bytes, position, limit - position, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean failStreamedBody(final Throwable cause) {
+      if (bodyStream != null) {
+        bodyStream.fail(cause);
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public Request fullRequest() {
+      final Request fullRequest = fullRequests.poll();
+      if (fullRequest != null) {
+        return fullRequest;
+      }
+      throw new IllegalStateException(Response.Status.BadRequest + "\n\nRequest is not completed: " + method + " " + uri);
+    }
+
+    @Override
+    public boolean hasCompleted() {
+      return isNotStarted() && position >= limit;
+    }
+
+    @Override
+    public boolean hasFullRequest() {
+      return !fullRequests.isEmpty();
+    }
+
+    @Override
+    public boolean hasMissingContentTimeExpired(final long timeLimit) {
+      final long timeOutTime = outOfContentTime + timeLimit;
+      return timeOutTime < System.currentTimeMillis();
+    }
+
+    @Override
+    public Headers<RequestHeader> headers() {
+      return headers;
+    }
+
+    @Override
+    public ByteStateParser includes(final ByteBuffer requestContent) {
+      outOfContentTime = 0;
+      final int length = requestContent.remaining();
+      ensureCapacityFor(length);
+      requestContent.get(bytes, limit, length);
+      limit += length;
+      return this;
+    }
+
+    @Override
+    public boolean isBeforeBody() {
+      return currentStep == Step.NotStarted || currentStep == Step.RequestLine || currentStep == Step.Headers;
+    }
+
+    @Override
+    public boolean isMissingContent() {
+      return outOfContentTime > 0;
+    }
+
+    @Override
+    public Method method() {
+      return method;
+    }
+
+    @Override
+    public ByteStateParser parse() {
+      boolean isOutOfContent = false;
+      while (!hasCompleted()) {
+        switch (currentStep) {
+        case NotStarted:
+          currentStep = Step.RequestLine;
+          break;
+        case RequestLine:
+          isOutOfContent = parseRequestLine();
+          break;
+        case Headers:
+          isOutOfContent = parseHeaders();
+          break;
+        case Body:
+          isOutOfContent = parseBody();
+          break;
+        case StreamedBody:
+          isOutOfContent = parseStreamedBody();
+          break;
+        case ChunkSize:
+          isOutOfContent = parseChunkSize();
+          break;
+        case ChunkData:
+          isOutOfContent = parseChunkData();
+          break;
+        case ChunkDataEnd:
+          isOutOfContent = parseChunkDataEnd();
+          break;
+        case Trailers:
+          isOutOfContent = parseTrailers();
+          break;
+        case Completed:
+          newRequest();
+          break;
+        }
+        if (isOutOfContent) {
+          outOfContentTime = System.currentTimeMillis();
+          return this;
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public URI uri() {
+      return uri;
+    }
+
+    /**
+     * Answer the index of the {@code LF} that ends the current line, or {@code -1}
+     * if the line is not yet complete. Scanning resumes where the previous
+     * attempt ended so that no byte is examined twice.
+     * @return int
+     */
+    private int endOfLine() {
+      for (int index = Math.max(scanPosition, position); index < limit; ++index) {
+        if (bytes[index] == LF) {
+          scanPosition = index + 1;
+          return index;
+        }
+      }
+      scanPosition = limit;
+      return -1;
+    }
+
+    private boolean isNotStarted() {
+      return currentStep == Step.NotStarted;
+    }
+
+    private boolean parseBody() {
+      if ((chunked || contentLength > 0) && streamsBody.test(method, uri)) {
+        // the request is answered now, and its content is offered to the stream as it arrives
+        bodyStream = new RequestBodyStream(RequestBodyStream.DefaultMaximumBufferedBytes);
+        body = new StreamedBody(bodyStream);
+        fullRequests.add(new Request(method, uri, version, headers, body));
+        contentRemaining = contentLength;
+        currentStep = chunked ? Step.ChunkSize : Step.StreamedBody;
+        return false;
+      } else if (chunked) {
+        chunkedBody = new byte[Math.min(1024, maxChunkedBodySize)];
+        currentStep = Step.ChunkSize;
+        return false;
+      } else if (contentLength > 0) {
+        if (limit - position < contentLength) {
+          return true;
+        }
+        body = Body.from(new String(bytes, position, contentLength, StandardCharsets.UTF_8));
+        position += contentLength;
+      } else {
+        body = Body.Empty;
+      }
+      scanPosition = position;
+      currentStep = Step.Completed;
+      return false;
+    }
+
+    private boolean parseStreamedBody() {
+      final int available = Math.min(limit - position, contentRemaining);
+      if (available > 0) {
+        bodyStream.offer(bytes, position, available);
+        position += available;
+        scanPosition = position;
+        contentRemaining -= available;
+      }
+      if (contentRemaining > 0) {
+        return true;
+      }
+      bodyStream.complete();
+      currentStep = Step.Completed;
+      return false;
+    }
+
+    private boolean parseChunkSize() {
+      final int lineBreak = endOfLine();
+      if (lineBreak < 0) {
+        return awaitsLine("Chunk size line");
+      }
+      final int lineStart = skipWhitespace(position, lineBreak);
+      final int extensions = indexOf(Semicolon, lineStart, lineBreak);
+      final int lineEnd = trimWhitespace(lineStart, extensions < 0 ? lineBreak : extensions);
+      position = lineBreak + 1;
+      chunkRemaining = chunkSizeOf(lineStart, lineEnd);
+      if (chunkRemaining == 0) {
+        sectionLength = 0;
+        trailers = new Headers<>(2);
+        currentStep = Step.Trailers;
+      } else {
+        currentStep = Step.ChunkData;
+      }
+      return false;
+    }
+
+    private boolean parseChunkData() {
+      final int available = Math.min(limit - position, chunkRemaining);
+      if (available > 0) {
+        if (bodyStream != null) {
+          bodyStream.offer(bytes, position, available);
+        } else {
+          appendChunkedBody(position, available);
+        }
+        position += available;
+        scanPosition = position;
+        chunkRemaining -= available;
+      }
+      if (chunkRemaining > 0) {
+        return true;
+      }
+      currentStep = Step.ChunkDataEnd;
+      return false;
+    }
+
+    private boolean parseChunkDataEnd() {
+      final int lineBreak = endOfLine();
+      if (lineBreak < 0) {
+        return awaitsLine("Chunk data end");
+      }
+      if (skipWhitespace(position, lineBreak) != lineBreak) {
+        throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nChunk data not followed by CRLF.");
+      }
+      position = lineBreak + 1;
+      currentStep = Step.ChunkSize;
+      return false;
+    }
+
+    private boolean parseTrailers() {
+      while (true) {
+        final int lineBreak = endOfLine();
+        if (lineBreak < 0) {
+          return awaitsLine("Trailers");
+        }
+        final int lineStart = skipWhitespace(position, lineBreak);
+        final int lineEnd = trimWhitespace(lineStart, lineBreak);
+        sectionLength += lineBreak + 1 - position;
+        position = lineBreak + 1;
+        if (lineStart == lineEnd) {
+          break;
+        }
+        if (sectionLength > maxChunkedBodySize) {
+          throw new IllegalArgumentException(Response.Status.PayloadTooLarge + "\n\nTrailers exceed " + maxChunkedBodySize + " bytes.");
+        }
+        parseTrailer(lineStart, lineEnd);
+      }
+      if (bodyStream != null) {
+        // the request was answered with its headers, which never change afterwards
+        bodyStream.complete();
+      } else {
+        body = Body.from(new String(chunkedBody, 0, chunkedBodyLength, StandardCharsets.UTF_8));
+        chunkedBody = null;
+        for (final RequestHeader trailer : trailers) {
+          headers.add(trailer);
+        }
+      }
+      trailers = null;
+      currentStep = Step.Completed;
+      return false;
+    }
+
+    private boolean parseHeaders() {
+      while (true) {
+        final int lineBreak = endOfLine();
+        if (lineBreak < 0) {
+          return true;
+        }
+        final int lineStart = skipWhitespace(position, lineBreak);
+        final int lineEnd = trimWhitespace(lineStart, lineBreak);
+        position = lineBreak + 1;
+        if (lineStart == lineEnd) {
+          break;
+        }
+        parseHeader(lineStart, lineEnd);
+      }
+      if (headers.isEmpty()) {
+        throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nHeader is required.");
+      }
+      currentStep = Step.Body;
+      return false;
+    }
+
+    private void parseHeader(final int lineStart, final int lineEnd) {
+      final int colon = colonOf(lineStart, lineEnd);
+      final int nameEnd = trimWhitespace(lineStart, colon);
+      final int valueStart = skipWhitespace(colon + 1, lineEnd);
+      final String name = headerNameOf(lineStart, nameEnd);
+      final String value = new String(bytes, valueStart, lineEnd - valueStart, StandardCharsets.UTF_8);
+      headers.add(RequestHeader.of(name, value));
+      // known names are answered as the shared constant, so identity suffices
+      if (contentLength == 0 && name == RequestHeader.ContentLength) {
+        contentLength = contentLengthOf(valueStart, lineEnd);
+      } else if (name == RequestHeader.TransferEncoding) {
+        chunked = RequestHeader.isChunked(value);
+      }
+    }
+
+    private void parseTrailer(final int lineStart, final int lineEnd) {
+      final int colon = colonOf(lineStart, lineEnd);
+      final String name = headerNameOf(lineStart, trimWhitespace(lineStart, colon));
+      // the framing of the body is defined by the headers only
+      if (name != RequestHeader.ContentLength && name != RequestHeader.TransferEncoding) {
+        final int valueStart = skipWhitespace(colon + 1, lineEnd);
+        trailers.add(RequestHeader.of(name, new String(bytes, valueStart, lineEnd - valueStart, StandardCharsets.UTF_8)));
+      }
+    }
+
+    private int colonOf(final int lineStart, final int lineEnd) {
+      final int colon = indexOf(Colon, lineStart, lineEnd);
+      if (colon < 0) {
+        throw new IllegalArgumentException("Not a header: " + new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+      }
+      return colon;
+    }
+
+    private boolean parseRequestLine() {
+      int lineBreak;
+      int lineStart;
+      int lineEnd;
+      do {
+        lineBreak = endOfLine();
+        if (lineBreak < 0) {
+          return true;
+        }
+        lineStart = skipWhitespace(position, lineBreak);
+        lineEnd = trimWhitespace(lineStart, lineBreak);
+        position = lineBreak + 1;
+      } while (lineStart == lineEnd); // tolerate empty lines preceding a request
+
+      try {
+        final int methodEnd = endOfToken(lineStart, lineEnd, "Method");
+        final int uriStart = skipWhitespace(methodEnd, lineEnd);
+        final int uriEnd = endOfToken(uriStart, lineEnd, "URI/path");
+        final int versionStart = skipWhitespace(uriEnd, lineEnd);
+        final int versionEnd = endOfToken(versionStart, lineEnd, "HTTP/version");
+
+        method = methodOf(lineStart, methodEnd);
+        uri = new URI(new String(bytes, uriStart, uriEnd - uriStart, StandardCharsets.UTF_8));
+        version = versionOf(versionStart, versionEnd);
+        headers = new Headers<>(8);
+        currentStep = Step.Headers;
+
+        return false;
+      } catch (Exception e) {
+        throw new IllegalArgumentException(Response.Status.BadRequest.toString() + "\n\nParsing exception: " + e.getMessage(), e);
+      }
+    }
+
+    private void newRequest() {
+      if (bodyStream == null) {
+        final Request request = new Request(method, uri, version, headers, body);
+        fullRequests.add(request);
+      }
+      reset();
+      currentStep = Step.NotStarted;
+    }
+
+    private void reset() {
+      // DO NOT RESET: (1) bytes, (2) position, (3) limit, (4) scanPosition, (5) headers, (6) fullRequests
+
+      this.body = null;
+      this.bodyStream = null;
+      this.chunked = false;
+      this.chunkedBody = null;
+      this.chunkedBodyLength = 0;
+      this.chunkRemaining = 0;
+      this.contentLength = 0;
+      this.contentRemaining = 0;
+      this.method = null;
+      this.outOfContentTime = 0;
+      this.sectionLength = 0;
+      this.trailers = null;
+      this.version = null;
+      this.uri = null;
+    }
+
+    /**
+     * Answer {@code true}, as the line of {@code part} is not yet complete, unless the
+     * bytes retained for it, together with those of the trailers that precede it, exceed
+     * {@code maxChunkedBodySize}, such that the framing of a chunked body is bounded as
+     * well as its decoded content.
+     * @param part the String naming the incomplete part of the chunked body
+     * @return boolean
+     */
+    private boolean awaitsLine(final String part) {
+      if ((long) sectionLength + limit - position > maxChunkedBodySize) {
+        throw new IllegalArgumentException(Response.Status.PayloadTooLarge + "\n\n" + part + " exceeds " + maxChunkedBodySize + " bytes.");
+      }
+      return true;
+    }
+
+    private void appendChunkedBody(final int start, final int length) {
+      final int required = chunkedBodyLength + length;
+      if (required > maxChunkedBodySize || required < 0) {
+        throw new IllegalArgumentException(Response.Status.PayloadTooLarge + "\n\nChunked body exceeds " + maxChunkedBodySize + " bytes.");
+      }
+      if (required > chunkedBody.length) {
+        final int grown = (int) Math.min((long) maxChunkedBodySize, Math.max((long) required, chunkedBody.length * 2L));
+        chunkedBody = Arrays.copyOf(chunkedBody, grown);
+      }
+      System.arraycopy(bytes, start, chunkedBody, chunkedBodyLength, length);
+      chunkedBodyLength = required;
+    }
+
+    private int chunkSizeOf(final int start, final int end) {
+      if (start == end) {
+        throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nMissing chunk size.");
+      }
+      final int maximum = bodyStream != null ? Integer.MAX_VALUE : maxChunkedBodySize;
+      long size = 0;
+      for (int index = start; index < end; ++index) {
+        final int digit = Character.digit(bytes[index], 16);
+        if (digit < 0) {
+          throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nInvalid chunk size.");
+        }
+        size = size * 16 + digit;
+        if (size > maximum) {
+          throw new IllegalArgumentException(Response.Status.PayloadTooLarge + "\n\nChunk size exceeds " + maximum + " bytes.");
+        }
+      }
+      return (int) size;
+    }
+
+    private int contentLengthOf(final int start, final int end) {
+      long length = 0;
+      for (int index = start; index < end; ++index) {
+        final byte digit = bytes[index];
+        if (digit < '0' || digit > '9') {
+          throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nInvalid Content-Length.");
+        }
+        length = length * 10 + (digit - '0');
+        if (length > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException(Response.Status.PayloadTooLarge + "\n\nContent-Length exceeds " + Integer.MAX_VALUE + " bytes.");
+        }
+      }
+      return (int) length;
+    }
+
+    private int endOfToken(final int start, final int end, final String expectedPartName) {
+      if (start >= end) {
+        throw new IllegalArgumentException(Response.Status.BadRequest + "\n\nRequest line part missing: " + expectedPartName);
+      }
+      int index = start;
+      while (index < end && bytes[index] != Space) {
+        ++index;
+      }
+      return index;
+    }
+
+    private void ensureCapacityFor(final int length) {
+      if (position > 0) {
+        // discard consumed bytes so only the dangling partial request is retained
+        final int dangling = limit - position;
+        if (dangling > 0) {
+          System.arraycopy(bytes, position, bytes, 0, dangling);
+        }
+        scanPosition = Math.max(0, scanPosition - position);
+        position = 0;
+        limit = dangling;
+      }
+      final int required = limit + length;
+      if (required > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+      }
+    }
+
+    private String headerNameOf(final int start, final int end) {
+      final int length = end - start;
+      for (int known = 0; known < KnownHeaderNameBytes.length; ++known) {
+        if (equalsIgnoreCase(KnownHeaderNameBytes[known], start, length)) {
+          return KnownHeaderNames[known];
+        }
+      }
+      return new String(bytes, start, length, StandardCharsets.UTF_8);
+    }
+
+    private Method methodOf(final int start, final int end) {
+      final int length = end - start;
+      for (int index = 0; index < MethodBytes.length; ++index) {
+        if (equals(MethodBytes[index], start, length)) {
+          return Methods[index];
+        }
+      }
+      return Method.from(new String(bytes, start, length, StandardCharsets.UTF_8));
+    }
+
+    private Version versionOf(final int start, final int end) {
+      final int length = end - start;
+      for (int index = 0; index < VersionBytes.length; ++index) {
+        if (equals(VersionBytes[index], start, length)) {
+          return Versions[index];
+        }
+      }
+      return Version.from(new String(bytes, start, length, StandardCharsets.UTF_8));
+    }
+
+    private boolean equals(final byte[] expected, final int start, final int length) {
+      if (expected.length != length) {
+        return false;
+      }
+      for (int index = 0; index < length; ++index) {
+        if (expected[index] != bytes[start + index]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean equalsIgnoreCase(final byte[] expected, final int start, final int length) {
+      if (expected.length != length) {
+        return false;
+      }
+      for (int index = 0; index < length; ++index) {
+        if (expected[index] != toLowerCase(bytes[start + index])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int indexOf(final byte value, final int start, final int end) {
+      for (int index = start; index < end; ++index) {
+        if (bytes[index] == value) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    private int skipWhitespace(final int start, final int end) {
+      int index = start;
+      while (index < end && isWhitespace(bytes[index])) {
+        ++index;
+      }
+      return index;
+    }
+
+    private int trimWhitespace(final int start, final int end) {
+      int index = end;
+      while (index > start && isWhitespace(bytes[index - 1])) {
+        --index;
+      }
+      return index;
+    }
+
+    private static boolean isWhitespace(final byte value) {
+      return value == Space || value == Tab || value == CR;
+    }
+
+    private static byte toLowerCase(final byte value) {
+      return (value >= 'A' && value <= 'Z') ? (byte) (value + ('a' - 'A')) : value;
+    }
+
+    private static byte[][] asciiBytesOf(final String[] names) {
+      final byte[][] lowerCaseBytes = new byte[names.length][];
+      for (int index = 0; index < names.length; ++index) {
+        lowerCaseBytes[index] = names[index].toLowerCase().getBytes(StandardCharsets.US_ASCII);
+      }
+      return lowerCaseBytes;
+    }
+
+    private static byte[][] methodBytes() {
+      final byte[][] methodBytes = new byte[Methods.length][];
+      for (int index = 0; index < Methods.length; ++index) {
+        methodBytes[index] = Methods[index].name.getBytes(StandardCharsets.US_ASCII);
+      }
+      return methodBytes;
+    }
+
+    private static byte[][] versionBytes() {
+      final byte[][] versionBytes = new byte[Versions.length][];
+      for (int index = 0; index < Versions.length; ++index) {
+        versionBytes[index] = Versions[index].toString().getBytes(StandardCharsets.US_ASCII);
+      }
+      return versionBytes;
+    }
+  }
 }
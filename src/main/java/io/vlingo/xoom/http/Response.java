@@ -12,7 +12,6 @@ import java.util.function.Function;
 
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
-import io.vlingo.xoom.wire.message.Converters;
 
 /**
  * A response to an HTTP request, including headers, entity/body. Factory methods
@@ -120,19 +119,16 @@ public class Response {
   }
 
   public ConsumerByteBuffer into(final ConsumerByteBuffer buffer) {
-    Function<String, byte[]> convert = Converters::textToBytes;
-    Function<byte[], ConsumerByteBuffer> put = buffer::put;
-    return into(convert.andThen(put)).flip();
+    ResponseEncoder.encode(this, buffer.asByteBuffer());
+    return buffer.flip();
   }
 
+  /**
+   * Answer the exact number of bytes that I encode to by {@code into(ConsumerByteBuffer)}.
+   * @return int
+   */
   public int size() {
-    int headersSize = 0;
-    for (final ResponseHeader header : headers) {
-      // name + ": " + value + "\n"
-      headersSize += (header.name.length() + 2 + header.value.length() + 1);
-    }
-    // HTTP/1.1 + 1 + status + "\n" + headers + "\n" + entity + just-in-case
-    return 9 + status.toString().length() + 1 + headersSize + 1 + entity.content().length() + 5;
+    return ResponseEncoder.encodedLength(this);
   }
 
   private <R> R into(Function<String,R> appender) {
@@ -165,7 +161,7 @@ public class Response {
     if (!entity.isComplex()) {
       final Header header = headers.headerOf(ResponseHeader.ContentLength);
       if (header == null && !status.isInformational() && status != Status.NoContent && status != Status.NotModified) {
-        headers.add(ResponseHeader.of(ResponseHeader.ContentLength, Integer.toString(Converters.encodedLength(entity.content()))));
+        headers.add(ResponseHeader.of(ResponseHeader.ContentLength, Integer.toString(ResponseEncoder.encodedLength(entity))));
       }
     }
     return headers;
@@ -0,0 +1,377 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.vlingo.xoom.http.Response.Status;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Encodes a {@code Response} directly into a {@code ByteBuffer} as UTF-8, producing
+ * the same bytes as {@code Converters.textToBytes(response.toString())} but without
+ * intermediate {@code String} or {@code byte[]} instances. The status line of every
+ * {@code Response.Status} and the names of common {@code ResponseHeader} are encoded
+ * once and copied thereafter, text is written with an ASCII fast path, and the content
+ * of a {@code BinaryBody} is Base64 encoded from its bytes.
+ */
+public final class ResponseEncoder {
+  private static final byte[] Base64Alphabet =
+          "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] HeaderSeparator = bytesOf(": ");
+  private static final byte LineEnd = '\n';
+  private static final byte[] LineEnds = { LineEnd };
+
+  private static final Map<String, byte[]> headerNames = new HashMap<>();
+  private static final byte[][] statusLines = new byte[Status.values().length][];
+
+  static {
+    for (final Status status : Status.values()) {
+      statusLines[status.ordinal()] = bytesOf(Version.HTTP_1_1 + " " + status + "\n");
+    }
+
+    for (final String name : new String[] {
+            ResponseHeader.AccessControlAllowCredentials, ResponseHeader.AccessControlAllowHeaders,
+            ResponseHeader.AccessControlAllowMethods, ResponseHeader.AccessControlAllowOrigin,
+            ResponseHeader.AccessControlExposeHeaders, ResponseHeader.AccessControlMaxAge,
+            ResponseHeader.CacheControl, ResponseHeader.Connection, ResponseHeader.ContentEncoding,
+            ResponseHeader.ContentLength, ResponseHeader.ContentLocation, ResponseHeader.ContentType,
+            ResponseHeader.Date, ResponseHeader.ETag, ResponseHeader.Expires, ResponseHeader.LastModified,
+            ResponseHeader.Location, ResponseHeader.Server, ResponseHeader.SetCookie,
+            ResponseHeader.TransferEncoding, ResponseHeader.Vary, ResponseHeader.XCorrelationID,
+            ResponseHeader.XRequestID }) {
+      headerNames.put(name, bytesOf(name + ": "));
+    }
+  }
+
+  /**
+   * Answer the exact number of bytes that {@code response} encodes to.
+   * @param response the Response to measure
+   * @return int
+   */
+  public static int encodedLength(final Response response) {
+    int length = statusLines[response.status.ordinal()].length;
+    for (final Header header : response.headers) {
+      final byte[] name = headerNames.get(header.name);
+      length += name != null ? name.length : encodedLength(header.name) + HeaderSeparator.length;
+      length += encodedLength(header.value) + 1;
+    }
+    return length + 1 + encodedLength(response.entity);
+  }
+
+  /**
+   * Answer the exact number of bytes that the content of {@code body} encodes to.
+   * @param body the Body to measure
+   * @return int
+   */
+  public static int encodedLength(final Body body) {
+    if (body instanceof BinaryBody) {
+      return base64Length(((BinaryBody) body).binaryContent.length);
+    } else if (body instanceof PlainBody) {
+      return encodedLength(((PlainBody) body).content);
+    }
+    return encodedLength(body.content());
+  }
+
+  /**
+   * Answer the exact number of UTF-8 bytes that {@code text} encodes to.
+   * @param text the CharSequence to measure
+   * @return int
+   */
+  public static int encodedLength(final CharSequence text) {
+    final int length = text.length();
+    int encoded = length;
+    for (int index = 0; index < length; ++index) {
+      final char c = text.charAt(index);
+      if (c < 0x80) {
+        continue;
+      } else if (c < 0x800) {
+        encoded += 1;
+      } else if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(text.charAt(index + 1))) {
+        encoded += 2;
+        ++index;
+      } else if (Character.isSurrogate(c)) {
+        continue; // unpaired surrogate is replaced by '?'
+      } else {
+        encoded += 2;
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * Encode {@code response} into {@code buffer} at its current position.
+   * @param response the Response to encode
+   * @param buffer the ByteBuffer to receive the bytes
+   * @return ByteBuffer
+   */
+  public static ByteBuffer encode(final Response response, final ByteBuffer buffer) {
+    buffer.put(statusLines[response.status.ordinal()]);
+    for (final Header header : response.headers) {
+      final byte[] name = headerNames.get(header.name);
+      if (name != null) {
+        buffer.put(name);
+      } else {
+        encode(header.name, buffer);
+        buffer.put(HeaderSeparator);
+      }
+      encode(header.value, buffer);
+      buffer.put(LineEnd);
+    }
+    buffer.put(LineEnd);
+    return encode(response.entity, buffer);
+  }
+
+  /**
+   * Encode the content of {@code body} into {@code buffer} at its current position.
+   * @param body the Body to encode
+   * @param buffer the ByteBuffer to receive the bytes
+   * @return ByteBuffer
+   */
+  public static ByteBuffer encode(final Body body, final ByteBuffer buffer) {
+    if (body instanceof BinaryBody) {
+      return base64(((BinaryBody) body).binaryContent, buffer);
+    } else if (body instanceof PlainBody) {
+      return encode(((PlainBody) body).content, buffer);
+    }
+    return encode(body.content(), buffer);
+  }
+
+  /**
+   * Encode {@code text} as UTF-8 into {@code buffer} at its current position.
+   * @param text the CharSequence to encode
+   * @param buffer the ByteBuffer to receive the bytes
+   * @return ByteBuffer
+   */
+  public static ByteBuffer encode(final CharSequence text, final ByteBuffer buffer) {
+    return encode(text, 0, text.length(), buffer);
+  }
+
+  /**
+   * Encode {@code response} into a sequence of buffers answered by {@code buffers}, each of
+   * which is given to {@code filled} once it is full, and answer the last buffer, which is
+   * partially filled. All buffers are flipped and ready to be read. The buffers must each
+   * have room for at least four bytes.
+   * @param response the Response to encode
+   * @param buffers the {@code Supplier<ConsumerByteBuffer>} of empty buffers
+   * @param filled the {@code Consumer<ConsumerByteBuffer>} of full buffers, in order
+   * @return ConsumerByteBuffer
+   */
+  public static ConsumerByteBuffer encode(final Response response, final Supplier<ConsumerByteBuffer> buffers, final Consumer<ConsumerByteBuffer> filled) {
+    final Segments segments = segmentsOf(response);
+    ConsumerByteBuffer current = segments.fill(buffers.get());
+    while (segments.hasRemaining()) {
+      filled.accept(current);
+      current = segments.fill(buffers.get());
+    }
+    return current;
+  }
+
+  /**
+   * Answer the {@code Segments} that encode {@code response} one buffer at a time, such
+   * that the next buffer need not be acquired until the previous one has been written.
+   * @param response the Response to encode
+   * @return Segments
+   */
+  public static Segments segmentsOf(final Response response) {
+    return new Segments(response);
+  }
+
+  private static ByteBuffer encode(final CharSequence text, final int start, final int end, final ByteBuffer buffer) {
+    int index = start;
+
+    // ASCII fast path
+    while (index < end) {
+      final char c = text.charAt(index);
+      if (c >= 0x80) break;
+      buffer.put((byte) c);
+      ++index;
+    }
+
+    while (index < end) {
+      final char c = text.charAt(index++);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xc0 | (c >> 6)));
+        buffer.put((byte) (0x80 | (c & 0x3f)));
+      } else if (Character.isHighSurrogate(c) && index < end && Character.isLowSurrogate(text.charAt(index))) {
+        final int codePoint = Character.toCodePoint(c, text.charAt(index++));
+        buffer.put((byte) (0xf0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+      } else if (Character.isSurrogate(c)) {
+        buffer.put((byte) '?');
+      } else {
+        buffer.put((byte) (0xe0 | (c >> 12)));
+        buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+        buffer.put((byte) (0x80 | (c & 0x3f)));
+      }
+    }
+
+    return buffer;
+  }
+
+  private static ByteBuffer base64(final byte[] bytes, final ByteBuffer buffer) {
+    return base64(bytes, 0, bytes.length, buffer);
+  }
+
+  private static ByteBuffer base64(final byte[] bytes, final int from, final int to, final ByteBuffer buffer) {
+    final int whole = to - (to - from) % 3;
+    int index = from;
+    while (index < whole) {
+      final int bits = (bytes[index++] & 0xff) << 16 | (bytes[index++] & 0xff) << 8 | (bytes[index++] & 0xff);
+      buffer.put(Base64Alphabet[(bits >>> 18) & 0x3f]);
+      buffer.put(Base64Alphabet[(bits >>> 12) & 0x3f]);
+      buffer.put(Base64Alphabet[(bits >>> 6) & 0x3f]);
+      buffer.put(Base64Alphabet[bits & 0x3f]);
+    }
+    if (index < to) {
+      final int first = bytes[index++] & 0xff;
+      final int second = index < to ? bytes[index] & 0xff : -1;
+      final int bits = first << 16 | (second < 0 ? 0 : second << 8);
+      buffer.put(Base64Alphabet[(bits >>> 18) & 0x3f]);
+      buffer.put(Base64Alphabet[(bits >>> 12) & 0x3f]);
+      buffer.put(second < 0 ? (byte) '=' : Base64Alphabet[(bits >>> 6) & 0x3f]);
+      buffer.put((byte) '=');
+    }
+    return buffer;
+  }
+
+  private static int characterLength(final CharSequence text, final int index, final int end) {
+    final char c = text.charAt(index);
+    if (c < 0x80) {
+      return 1;
+    } else if (c < 0x800) {
+      return 2;
+    } else if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(text.charAt(index + 1))) {
+      return 4;
+    } else if (Character.isSurrogate(c)) {
+      return 1;
+    }
+    return 3;
+  }
+
+  private static int base64Length(final int length) {
+    return (length + 2) / 3 * 4;
+  }
+
+  private static byte[] bytesOf(final String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private ResponseEncoder() { }
+
+  /**
+   * Encodes a {@code Response} across a sequence of buffers, each filled on demand, never
+   * splitting the encoding of a single character or a Base64 quantum across two buffers.
+   * The buffers must each have room for at least four bytes.
+   */
+  public static final class Segments {
+    private final List<Object> parts;
+    private int offset;
+    private int part;
+
+    private Segments(final Response response) {
+      this.parts = new ArrayList<>(3 + response.headers.size() * 4);
+      this.parts.add(statusLines[response.status.ordinal()]);
+      for (final Header header : response.headers) {
+        final byte[] name = headerNames.get(header.name);
+        if (name != null) {
+          parts.add(name);
+        } else {
+          parts.add(header.name);
+          parts.add(HeaderSeparator);
+        }
+        parts.add(header.value);
+        parts.add(LineEnds);
+      }
+      parts.add(LineEnds);
+
+      final Body body = response.entity;
+      if (body instanceof BinaryBody) {
+        parts.add(new Base64(((BinaryBody) body).binaryContent));
+      } else if (body instanceof PlainBody) {
+        parts.add(((PlainBody) body).content);
+      } else {
+        parts.add(body.content());
+      }
+    }
+
+    /**
+     * Answer whether any of my {@code Response} remains to be encoded.
+     * @return boolean
+     */
+    public boolean hasRemaining() {
+      return part < parts.size();
+    }
+
+    /**
+     * Encode as much of my {@code Response} as fits into {@code buffer} at its current
+     * position, and answer it flipped and ready to be read.
+     * @param buffer the ConsumerByteBuffer to fill
+     * @return ConsumerByteBuffer
+     */
+    public ConsumerByteBuffer fill(final ConsumerByteBuffer buffer) {
+      final ByteBuffer bytes = buffer.asByteBuffer();
+      while (part < parts.size() && fill(parts.get(part), bytes)) {
+        ++part;
+        offset = 0;
+      }
+      buffer.flip();
+      return buffer;
+    }
+
+    private boolean fill(final Object content, final ByteBuffer buffer) {
+      if (content instanceof byte[]) {
+        final byte[] bytes = (byte[]) content;
+        final int length = Math.min(bytes.length - offset, buffer.remaining());
+        buffer.put(bytes, offset, length);
+        offset += length;
+        return offset == bytes.length;
+      } else if (content instanceof Base64) {
+        final byte[] bytes = ((Base64) content).bytes;
+        final int end = Math.min(bytes.length, offset + buffer.remaining() / 4 * 3);
+        base64(bytes, offset, end, buffer);
+        offset = end;
+        return offset == bytes.length;
+      }
+      final CharSequence text = (CharSequence) content;
+      final int length = text.length();
+      final int room = buffer.remaining();
+      int end = offset;
+      int encoded = 0;
+      while (end < length) {
+        final int characterLength = characterLength(text, end, length);
+        if (encoded + characterLength > room) break;
+        encoded += characterLength;
+        end += characterLength == 4 ? 2 : 1;
+      }
+      encode(text, offset, end, buffer);
+      offset = end;
+      return offset == length;
+    }
+  }
+
+  private static final class Base64 {
+    final byte[] bytes;
+
+    Base64(final byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+}
@@ -8,6 +8,7 @@
 package io.vlingo.xoom.http;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -15,7 +16,6 @@ import java.util.ListIterator;
 import java.util.Queue;
 
 import io.vlingo.xoom.http.Header.Headers;
-import io.vlingo.xoom.wire.message.Converters;
 
 /***
  * This implementation lacks a validation of very large requests against a predefined
@@ -169,7 +169,8 @@ public class ResponseParser {
 
     VirtualStateParser includes(final ByteBuffer responseContent) {
       outOfContentTime = 0;
-      final String responseContentText = Converters.bytesToText(responseContent.array(), 0, responseContent.limit());
+      // decoded without array(), such that a direct buffer parses as well
+      final String responseContentText = StandardCharsets.UTF_8.decode(responseContent.duplicate()).toString();
       final int utf8ExtraLength = responseContent.remaining() - responseContentText.length();
       if (contentQueue.isEmpty()) {
         contentExtraLength += utf8ExtraLength;
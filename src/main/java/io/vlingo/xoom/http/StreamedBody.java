@@ -0,0 +1,47 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+/**
+ * A request {@code Body} whose content is not materialized, but is delivered
+ * incrementally through its {@code RequestBodyStream} as it arrives.
+ */
+public class StreamedBody implements Body {
+  private static final byte[] NoContent = new byte[0];
+
+  public final RequestBodyStream stream;
+
+  @Override
+  public String content() {
+    return "";
+  }
+
+  @Override
+  public byte[] binaryContent() {
+    return NoContent;
+  }
+
+  @Override
+  public boolean isComplex() {
+    return true;
+  }
+
+  @Override
+  public boolean hasContent() {
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return stream.toString();
+  }
+
+  StreamedBody(final RequestBodyStream stream) {
+    this.stream = stream;
+  }
+}
@@ -9,16 +9,23 @@ package io.vlingo.xoom.http.resource;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import io.vlingo.xoom.common.Tuple2;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 
 public final class Action {
   static final MatchResults unmatchedResults = new MatchResults(null, null, Collections.emptyList(), "");
 
+  private static final Map<String, Function<String, Object>> converters = converters();
+
   public final List<MappedParameter> additionalParameters;
   public final int id;
   public final Method method;
@@ -27,6 +34,10 @@ public final class Action {
   public final ToSpec to;
   public final Mapper mapper;
   private final Matchable matchable;
+  private final List<String> parameterNames;
+  private final MethodParameter[] mappedParameters;
+  private final int[] mappedSlots;
+  private final Function<String, Object>[] mappedConverters;
 
   public Action(final int id, final String method, final String uri, final String to, final String mapper) {
     this(id, method, uri, to, mapper, Collections.emptyList());
@@ -41,23 +52,36 @@ public final class Action {
     this.mapper = mapper == null ? DefaultJsonMapper.instance : mapperFrom(mapper);
     this.additionalParameters = additionalParameters;
     this.matchable = new Matchable(uri);
+    this.parameterNames = parameterNames();
+    this.mappedParameters = mappedParameters();
+    this.mappedSlots = mappedSlots();
+    this.mappedConverters = mappedConverters();
   }
 
+  /**
+   * Answer the {@code MappedParameters} of {@code request} and its path {@code parameters},
+   * which are positioned as answered by my {@code matchWith()}. Each method parameter was
+   * resolved to its path parameter position and converter when I was constructed.
+   * @param request the Request to map
+   * @param parameters the {@code List<RawPathParameter>} of matched path parameter values
+   * @return MappedParameters
+   */
   MappedParameters map(final Request request, final List<RawPathParameter> parameters) {
-    final List<MappedParameter> mapped = new ArrayList<>(parameters.size());
-    for (final MethodParameter typed : to.parameters) {
+    final int total = mappedParameters.length;
+    final MappedParameter[] mapped = new MappedParameter[total + additionalParameters.size()];
+    for (int index = 0; index < total; ++index) {
+      final MethodParameter typed = mappedParameters[index];
       if (typed.isBody()) {
-        final Object body = mapBodyFrom(request);
-        mapped.add(new MappedParameter(typed.type, body));
+        mapped[index] = new MappedParameter(typed.type, mapBodyFrom(request));
       } else {
-        final RawPathParameter raw = RawPathParameter.named(typed.name, parameters);
-        if (raw == null) break;
-        final Object other = mapOtherFrom(raw);
-        mapped.add(new MappedParameter(typed.type, other));
+        final String value = parameters.get(mappedSlots[index]).value;
+        mapped[index] = new MappedParameter(typed.type, mappedConverters[index].apply(value));
       }
     }
-    mapped.addAll(additionalParameters);
-    return new MappedParameters(this.id, this.method, to.methodName, mapped);
+    for (int index = 0; index < additionalParameters.size(); ++index) {
+      mapped[total + index] = additionalParameters.get(index);
+    }
+    return new MappedParameters(this.id, this.method, to.methodName, Arrays.asList(mapped));
   }
 
   private int indexOfNextSegmentStart(int currentIndex, String path) {
@@ -95,7 +119,7 @@ public final class Action {
           return unmatchedResults;
         }
       }
-      final MatchResults matchResults = new MatchResults(this, running, parameterNames(), path);
+      final MatchResults matchResults = new MatchResults(this, running, parameterNames, path);
       return matchResults;
     }
     return unmatchedResults;
@@ -142,47 +166,78 @@ public final class Action {
     return count;
   }
 
+  /**
+   * Answer whether or not my body parameter is a {@code RequestBodyStream}, in which
+   * case the request is dispatched to me before its body content has arrived.
+   * @return boolean
+   */
+  boolean streamsBody() {
+    final MethodParameter body = to.body();
+    return body != null && body.bodyType == RequestBodyStream.class;
+  }
+
   private Object mapBodyFrom(final Request request) {
     final MethodParameter body = to.body();
     if (body != null) {
+      if (body.bodyType == RequestBodyStream.class) {
+        return RequestBodyStream.from(request.body);
+      }
       return mapper.from(request.body.toString(), body.bodyType);
     }
     return null;
   }
 
-  private Object mapOtherFrom(final RawPathParameter parameter) {
-    final String type = this.to.parameterOf(parameter.name).type;
-
-    switch (type) {
-    case "String":
-      return parameter.value;
-    case "int":
-    case "Integer":
-      return Integer.parseInt(parameter.value);
-    case "long":
-    case "Long":
-      return Long.parseLong(parameter.value);
-    case "boolean":
-    case "Boolean":
-      return Boolean.parseBoolean(parameter.value);
-    case "double":
-    case "Double":
-      return Double.parseDouble(parameter.value);
-    case "short":
-    case "Short":
-      return Short.parseShort(parameter.value);
-    case "float":
-    case "Float":
-      return Float.parseFloat(parameter.value);
-    case "char":
-    case "Character":
-      return parameter.value.charAt(0);
-    case "byte":
-    case "Byte":
-      return Byte.parseByte(parameter.value);
-    default:
-      return null;
+  private static Map<String, Function<String, Object>> converters() {
+    final Map<String, Function<String, Object>> converters = new HashMap<>();
+    converters.put("String", value -> value);
+    converters.put("int", Integer::parseInt);
+    converters.put("Integer", Integer::parseInt);
+    converters.put("long", Long::parseLong);
+    converters.put("Long", Long::parseLong);
+    converters.put("boolean", Boolean::parseBoolean);
+    converters.put("Boolean", Boolean::parseBoolean);
+    converters.put("double", Double::parseDouble);
+    converters.put("Double", Double::parseDouble);
+    converters.put("short", Short::parseShort);
+    converters.put("Short", Short::parseShort);
+    converters.put("float", Float::parseFloat);
+    converters.put("Float", Float::parseFloat);
+    converters.put("char", value -> value.charAt(0));
+    converters.put("Character", value -> value.charAt(0));
+    converters.put("byte", Byte::parseByte);
+    converters.put("Byte", Byte::parseByte);
+    return converters;
+  }
+
+  /**
+   * Answer my method parameters that are mapped, which are those up to but
+   * excluding the first non-body parameter without a path parameter.
+   * @return MethodParameter[]
+   */
+  private MethodParameter[] mappedParameters() {
+    final List<MethodParameter> mapped = new ArrayList<>(to.parameters.size());
+    for (final MethodParameter typed : to.parameters) {
+      if (!typed.isBody() && !parameterNames.contains(typed.name)) break;
+      mapped.add(typed);
     }
+    return mapped.toArray(new MethodParameter[0]);
+  }
+
+  private int[] mappedSlots() {
+    final int[] slots = new int[mappedParameters.length];
+    for (int index = 0; index < slots.length; ++index) {
+      slots[index] = mappedParameters[index].isBody() ? -1 : parameterNames.indexOf(mappedParameters[index].name);
+    }
+    return slots;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Function<String, Object>[] mappedConverters() {
+    final Function<String, Object>[] mapped = new Function[mappedParameters.length];
+    for (int index = 0; index < mapped.length; ++index) {
+      mapped[index] = converters.getOrDefault(mappedParameters[index].type, value -> null);
+    }
+    return mapped;
   }
 
   private List<String> parameterNames() {
@@ -192,7 +247,7 @@ public final class Action {
         parameterNames.add(segment.value);
       }
     }
-    return parameterNames;
+    return Collections.unmodifiableList(parameterNames);
   }
 
   //=====================================
@@ -326,15 +381,6 @@ public final class Action {
     public final String name;
     public final String value;
 
-    static RawPathParameter named(final String name, final List<RawPathParameter> parameters) {
-      for (final RawPathParameter param : parameters) {
-        if (param.name.equals(name)) {
-          return param;
-        }
-      }
-      return null;
-    }
-
     public RawPathParameter(final String name, final String value) {
       this.name = name;
       this.value = value;
@@ -0,0 +1,202 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.resource.Action.MatchResults;
+
+/**
+ * Matches a {@code Method} and {@code URI} to the {@code Action} of a {@code Resource}
+ * by walking a per-{@code Method} tree of path segments, rather than by trying every
+ * {@code Action} of every {@code Resource} in turn. Literal segments are preferred
+ * over path parameters at each level, and the router backtracks to the path parameter
+ * when the literal branch does not lead to a match. The candidate found is confirmed
+ * with {@code Action#matchWith(Method, URI)}, which produces the {@code MatchResults}.
+ * <p>
+ * URI templates that mix literal text and path parameters within one segment, or that
+ * are not rooted at {@code "/"}, are matched linearly after the tree.
+ */
+final class ActionRouter {
+  private final Map<Method, Node> roots;
+  private final Map<Method, List<Route>> unsegmented;
+
+  /**
+   * Answer a new {@code ActionRouter} for all actions of {@code resources}.
+   * @param resources the {@code Collection<Resource<?>>} to route to
+   * @return ActionRouter
+   */
+  static ActionRouter of(final Collection<Resource<?>> resources) {
+    final ActionRouter router = new ActionRouter();
+    for (final Resource<?> resource : resources) {
+      for (final Action action : resource.actions()) {
+        router.add(resource, action);
+      }
+    }
+    return router;
+  }
+
+  /**
+   * Answer the {@code Routed} matching {@code method} and {@code uri}, or {@code null}.
+   * @param method the Method of the request
+   * @param uri the URI of the request
+   * @return Routed
+   */
+  Routed route(final Method method, final URI uri) {
+    final String path = uri.getPath();
+
+    final Node root = roots.get(method);
+    if (root != null && path != null && !path.isEmpty() && path.charAt(0) == '/') {
+      final Routed routed = route(root, method, uri, path, 1);
+      if (routed != null) {
+        return routed;
+      }
+    }
+
+    final List<Route> routes = unsegmented.get(method);
+    return routes == null ? null : routeAny(routes, method, uri);
+  }
+
+  private ActionRouter() {
+    this.roots = new EnumMap<>(Method.class);
+    this.unsegmented = new EnumMap<>(Method.class);
+  }
+
+  private void add(final Resource<?> resource, final Action action) {
+    final Route route = new Route(resource, action);
+    final String[] segments = segmentsOf(action.uri);
+    if (segments == null) {
+      unsegmented.computeIfAbsent(action.method, method -> new ArrayList<>()).add(route);
+      return;
+    }
+    Node node = roots.computeIfAbsent(action.method, method -> new Node());
+    for (final String segment : segments) {
+      node = isPathParameter(segment) ? node.parameterChild() : node.literalChild(segment);
+    }
+    node.add(route);
+  }
+
+  private Routed route(final Node node, final Method method, final URI uri, final String path, final int segmentStart) {
+    final int slash = path.indexOf('/', segmentStart);
+    final int segmentEnd = slash < 0 ? path.length() : slash;
+
+    if (node.literals != null) {
+      final Node literal = node.literals.get(path.substring(segmentStart, segmentEnd));
+      if (literal != null) {
+        final Routed routed = next(literal, method, uri, path, segmentEnd);
+        if (routed != null) {
+          return routed;
+        }
+      }
+    }
+
+    if (node.parameter != null && segmentEnd > segmentStart) {
+      return next(node.parameter, method, uri, path, segmentEnd);
+    }
+
+    return null;
+  }
+
+  private Routed next(final Node node, final Method method, final URI uri, final String path, final int segmentEnd) {
+    if (segmentEnd == path.length()) {
+      return routeAny(node.routes, method, uri);
+    }
+    final Routed routed = route(node, method, uri, path, segmentEnd + 1);
+    if (routed != null || segmentEnd != path.length() - 1) {
+      return routed;
+    }
+    // a single trailing slash is tolerated by Action#matchWith()
+    return routeAny(node.routes, method, uri);
+  }
+
+  private Routed routeAny(final List<Route> routes, final Method method, final URI uri) {
+    for (final Route route : routes) {
+      final MatchResults matchResults = route.action.matchWith(method, uri);
+      if (matchResults.isMatched()) {
+        return new Routed(route.resource, matchResults);
+      }
+    }
+    return null;
+  }
+
+  private static boolean isPathParameter(final String segment) {
+    return segment.length() > 1 && segment.charAt(0) == '{' && segment.indexOf('}') == segment.length() - 1;
+  }
+
+  private static String[] segmentsOf(final String uri) {
+    if (uri.isEmpty() || uri.charAt(0) != '/') {
+      return null;
+    }
+    final String[] segments = uri.substring(1).split("/", -1);
+    for (final String segment : segments) {
+      final boolean braces = segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0;
+      if (braces && !isPathParameter(segment)) {
+        return null;
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * The {@code Resource} and {@code MatchResults} of a routed request.
+   */
+  static final class Routed {
+    final Resource<?> resource;
+    final MatchResults matchResults;
+
+    Routed(final Resource<?> resource, final MatchResults matchResults) {
+      this.resource = resource;
+      this.matchResults = matchResults;
+    }
+  }
+
+  private static final class Route {
+    final Resource<?> resource;
+    final Action action;
+
+    Route(final Resource<?> resource, final Action action) {
+      this.resource = resource;
+      this.action = action;
+    }
+  }
+
+  private static final class Node {
+    Map<String, Node> literals;
+    Node parameter;
+    List<Route> routes = Collections.emptyList();
+
+    void add(final Route route) {
+      if (routes.isEmpty()) {
+        routes = new ArrayList<>(1);
+      }
+      routes.add(route);
+    }
+
+    Node literalChild(final String segment) {
+      if (literals == null) {
+        literals = new HashMap<>();
+      }
+      return literals.computeIfAbsent(segment, key -> new Node());
+    }
+
+    Node parameterChild() {
+      if (parameter == null) {
+        parameter = new Node();
+      }
+      return parameter;
+    }
+  }
+}
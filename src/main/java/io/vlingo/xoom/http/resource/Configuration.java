@@ -10,12 +10,18 @@
 package io.vlingo.xoom.http.resource;
 
 import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.resource.agent.HttpAgent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 public class Configuration {
   public static Configuration instance;
 
+  private Agent agent;
   private int port;
   private Sizing sizing;
   private Timing timing;
@@ -36,6 +42,18 @@ public class Configuration {
     return this;
   }
 
+  /**
+   * Answer myself with {@code agent}, such that the {@code Server} started with me
+   * uses an {@code HttpAgent} configured by {@code agent}, or xoom-wire channels when
+   * {@code agent} is {@code null}.
+   * @param agent the Agent configuration of the HttpAgent, or null for none
+   * @return Configuration
+   */
+  public Configuration with(final Agent agent) {
+    this.agent = agent;
+    return this;
+  }
+
   public Configuration with(final Sizing sizing) {
     this.sizing = sizing;
     return this;
@@ -51,6 +69,14 @@ public class Configuration {
     return this;
   }
 
+  /**
+   * Answer my {@code Agent} configuration, or {@code null} if I do not use an {@code HttpAgent}.
+   * @return Agent
+   */
+  public Agent agent() {
+    return this.agent;
+  }
+
   public int port() {
     return this.port;
   }
@@ -68,6 +94,7 @@ public class Configuration {
   }
 
   private Configuration() {
+    this.agent = null;
     this.port = 8080;
     this.sizing = Sizing.define();
     this.timing = new Timing(4, 2, 100);
@@ -82,12 +109,193 @@ public class Configuration {
     final int dispatcherPoolSize = Integer.parseInt(properties.getProperty("server.dispatcher.pool", String.valueOf(this.sizing.dispatcherPoolSize)));
     final int maxBufferPoolSize = Integer.parseInt(properties.getProperty("server.buffer.pool.size", String.valueOf(this.sizing.maxBufferPoolSize)));
     final int maxMessageSize = Integer.parseInt(properties.getProperty("server.message.buffer.size", String.valueOf(this.sizing.maxMessageSize)));
+    final PoolStrategy poolStrategy = PoolStrategy.from(properties.getProperty("server.pool.strategy", this.sizing.poolStrategy.name()));
+    final List<BufferSizeClass> bufferSizeClasses = BufferSizeClass.allFrom(properties.getProperty("server.buffer.pool.classes", ""));
+    final boolean directBuffers = Boolean.parseBoolean(properties.getProperty("server.buffer.pool.direct", String.valueOf(this.sizing.directBuffers)));
     final long probeInterval = Long.parseLong(properties.getProperty("server.probe.interval", String.valueOf(this.timing.probeInterval)));
     final long probeTimeout = Long.parseLong(properties.getProperty("server.probe.timeout", String.valueOf(this.timing.probeInterval)));
     final long requestMissingContentTimeout = Long.parseLong(properties.getProperty("server.request.missing.content.timeout", String.valueOf(this.timing.requestMissingContentTimeout)));
+    final long requestHeaderTimeout = Long.parseLong(properties.getProperty("server.request.header.timeout", String.valueOf(this.timing.requestHeaderTimeout)));
+    final long connectionIdleTimeout = Long.parseLong(properties.getProperty("server.connection.idle.timeout", String.valueOf(this.timing.connectionIdleTimeout)));
+
+    this.sizing = new Sizing(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize, poolStrategy, bufferSizeClasses, directBuffers);
+    this.timing = new Timing(probeInterval, probeTimeout, requestMissingContentTimeout, requestHeaderTimeout, connectionIdleTimeout);
+
+    if (Boolean.parseBoolean(properties.getProperty("server.agent.enabled", "false"))) {
+      final Agent defaults = Agent.define();
+      final boolean http2 = Boolean.parseBoolean(properties.getProperty("server.agent.http2", String.valueOf(defaults.http2)));
+      final int bossThreads = Integer.parseInt(properties.getProperty("server.agent.boss.threads", String.valueOf(defaults.bossThreads)));
+      final int workerThreads = Integer.parseInt(properties.getProperty("server.agent.worker.threads", String.valueOf(defaults.workerThreads)));
+      final int backlog = Integer.parseInt(properties.getProperty("server.agent.so.backlog", String.valueOf(defaults.backlog)));
+      final boolean tcpNoDelay = Boolean.parseBoolean(properties.getProperty("server.agent.tcp.nodelay", String.valueOf(defaults.tcpNoDelay)));
+      final boolean reusePort = Boolean.parseBoolean(properties.getProperty("server.agent.so.reuseport", String.valueOf(defaults.reusePort)));
+      final int acceptors = Integer.parseInt(properties.getProperty("server.agent.acceptors", String.valueOf(defaults.acceptors)));
+      final int writeBufferLowWaterMark = Integer.parseInt(properties.getProperty("server.agent.write.buffer.low.water.mark", String.valueOf(defaults.writeBufferLowWaterMark)));
+      final int writeBufferHighWaterMark = Integer.parseInt(properties.getProperty("server.agent.write.buffer.high.water.mark", String.valueOf(defaults.writeBufferHighWaterMark)));
+      final int flushBatchSize = Integer.parseInt(properties.getProperty("server.agent.flush.batch.size", String.valueOf(defaults.flushBatchSize)));
+      final int maxAggregatedContentLength = Integer.parseInt(properties.getProperty("server.agent.max.aggregated.content.length", String.valueOf(defaults.maxAggregatedContentLength)));
+      final long requestBodyTimeout = Long.parseLong(properties.getProperty("server.agent.request.body.timeout", String.valueOf(defaults.requestBodyTimeout)));
+
+      this.agent = new Agent(http2, bossThreads, workerThreads, backlog, tcpNoDelay, reusePort, acceptors,
+              writeBufferLowWaterMark, writeBufferHighWaterMark, flushBatchSize, maxAggregatedContentLength, requestBodyTimeout);
+    }
+  }
+
+  /**
+   * The configuration of the {@code HttpAgent} of a {@code Server}, being the threads of
+   * its boss {@code EventLoopGroup}, which accepts connections, and of its worker
+   * {@code EventLoopGroup}, which serves them, where 0 threads is Netty's default of twice
+   * the number of processors; the {@code SO_BACKLOG} of its server channels and the
+   * {@code TCP_NODELAY} and write buffer water marks of its connections; and, with
+   * {@code reusePort} on epoll, the number of {@code acceptors}, being server channels
+   * bound to the same port with {@code SO_REUSEPORT} so that the kernel balances accepted
+   * connections across them. Elsewhere a single server channel is bound. A streamed request
+   * body of which nothing is read within {@code requestBodyTimeout} milliseconds fails.
+   */
+  public static class Agent {
+    public final int acceptors;
+    public final int backlog;
+    public final int bossThreads;
+    public final int flushBatchSize;
+    public final boolean http2;
+    public final int maxAggregatedContentLength;
+    public final long requestBodyTimeout;
+    public final boolean reusePort;
+    public final boolean tcpNoDelay;
+    public final int workerThreads;
+    public final int writeBufferHighWaterMark;
+    public final int writeBufferLowWaterMark;
+
+    public Agent(
+            final boolean http2,
+            final int bossThreads,
+            final int workerThreads,
+            final int backlog,
+            final boolean tcpNoDelay,
+            final boolean reusePort,
+            final int acceptors,
+            final int writeBufferLowWaterMark,
+            final int writeBufferHighWaterMark,
+            final int flushBatchSize,
+            final int maxAggregatedContentLength,
+            final long requestBodyTimeout) {
+
+      if (bossThreads < 0) {
+        throw new IllegalArgumentException("Agent boss threads must not be negative: " + bossThreads);
+      }
+      if (workerThreads < 0) {
+        throw new IllegalArgumentException("Agent worker threads must not be negative: " + workerThreads);
+      }
+      if (backlog <= 0) {
+        throw new IllegalArgumentException("Agent backlog must be positive: " + backlog);
+      }
+      if (acceptors <= 0) {
+        throw new IllegalArgumentException("Agent acceptors must be positive: " + acceptors);
+      }
+      if (writeBufferLowWaterMark < 0 || writeBufferHighWaterMark < writeBufferLowWaterMark) {
+        throw new IllegalArgumentException("Agent write buffer water marks must be 0 <= low <= high: " + writeBufferLowWaterMark + ", " + writeBufferHighWaterMark);
+      }
+      if (flushBatchSize < 0) {
+        throw new IllegalArgumentException("Flush batch size must not be negative: " + flushBatchSize);
+      }
+      if (maxAggregatedContentLength < 0) {
+        throw new IllegalArgumentException("Maximum aggregated content length must not be negative: " + maxAggregatedContentLength);
+      }
+      if (requestBodyTimeout < 0) {
+        throw new IllegalArgumentException("Request body timeout must not be negative: " + requestBodyTimeout);
+      }
+
+      this.http2 = http2;
+      this.bossThreads = bossThreads;
+      this.workerThreads = workerThreads;
+      this.backlog = backlog;
+      this.tcpNoDelay = tcpNoDelay;
+      this.reusePort = reusePort;
+      this.acceptors = acceptors;
+      this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+      this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+      this.flushBatchSize = flushBatchSize;
+      this.maxAggregatedContentLength = maxAggregatedContentLength;
+      this.requestBodyTimeout = requestBodyTimeout;
+    }
+
+    public static Agent define() {
+      return new Agent(false, 1, 0, 1024, true, false, 1, 32 * 1024, 64 * 1024, HttpAgent.DefaultFlushBatchSize, HttpAgent.DefaultMaxAggregatedContentLength, HttpAgent.DefaultRequestBodyTimeout);
+    }
+
+    /**
+     * Answer a copy of me that binds {@code acceptors} server channels when I
+     * {@code reusePort} on epoll.
+     * @param acceptors the int number of server channels to bind
+     * @return Agent
+     */
+    public Agent withAcceptors(final int acceptors) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withBacklog(final int backlog) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withBossThreads(final int bossThreads) {
+      return new Agent(this.http2, bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withFlushBatchSize(final int flushBatchSize) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withHttp2(final boolean http2) {
+      return new Agent(http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withMaxAggregatedContentLength(final int maxAggregatedContentLength) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    /**
+     * Answer a copy of me that fails a streamed request body, and closes its connection,
+     * when none of it is read within {@code requestBodyTimeout} milliseconds while reading
+     * is not suspended by the body's subscriber, or never when it is 0.
+     * @param requestBodyTimeout the long number of milliseconds to wait for more of a request body
+     * @return Agent
+     */
+    public Agent withRequestBodyTimeout(final long requestBodyTimeout) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, requestBodyTimeout);
+    }
+
+    public Agent withReusePort(final boolean reusePort) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withTcpNoDelay(final boolean tcpNoDelay) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    public Agent withWorkerThreads(final int workerThreads) {
+      return new Agent(this.http2, this.bossThreads, workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, this.writeBufferLowWaterMark, this.writeBufferHighWaterMark, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
+
+    /**
+     * Answer a copy of me whose connections become unwritable once more than
+     * {@code high} bytes are pending, and writable again once fewer than {@code low} are.
+     * @param low the int low water mark in bytes
+     * @param high the int high water mark in bytes
+     * @return Agent
+     */
+    public Agent withWriteBufferWaterMarks(final int low, final int high) {
+      return new Agent(this.http2, this.bossThreads, this.workerThreads, this.backlog, this.tcpNoDelay, this.reusePort, this.acceptors, low, high, this.flushBatchSize, this.maxAggregatedContentLength, this.requestBodyTimeout);
+    }
 
-    this.sizing = new Sizing(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize);
-    this.timing = new Timing(probeInterval, probeTimeout, requestMissingContentTimeout);
+    /**
+     * Answer the number of server channels that I bind, being my {@code acceptors}
+     * when {@code reusePort} is supported, or otherwise 1.
+     * @param reusePortSupported the boolean indicating whether SO_REUSEPORT is supported
+     * @return int
+     */
+    public int boundChannels(final boolean reusePortSupported) {
+      return reusePort && reusePortSupported ? acceptors : 1;
+    }
   }
 
   public static class Sizing {
@@ -95,12 +303,30 @@ public class Configuration {
     public final int dispatcherPoolSize;
     public final int maxBufferPoolSize;
     public final int maxMessageSize;
+    public final PoolStrategy poolStrategy;
+    public final List<BufferSizeClass> bufferSizeClasses;
+    public final boolean directBuffers;
 
     public Sizing(final int processorPoolSize, final int dispatcherPoolSize, final int maxBufferPoolSize, final int maxMessageSize) {
+      this(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize, PoolStrategy.RoundRobin);
+    }
+
+    public Sizing(final int processorPoolSize, final int dispatcherPoolSize, final int maxBufferPoolSize, final int maxMessageSize, final PoolStrategy poolStrategy) {
+      this(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize, poolStrategy, Collections.emptyList());
+    }
+
+    public Sizing(final int processorPoolSize, final int dispatcherPoolSize, final int maxBufferPoolSize, final int maxMessageSize, final PoolStrategy poolStrategy, final List<BufferSizeClass> bufferSizeClasses) {
+      this(processorPoolSize, dispatcherPoolSize, maxBufferPoolSize, maxMessageSize, poolStrategy, bufferSizeClasses, false);
+    }
+
+    public Sizing(final int processorPoolSize, final int dispatcherPoolSize, final int maxBufferPoolSize, final int maxMessageSize, final PoolStrategy poolStrategy, final List<BufferSizeClass> bufferSizeClasses, final boolean directBuffers) {
       this.processorPoolSize = processorPoolSize;
       this.dispatcherPoolSize = dispatcherPoolSize;
       this.maxBufferPoolSize = maxBufferPoolSize;
       this.maxMessageSize = maxMessageSize;
+      this.poolStrategy = poolStrategy;
+      this.bufferSizeClasses = Collections.unmodifiableList(new ArrayList<>(bufferSizeClasses));
+      this.directBuffers = directBuffers;
     }
 
     public static Sizing define() {
@@ -112,31 +338,137 @@ public class Configuration {
     }
 
     public Sizing withProcessorPoolSize(final int processorPoolSize) {
-      return new Sizing(processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize);
+      return new Sizing(processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize, this.poolStrategy, this.bufferSizeClasses, this.directBuffers);
     }
 
     public Sizing withDispatcherPoolSize(final int dispatcherPoolSize) {
-      return new Sizing(this.processorPoolSize, dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize);
+      return new Sizing(this.processorPoolSize, dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize, this.poolStrategy, this.bufferSizeClasses, this.directBuffers);
     }
 
     public Sizing withMaxBufferPoolSize(final int maxBufferPoolSize) {
-      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, maxBufferPoolSize, this.maxMessageSize);
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, maxBufferPoolSize, this.maxMessageSize, this.poolStrategy, this.bufferSizeClasses, this.directBuffers);
     }
 
     public Sizing withMaxMessageSize(final int maxMessageSize) {
-      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, maxMessageSize);
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, maxMessageSize, this.poolStrategy, this.bufferSizeClasses, this.directBuffers);
+    }
+
+    /**
+     * Answer a copy of me that selects pooled {@code Dispatcher} and {@code ResourceRequestHandler}
+     * instances using {@code poolStrategy}.
+     * @param poolStrategy the PoolStrategy to use
+     * @return Sizing
+     */
+    public Sizing withPoolStrategy(final PoolStrategy poolStrategy) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize, poolStrategy, this.bufferSizeClasses, this.directBuffers);
+    }
+
+    /**
+     * Answer a copy of me that pools response buffers in {@code bufferSizeClasses},
+     * rather than in a single class of {@code maxBufferPoolSize} buffers of
+     * {@code maxMessageSize} bytes.
+     * @param bufferSizeClasses the BufferSizeClass... of the response buffer pool
+     * @return Sizing
+     */
+    public Sizing withBufferSizeClasses(final BufferSizeClass... bufferSizeClasses) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize, this.poolStrategy, Arrays.asList(bufferSizeClasses), this.directBuffers);
+    }
+
+    /**
+     * Answer a copy of me whose pooled response buffers, and those of {@code SseClient},
+     * are direct {@code ByteBuffer} instances outside the Java heap if {@code directBuffers}.
+     * @param directBuffers the boolean indicating whether to use direct buffers
+     * @return Sizing
+     */
+    public Sizing withDirectBuffers(final boolean directBuffers) {
+      return new Sizing(this.processorPoolSize, this.dispatcherPoolSize, this.maxBufferPoolSize, this.maxMessageSize, this.poolStrategy, this.bufferSizeClasses, directBuffers);
+    }
+
+    /**
+     * Answer the {@code BufferSizeClass} instances of the response buffer pool, which
+     * are my {@code bufferSizeClasses} if defined, or otherwise a single class of
+     * {@code maxBufferPoolSize} buffers of {@code maxMessageSize} bytes.
+     * @return {@code List<BufferSizeClass>}
+     */
+    public List<BufferSizeClass> responseBufferSizeClasses() {
+      if (bufferSizeClasses.isEmpty()) {
+        return Collections.singletonList(BufferSizeClass.of(maxMessageSize, maxBufferPoolSize));
+      }
+      return bufferSizeClasses;
+    }
+  }
+
+  /**
+   * A class of pooled response buffers, each of {@code size} bytes, of which at most
+   * {@code limit} are retained in the pool when not in use.
+   */
+  public static class BufferSizeClass {
+    public final int size;
+    public final int limit;
+
+    public static BufferSizeClass of(final int size, final int limit) {
+      return new BufferSizeClass(size, limit);
+    }
+
+    /**
+     * Answer the {@code BufferSizeClass} instances described by {@code classes}, which
+     * is a comma-separated list of {@code size:limit} pairs, such as {@code "1024:200, 4096:100"}.
+     * @param classes the String description
+     * @return {@code List<BufferSizeClass>}
+     */
+    static List<BufferSizeClass> allFrom(final String classes) {
+      final List<BufferSizeClass> all = new ArrayList<>();
+      for (final String description : classes.split(",")) {
+        final String trimmed = description.trim();
+        if (trimmed.isEmpty()) continue;
+        final int separator = trimmed.indexOf(':');
+        if (separator < 0) {
+          throw new IllegalArgumentException("Buffer size class must be size:limit but is: " + trimmed);
+        }
+        all.add(of(Integer.parseInt(trimmed.substring(0, separator).trim()), Integer.parseInt(trimmed.substring(separator + 1).trim())));
+      }
+      return all;
+    }
+
+    BufferSizeClass(final int size, final int limit) {
+      if (size <= 0 || limit < 0) {
+        throw new IllegalArgumentException("Buffer size class must have a positive size and non-negative limit: " + size + ":" + limit);
+      }
+      this.size = size;
+      this.limit = limit;
+    }
+
+    @Override
+    public String toString() {
+      return "BufferSizeClass[size=" + size + " limit=" + limit + "]";
     }
   }
 
   public static class Timing {
+    public final long connectionIdleTimeout;
     public final long probeInterval;
     public final long probeTimeout;
+    public final long requestHeaderTimeout;
     public final long requestMissingContentTimeout;
 
     public Timing(final long probeInterval, final long probeTimeout, final long requestMissingContentTimeout) {
+      this(probeInterval, probeTimeout, requestMissingContentTimeout, 0, 0);
+    }
+
+    /**
+     * Construct my state, where {@code requestHeaderTimeout} is the milliseconds within
+     * which the request line and headers of a request must be received once its first
+     * bytes are, and {@code connectionIdleTimeout} is the milliseconds after which a
+     * connection that has neither received bytes nor finished writing a response is
+     * closed. A connection is never idle while one of its requests is being handled
+     * or its response is being written. Either is disabled if 0.
+     */
+    public Timing(final long probeInterval, final long probeTimeout, final long requestMissingContentTimeout, final long requestHeaderTimeout, final long connectionIdleTimeout) {
       this.probeInterval = probeInterval;
       this.probeTimeout = probeTimeout;
       this.requestMissingContentTimeout = requestMissingContentTimeout;
+      this.requestHeaderTimeout = requestHeaderTimeout;
+      this.connectionIdleTimeout = connectionIdleTimeout;
     }
 
     public static Timing define() {
@@ -150,16 +482,40 @@ public class Configuration {
       return new Timing(probeInterval, probeTimeout, requestMissingContentTimeout);
     }
 
+    public Timing withConnectionIdleTimeout(final long connectionIdleTimeout) {
+      return new Timing(this.probeInterval, this.probeTimeout, this.requestMissingContentTimeout, this.requestHeaderTimeout, connectionIdleTimeout);
+    }
+
     public Timing withProbeInterval(final int probeInterval) {
-      return new Timing(probeInterval, this.probeTimeout, this.requestMissingContentTimeout);
+      return new Timing(probeInterval, this.probeTimeout, this.requestMissingContentTimeout, this.requestHeaderTimeout, this.connectionIdleTimeout);
     }
 
     public Timing withProbeTimeout(final int probeTimeout) {
-      return new Timing(this.probeInterval, probeTimeout, this.requestMissingContentTimeout);
+      return new Timing(this.probeInterval, probeTimeout, this.requestMissingContentTimeout, this.requestHeaderTimeout, this.connectionIdleTimeout);
+    }
+
+    public Timing withRequestHeaderTimeout(final long requestHeaderTimeout) {
+      return new Timing(this.probeInterval, this.probeTimeout, this.requestMissingContentTimeout, requestHeaderTimeout, this.connectionIdleTimeout);
     }
 
     public Timing withRequestMissingContentTimeout(final long requestMissingContentTimeout) {
-      return new Timing(this.probeInterval, this.probeTimeout, requestMissingContentTimeout);
+      return new Timing(this.probeInterval, this.probeTimeout, requestMissingContentTimeout, this.requestHeaderTimeout, this.connectionIdleTimeout);
+    }
+
+    /**
+     * Answer the milliseconds of each tick of the timing wheel that expires my timeouts,
+     * being a tenth of the shortest enabled timeout, but at least 10 milliseconds, or
+     * 0 if no timeout is enabled.
+     * @return long
+     */
+    public long timeoutTick() {
+      long shortest = Long.MAX_VALUE;
+      for (final long timeout : new long[] { requestMissingContentTimeout, requestHeaderTimeout, connectionIdleTimeout }) {
+        if (timeout > 0 && timeout < shortest) {
+          shortest = timeout;
+        }
+      }
+      return shortest == Long.MAX_VALUE ? 0 : Math.max(10, shortest / 10);
     }
   }
 }
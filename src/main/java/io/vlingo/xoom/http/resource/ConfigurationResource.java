@@ -148,6 +148,11 @@ public abstract class ConfigurationResource<T> extends Resource<T> {
     return Action.unmatchedResults;
   }
 
+  @Override
+  List<Action> actions() {
+    return actions;
+  }
+
   protected ConfigurationResource(
           final String name,
           final Class<? extends ResourceHandler> resourceHandlerClass,
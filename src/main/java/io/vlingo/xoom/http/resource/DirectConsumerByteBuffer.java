@@ -0,0 +1,103 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.nio.ByteBuffer;
+
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+
+/**
+ * A {@code ConsumerByteBuffer} whose content is held in a direct {@code ByteBuffer}
+ * outside the Java heap, so that the channel writes it without first copying it to
+ * native memory. The content is accessed through {@code asByteBuffer()}, and there
+ * is no backing {@code array()}. The native memory is reclaimed only when the
+ * instance is collected, so instances are meant to be pooled and returned to their
+ * pool by {@code release()}.
+ */
+public class DirectConsumerByteBuffer extends BasicConsumerByteBuffer {
+  private final ByteBuffer buffer;
+
+  /**
+   * Answer a new {@code DirectConsumerByteBuffer} of {@code size} bytes.
+   * @param id the int identity of the buffer
+   * @param size the int capacity in bytes
+   * @return DirectConsumerByteBuffer
+   */
+  public static DirectConsumerByteBuffer allocateDirect(final int id, final int size) {
+    return new DirectConsumerByteBuffer(id, size);
+  }
+
+  /**
+   * Construct my state with {@code id} and a direct buffer of {@code size} bytes.
+   * @param id the int identity of the buffer
+   * @param size the int capacity in bytes
+   */
+  public DirectConsumerByteBuffer(final int id, final int size) {
+    super(id, 0);
+    this.buffer = ByteBuffer.allocateDirect(size);
+  }
+
+  @Override
+  public byte[] array() {
+    throw new UnsupportedOperationException("A direct buffer has no array; use asByteBuffer().");
+  }
+
+  @Override
+  public ByteBuffer asByteBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public int capacity() {
+    return buffer.capacity();
+  }
+
+  @Override
+  public DirectConsumerByteBuffer clear() {
+    buffer.clear();
+    return this;
+  }
+
+  @Override
+  public DirectConsumerByteBuffer flip() {
+    buffer.flip();
+    return this;
+  }
+
+  @Override
+  public boolean hasRemaining() {
+    return buffer.hasRemaining();
+  }
+
+  @Override
+  public int limit() {
+    return buffer.limit();
+  }
+
+  @Override
+  public int position() {
+    return buffer.position();
+  }
+
+  @Override
+  public DirectConsumerByteBuffer put(final byte[] bytes) {
+    buffer.put(bytes);
+    return this;
+  }
+
+  @Override
+  public DirectConsumerByteBuffer put(final ByteBuffer bytes) {
+    buffer.put(bytes);
+    return this;
+  }
+
+  @Override
+  public int remaining() {
+    return buffer.remaining();
+  }
+}
@@ -0,0 +1,75 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Action.MappedParameters;
+
+/**
+ * A {@code ResourceRequestHandler} of the {@code ExecutionMode.Direct} that executes each
+ * request on the calling thread rather than on a pooled actor. Because requests may execute
+ * concurrently on several threads, each borrows a {@code ResourceHandler} of its own, which
+ * is returned for reuse once the request has been handled.
+ */
+class DirectRequestHandler implements ResourceRequestHandler {
+  protected final Logger logger;
+  protected final Resource<?> resource;
+
+  private final Queue<ResourceHandler> idle;
+  private final Stage stage;
+
+  DirectRequestHandler(final Resource<?> resource, final Stage stage) {
+    this.idle = new ConcurrentLinkedQueue<>();
+    this.logger = stage.world().defaultLogger();
+    this.resource = resource;
+    this.stage = stage;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void handleFor(final Context context, final Consumer consumer) {
+    execute(context, consumer);
+  }
+
+  @Override
+  public void handleFor(final Context context, final MappedParameters mappedParameters, final RequestHandler handler) {
+    handleFor(context, ResourceRequestHandlerActor.consumerOf(context, mappedParameters, handler));
+  }
+
+  /**
+   * Have {@code consumer} handle the request of {@code context} on the calling thread.
+   * @param context the Context of the request
+   * @param consumer the Consumer of the ResourceHandler
+   */
+  @SuppressWarnings("rawtypes")
+  protected void execute(final Context context, final Consumer consumer) {
+    try {
+      final ResourceHandler resourceHandler = borrow();
+      try {
+        ResourceRequestHandlerActor.handle(resourceHandler, stage, logger, context, consumer);
+      } finally {
+        idle.offer(resourceHandler);
+      }
+    } catch (RuntimeException exception) {
+      logger.error("Resource handler not available for " + resource.name, exception);
+      context.completes.with(Response.of(Response.Status.InternalServerError));
+    }
+  }
+
+  private ResourceHandler borrow() {
+    final ResourceHandler resourceHandler = idle.poll();
+    return resourceHandler != null ? resourceHandler : resource.resourceHandlerInstance(stage);
+  }
+}
@@ -8,6 +8,7 @@
 package io.vlingo.xoom.http.resource;
 
 import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
 
 /**
  * A pool of {@code Dispatcher} instances.
@@ -24,6 +25,16 @@ public interface DispatcherPool {
    */
   Dispatcher dispatcher();
 
+  /**
+   * Answer the {@code Dispatcher} from my pool for the request received on
+   * {@code requestResponseContext}, which by default is any available {@code Dispatcher}.
+   * @param requestResponseContext the {@code RequestResponseContext<?>} of the request
+   * @return Dispatcher
+   */
+  default Dispatcher dispatcherFor(final RequestResponseContext<?> requestResponseContext) {
+    return dispatcher();
+  }
+
   /**
    * Default behavior for all {@code DispatcherPool} implementations.
    */
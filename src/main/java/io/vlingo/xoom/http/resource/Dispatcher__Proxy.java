@@ -10,7 +10,7 @@ package io.vlingo.xoom.http.resource;
 import io.vlingo.xoom.actors.*;
 import io.vlingo.xoom.common.SerializableConsumer;
 
-public class Dispatcher__Proxy implements Dispatcher {
+public class Dispatcher__Proxy implements Dispatcher, PendingMessages {
 
   private static final String representationConclude0 = "conclude()";
   private static final String dispatchForRepresentation1 = "dispatchFor(io.vlingo.xoom.http.Context)";
@@ -24,6 +24,11 @@ public class Dispatcher__Proxy implements Dispatcher {
     this.mailbox = mailbox;
   }
 
+  @Override
+  public int pendingMessages() {
+    return mailbox.pendingMessages();
+  }
+
   @Override
   public void dispatchFor(io.vlingo.xoom.http.Context arg0) {
     if (!actor.isStopped()) {
@@ -47,7 +47,7 @@ public class DynamicResource extends Resource<ResourceHandler> {
     try {
       final RequestHandler handler = handlers.get(mappedParameters.actionId);
       if (dynamicResourceHandler != null) dynamicResourceHandler.context(context);
-      pooledHandler().handleFor(context, mappedParameters, handler);
+      pooledHandler(context).handleFor(context, mappedParameters, handler);
     } catch (Exception e) {
       throw new IllegalArgumentException("Action mismatch: Request: " + context.request + "Parameters: " + mappedParameters);
     }
@@ -64,6 +64,16 @@ public class DynamicResource extends Resource<ResourceHandler> {
     return Action.unmatchedResults;
   }
 
+  @Override
+  List<Action> actions() {
+    return actions;
+  }
+
+  @Override
+  boolean streamsBody(final Action action) {
+    return handlers.get(action.id).streamsBody;
+  }
+
   @Override
   protected void log(final Logger logger) {
     logger.info("Resource: " + name);
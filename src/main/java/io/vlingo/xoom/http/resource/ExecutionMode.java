@@ -0,0 +1,55 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+/**
+ * The means by which the handlers of a {@code Resource} are executed.
+ */
+public enum ExecutionMode {
+  /**
+   * Execute each request on one of the pooled {@code ResourceRequestHandler} actors of the
+   * {@code Resource}, of which there are {@code handlerPoolSize}.
+   */
+  Pooled,
+
+  /**
+   * Execute each request on its own virtual thread, or on a daemon platform thread where
+   * virtual threads are not available, such that handlers may block on I/O without stalling
+   * other requests. The number of requests executing at once is limited by the
+   * {@code executionLimit} of the {@code Resource}.
+   */
+  Virtual,
+
+  /**
+   * Execute each request directly on the thread that received it, without the message
+   * to a {@code Dispatcher} and to a pooled {@code ResourceRequestHandler}. This suits
+   * only handlers that neither block nor compute at length, such as in-memory lookups,
+   * because the thread receives no other requests while it executes one. With the
+   * {@code HttpAgent} that thread is the Netty event loop of the connection, and otherwise
+   * it is the processor thread of the wire server channel that reads the connection and
+   * calls the {@code consume()} of its {@code RequestChannelConsumer}, rather than a thread
+   * of the {@code Server} actor. While any {@code Resource} is {@code Direct},
+   * requests to other resources are also routed on that thread, and are then sent to
+   * their pooled handlers without a {@code Dispatcher}.
+   */
+  Direct;
+
+  /**
+   * Answer the {@code ExecutionMode} named by {@code name}, ignoring case.
+   * @param name the String name of the ExecutionMode
+   * @return ExecutionMode
+   */
+  public static ExecutionMode from(final String name) {
+    for (final ExecutionMode mode : values()) {
+      if (mode.name().equalsIgnoreCase(name.trim())) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException("Unknown execution mode: " + name);
+  }
+}
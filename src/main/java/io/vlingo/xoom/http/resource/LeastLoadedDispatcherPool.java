@@ -0,0 +1,48 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.http.resource.DispatcherPool.AbstractDispatcherPool;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+
+/**
+ * A {@code DispatcherPool} that answers the {@code Dispatcher} with the fewest
+ * messages pending in its mailbox, by a load-based {@code PoolStrategy}.
+ */
+public class LeastLoadedDispatcherPool extends AbstractDispatcherPool {
+  private final AtomicLong dispatcherPoolIndex;
+  private final PoolStrategy dispatcherPoolStrategy;
+
+  public LeastLoadedDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize) {
+    this(stage, resources, dispatcherPoolSize, PoolStrategy.PowerOfTwoChoices);
+  }
+
+  public LeastLoadedDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize, final PoolStrategy dispatcherPoolStrategy) {
+    super(stage, resources, dispatcherPoolSize);
+
+    if (!dispatcherPoolStrategy.isLoadBased()) {
+      throw new IllegalArgumentException("The pool strategy must be load based: " + dispatcherPoolStrategy);
+    }
+
+    this.dispatcherPoolIndex = new AtomicLong(0);
+    this.dispatcherPoolStrategy = dispatcherPoolStrategy.supportedBy(dispatcherPool);
+  }
+
+  @Override
+  public Dispatcher dispatcher() {
+    return dispatcherPoolStrategy.select(null, dispatcherPoolIndex, dispatcherPool);
+  }
+
+  @Override
+  public Dispatcher dispatcherFor(final RequestResponseContext<?> requestResponseContext) {
+    return dispatcher();
+  }
+}
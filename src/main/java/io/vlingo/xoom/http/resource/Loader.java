@@ -27,6 +27,7 @@ import io.vlingo.xoom.http.resource.feed.FeedProducer;
 import io.vlingo.xoom.http.resource.feed.FeedResource;
 import io.vlingo.xoom.http.resource.sse.SseConfiguration;
 import io.vlingo.xoom.http.resource.sse.SseFeed;
+import io.vlingo.xoom.http.resource.sse.SseOverflow;
 import io.vlingo.xoom.http.resource.sse.SseStreamResource;
 
 public class Loader {
@@ -49,12 +50,22 @@ public class Loader {
   private static final String ssePublisherIdPathParameter = "{id}";
   private static final String ssePublisherNamePrefix = "sse.stream.name.";
   private static final String ssePublisherNamePathParameter = "{streamName}";
+  private static final String ssePublisherOverflowPolicyParameter = "String overflowPolicy";
+  private static final String ssePublisherOverflowThresholdParameter = "int overflowThreshold";
+  private static final String ssePublisherReplayAgeParameter = "long replayAge";
+  private static final String ssePublisherReplayDepthParameter = "int replayDepth";
+  private static final String ssePublisherShardsParameter = "int shards";
   private static final String ssePublisherSubscribeTo =
           "subscribeToStream(String streamName, " +
                   ssePublisherFeedClassnameParameter + ", " +
                   ssePublisherFeedPayloadParameter + ", " +
                   ssePublisherFeedIntervalParameter + ", " +
-                  ssePublisherFeedDefaultId + ")";
+                  ssePublisherFeedDefaultId + ", " +
+                  ssePublisherReplayDepthParameter + ", " +
+                  ssePublisherReplayAgeParameter + ", " +
+                  ssePublisherOverflowPolicyParameter + ", " +
+                  ssePublisherOverflowThresholdParameter + ", " +
+                  ssePublisherShardsParameter + ")";
   private static final String ssePublisherUnsubscribeTo = "unsubscribeFromStream(String streamName, String id)";
 
   private static final String staticFilesResource = "static.files";
@@ -102,9 +113,11 @@ public class Loader {
     if (configuration.isConfigured()) {
       final Map<String, ConfigurationResource<?>> sseResources = new HashMap<>();
       final String streamResourceName = ssePublisherNamePrefix + "." + configuration.name();
-      loadSseResources(sseResources, streamResourceName, configuration.name(), configuration.feedClass().getName(),
+      loadSseResources(sseResources, streamResourceName, configuration.name(), configuration.feedClass() == null ? null : configuration.feedClass().getName(),
               configuration.payloadCount(), configuration.interval(),
-              configuration.defaultId(), configuration.poolSize(), configuration.streamURI(), configuration.streamURI());
+              configuration.defaultId(), configuration.replayDepth(), configuration.replayAge(),
+              configuration.overflowPolicy().name(), configuration.overflowThreshold(), configuration.shards(), configuration.poolSize(),
+              configuration.streamURI(), configuration.streamURI());
       namedResources.putAll(sseResources);
     }
 
@@ -144,6 +157,12 @@ public class Loader {
     final String handlerPoolKey = "resource." + resourceName + ".pool";
     final int maybeHandlerPoolSize = Integer.parseInt(properties.getProperty(handlerPoolKey, "1"));
     final int handlerPoolSize = maybeHandlerPoolSize <= 0 ? 1 : maybeHandlerPoolSize;
+    final String handlerPoolStrategyKey = "resource." + resourceName + ".pool.strategy";
+    final String handlerPoolStrategy = properties.getProperty(handlerPoolStrategyKey);
+    final String executionModeKey = "resource." + resourceName + ".execution";
+    final ExecutionMode executionMode = ExecutionMode.from(properties.getProperty(executionModeKey, ExecutionMode.Pooled.name()));
+    final String executionLimitKey = "resource." + resourceName + ".execution.limit";
+    final int executionLimit = Integer.parseInt(properties.getProperty(executionLimitKey, String.valueOf(Resource.defaultExecutionLimit())));
     final String disallowPathParametersWithSlashKey = "resource." + resourceName + ".disallowPathParametersWithSlash";
     final boolean disallowPathParametersWithSlash = Boolean.parseBoolean(properties.getProperty(disallowPathParametersWithSlashKey, "true"));
 
@@ -152,7 +171,15 @@ public class Loader {
 
       final Class<? extends ResourceHandler> resourceHandlerClass = ConfigurationResource.newResourceHandlerClassFor(resourceHandlerClassname);
 
-      return resourceFor(resourceName, resourceHandlerClass, handlerPoolSize, resourceActions);
+      final ConfigurationResource<?> resource = resourceFor(resourceName, resourceHandlerClass, handlerPoolSize, resourceActions);
+
+      if (handlerPoolStrategy != null) {
+        resource.handlerPoolStrategy(PoolStrategy.from(handlerPoolStrategy));
+      }
+
+      resource.executionMode(executionMode, executionLimit);
+
+      return resource;
     } catch (Exception e) {
       System.out.println("XOOM: Failed to load resource: " + resourceName + " because: " + e.getMessage());
       throw e;
@@ -219,9 +246,23 @@ public class Loader {
       final int feedPayload = maybeFeedPayload <= 0 ? 20 : maybeFeedPayload;
       final String feedIntervalKey = "sse.stream." + resourceName + ".feed.interval";
       final int maybeFeedInterval = Integer.parseInt(properties.getProperty(feedIntervalKey, "1000"));
-      final int feedInterval = maybeFeedInterval <= 0 ? 1000 : maybeFeedInterval;
+      final int feedInterval = maybeFeedInterval < 0 ? 1000 : maybeFeedInterval;
       final String feedDefaultIdKey = "sse.stream." + resourceName + ".feed.default.id";
       final String feedDefaultId = properties.getProperty(feedDefaultIdKey, "");
+      final String replayDepthKey = "sse.stream." + resourceName + ".replay.depth";
+      final int maybeReplayDepth = Integer.parseInt(properties.getProperty(replayDepthKey, "0"));
+      final int replayDepth = maybeReplayDepth < 0 ? 0 : maybeReplayDepth;
+      final String replayAgeKey = "sse.stream." + resourceName + ".replay.age";
+      final long maybeReplayAge = Long.parseLong(properties.getProperty(replayAgeKey, "0"));
+      final long replayAge = maybeReplayAge < 0 ? 0 : maybeReplayAge;
+      final String overflowPolicyKey = "sse.stream." + resourceName + ".overflow.policy";
+      final String overflowPolicy = SseOverflow.Policy.from(properties.getProperty(overflowPolicyKey, SseOverflow.Policy.DropOldest.name())).name();
+      final String overflowThresholdKey = "sse.stream." + resourceName + ".overflow.threshold";
+      final int maybeOverflowThreshold = Integer.parseInt(properties.getProperty(overflowThresholdKey, "0"));
+      final int overflowThreshold = maybeOverflowThreshold < 0 ? 0 : maybeOverflowThreshold;
+      final String shardsKey = "sse.stream." + resourceName + ".shards";
+      final int maybeShards = Integer.parseInt(properties.getProperty(shardsKey, "1"));
+      final int shards = maybeShards <= 0 ? 1 : maybeShards;
       final String poolKey = "sse.stream." + resourceName + ".pool";
       final int maybePoolSize = Integer.parseInt(properties.getProperty(poolKey, "1"));
       final int handlerPoolSize = maybePoolSize <= 0 ? 1 : maybePoolSize;
@@ -229,7 +270,7 @@ public class Loader {
       final String unsubscribeURI = subscribeURI + "/" + ssePublisherIdPathParameter;
 
       loadSseResources(sseResources, streamResourceName, resourceName, feedClassname, feedPayload, feedInterval,
-              feedDefaultId, handlerPoolSize, subscribeURI, unsubscribeURI);
+              feedDefaultId, replayDepth, replayAge, overflowPolicy, overflowThreshold, shards, handlerPoolSize, subscribeURI, unsubscribeURI);
     }
 
     return sseResources;
@@ -243,22 +284,37 @@ public class Loader {
           final int feedPayload,
           final int feedInterval,
           final String feedDefaultId,
+          final int replayDepth,
+          final long replayAge,
+          final String overflowPolicy,
+          final int overflowThreshold,
+          final int shards,
           final int handlerPoolSize,
           final String subscribeURI,
           final String unsubscribeURI) {
     try {
-      final Class<? extends Actor> feedClass = ActorFactory.actorClassWithProtocol(feedClassname, SseFeed.class);
+      // without a feed class the stream is push-only
+      final Class<? extends Actor> feedClass =
+              feedClassname == null || feedClassname.trim().isEmpty() ?
+                      null :
+                      ActorFactory.actorClassWithProtocol(feedClassname.trim(), SseFeed.class);
       final MappedParameter mappedParameterClass = new MappedParameter("Class<? extends Actor>", feedClass);
       final MappedParameter mappedParameterPayload = new MappedParameter("int", feedPayload);
       final MappedParameter mappedParameterInterval = new MappedParameter("int", feedInterval);
       final MappedParameter mappedParameterDefaultId = new MappedParameter("String", feedDefaultId);
+      final MappedParameter mappedParameterReplayDepth = new MappedParameter("int", replayDepth);
+      final MappedParameter mappedParameterReplayAge = new MappedParameter("long", replayAge);
+      final MappedParameter mappedParameterOverflowPolicy = new MappedParameter("String", overflowPolicy);
+      final MappedParameter mappedParameterOverflowThreshold = new MappedParameter("int", overflowThreshold);
+      final MappedParameter mappedParameterShards = new MappedParameter("int", shards);
 
       final List<Action> actions = new ArrayList<>(2);
-      final List<MappedParameter> additionalParameters = Arrays.asList(mappedParameterClass, mappedParameterPayload, mappedParameterInterval, mappedParameterDefaultId);
+      final List<MappedParameter> additionalParameters = Arrays.asList(mappedParameterClass, mappedParameterPayload, mappedParameterInterval, mappedParameterDefaultId, mappedParameterReplayDepth, mappedParameterReplayAge, mappedParameterOverflowPolicy, mappedParameterOverflowThreshold, mappedParameterShards);
       actions.add(new Action(0, Method.GET.name, subscribeURI, ssePublisherSubscribeTo, null, additionalParameters));
       actions.add(new Action(1, Method.DELETE.name, unsubscribeURI, ssePublisherUnsubscribeTo, null));
       final ConfigurationResource<?> resource = resourceFor(resourceName, SseStreamResource.class, handlerPoolSize, actions);
       sseResources.put(resourceName, resource);
+      SseStreamResource.configure(resourceName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge, shards);
     } catch (Exception e) {
       System.out.println("XOOM: Failed to load SSE resource: " + streamResourceName + " because: " + e.getMessage());
       e.printStackTrace();
@@ -61,6 +61,11 @@ class ParameterResolver<T> {
     }));
   }
 
+  public static ParameterResolver<RequestBodyStream> bodyStream() {
+    return new ParameterResolver<>(Type.BODY, RequestBodyStream.class, ((request, mappedParameters) ->
+      RequestBodyStream.from(request.body)));
+  }
+
   private static String bodyMediaTypeOrFallback(final Request request) {
     String assumedBodyContentType = ContentMediaType.Json().toString();
     return request.headerValueOr(RequestHeader.ContentType, assumedBodyContentType);
@@ -0,0 +1,21 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+/**
+ * Implemented by actor proxies to answer the depth of the mailbox of their actor,
+ * which is used by the load-based {@code PoolStrategy} selections.
+ */
+interface PendingMessages {
+  /**
+   * Answer the number of messages pending in the mailbox of my actor.
+   * @return int
+   * @throws UnsupportedOperationException if the mailbox does not count its messages
+   */
+  int pendingMessages();
+}
@@ -0,0 +1,146 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+
+/**
+ * The strategy used to select one member of a pool of {@code Dispatcher} or
+ * {@code ResourceRequestHandler} instances for each request.
+ */
+public enum PoolStrategy {
+  /**
+   * Select the next member in turn, using a counter shared by all requests.
+   */
+  RoundRobin,
+
+  /**
+   * Select the member by the hash of the connection's {@code RequestResponseContext} id,
+   * so that all requests received on one connection are handled by the same member,
+   * without a counter shared by all requests.
+   */
+  ConnectionAffine,
+
+  /**
+   * Select the member with the fewest messages pending in its mailbox, so that
+   * requests are not queued behind a member that is handling a slow request.
+   */
+  LeastLoaded,
+
+  /**
+   * Select the member with fewer messages pending in its mailbox of two chosen
+   * at random, which approaches {@code LeastLoaded} without examining every member.
+   */
+  PowerOfTwoChoices;
+
+  /**
+   * Answer the {@code PoolStrategy} named by {@code name}, ignoring case, {@code '-'},
+   * and {@code '_'}, such that {@code "connection-affine"} names {@code ConnectionAffine}.
+   * @param name the String name of the PoolStrategy
+   * @return PoolStrategy
+   */
+  public static PoolStrategy from(final String name) {
+    final String normalized = name.trim().replace("-", "").replace("_", "");
+    for (final PoolStrategy strategy : values()) {
+      if (strategy.name().equalsIgnoreCase(normalized)) {
+        return strategy;
+      }
+    }
+    throw new IllegalArgumentException("Unknown pool strategy: " + name);
+  }
+
+  /**
+   * Answer whether or not I select by the depth of the mailboxes of the pool members.
+   * @return boolean
+   */
+  public boolean isLoadBased() {
+    return this == LeastLoaded || this == PowerOfTwoChoices;
+  }
+
+  /**
+   * Answer the {@code PoolStrategy} that selects from {@code pool}, which is me unless I am
+   * load-based and a member of {@code pool} does not count the messages pending in its
+   * mailbox, in which case it is {@code RoundRobin}. This is decided once for a pool
+   * rather than on each selection.
+   * @param pool the T[] members of the pool
+   * @param <T> the type of pool members
+   * @return PoolStrategy
+   */
+  <T> PoolStrategy supportedBy(final T[] pool) {
+    if (isLoadBased()) {
+      for (final T member : pool) {
+        if (!(member instanceof PendingMessages)) {
+          return RoundRobin;
+        }
+        try {
+          ((PendingMessages) member).pendingMessages();
+        } catch (UnsupportedOperationException e) {
+          // the mailbox type does not count its pending messages
+          return RoundRobin;
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Answer the member of {@code pool} selected for the request received on
+   * {@code requestResponseContext}, which may be {@code null} when the request has
+   * no connection. The shared counter {@code index} is used for {@code RoundRobin},
+   * and when the selection of any other strategy cannot be made. A load-based strategy
+   * must be {@code supportedBy(pool)}.
+   * @param requestResponseContext the {@code RequestResponseContext<?>} of the request, or null
+   * @param index the AtomicLong shared counter of the pool
+   * @param pool the T[] members of the pool
+   * @param <T> the type of pool members
+   * @return T
+   */
+  <T> T select(final RequestResponseContext<?> requestResponseContext, final AtomicLong index, final T[] pool) {
+    final int size = pool.length;
+    switch (this) {
+    case ConnectionAffine:
+      if (requestResponseContext != null) {
+        final int hash = requestResponseContext.id().hashCode();
+        return pool[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % size];
+      }
+      break;
+    case LeastLoaded:
+      if (size > 1) {
+        int least = 0;
+        int leastPending = pendingMessagesOf(pool[0]);
+        for (int candidate = 1; candidate < size && leastPending > 0; ++candidate) {
+          final int pending = pendingMessagesOf(pool[candidate]);
+          if (pending < leastPending) {
+            least = candidate;
+            leastPending = pending;
+          }
+        }
+        return pool[least];
+      }
+      break;
+    case PowerOfTwoChoices:
+      if (size > 1) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        final int second = (first + 1 + random.nextInt(size - 1)) % size;
+        return pendingMessagesOf(pool[second]) < pendingMessagesOf(pool[first]) ? pool[second] : pool[first];
+      }
+      break;
+    default:
+      break;
+    }
+    return pool[(int) (index.incrementAndGet() % size)];
+  }
+
+  private static int pendingMessagesOf(final Object member) {
+    return ((PendingMessages) member).pendingMessages();
+  }
+}
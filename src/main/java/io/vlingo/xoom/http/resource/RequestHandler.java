@@ -19,6 +19,7 @@ import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 public abstract class RequestHandler {
@@ -27,6 +28,7 @@ public abstract class RequestHandler {
   public final String actionSignature;
   public final String contentSignature;
   public final Class<?> bodyType;
+  public final boolean streamsBody;
   private final Pattern pattern = Pattern.compile("\\{(.*?)\\}");
   protected MediaTypeMapper mediaTypeMapper;
   protected ErrorHandler errorHandler;
@@ -37,6 +39,7 @@ public abstract class RequestHandler {
     this.actionSignature = generateActionSignature(parameterResolvers);
     this.contentSignature = detectRequestBodyType(parameterResolvers).map(Class::getSimpleName).orElse(null);
     this.bodyType = detectRequestBodyType(parameterResolvers).orElse(null);
+    this.streamsBody = bodyType == RequestBodyStream.class;
     this.errorHandler = DefaultErrorHandler.instance();
     this.mediaTypeMapper = DefaultMediaTypeMapper.instance();
   }
@@ -51,6 +54,7 @@ public abstract class RequestHandler {
     this.actionSignature = generateActionSignature(parameterResolvers);
     this.contentSignature = detectRequestBodyType(parameterResolvers).map(Class::getSimpleName).orElse(null);
     this.bodyType = detectRequestBodyType(parameterResolvers).orElse(null);
+    this.streamsBody = bodyType == RequestBodyStream.class;
     this.errorHandler = errorHandler;
     this.mediaTypeMapper = mediaTypeMapper;
   }
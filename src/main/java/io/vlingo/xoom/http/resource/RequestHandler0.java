@@ -14,6 +14,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Collections;
@@ -131,6 +132,16 @@ public class RequestHandler0 extends RequestHandler {
     return new RequestHandler1<>(method, path, ParameterResolver.body(paramClass, mediaTypeMapper), errorHandler, mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is received as a {@code RequestBodyStream} of
+   * chunks, with dispatch taking place as soon as the request headers are parsed.
+   *
+   * @return {@code RequestHandler1<RequestBodyStream>}
+   */
+  public RequestHandler1<RequestBodyStream> bodyStream() {
+    return new RequestHandler1<>(method, path, ParameterResolver.bodyStream(), errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler1<String> query(final String name) {
     return query(name, String.class);
   }
@@ -14,6 +14,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Collections;
@@ -142,6 +143,17 @@ public class RequestHandler1<T> extends RequestHandler {
                                  errorHandler, mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is received as a {@code RequestBodyStream} of
+   * chunks, with dispatch taking place as soon as the request headers are parsed.
+   *
+   * @return {@code RequestHandler2<T, RequestBodyStream>}
+   */
+  public RequestHandler2<T, RequestBodyStream> bodyStream() {
+    return new RequestHandler2<>(method, path, resolver, ParameterResolver.bodyStream(),
+                                 errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler2<T, String> query(final String name) {
     return query(name, String.class);
   }
@@ -17,6 +17,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 public class RequestHandler2<T, R> extends RequestHandler {
@@ -146,6 +147,17 @@ public class RequestHandler2<T, R> extends RequestHandler {
       ParameterResolver.body(bodyClass, mediaTypeMapper), errorHandler, mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is received as a {@code RequestBodyStream} of
+   * chunks, with dispatch taking place as soon as the request headers are parsed.
+   *
+   * @return {@code RequestHandler3<T, R, RequestBodyStream>}
+   */
+  public RequestHandler3<T, R, RequestBodyStream> bodyStream() {
+    return new RequestHandler3<>(method, path, resolverParam1, resolverParam2,
+      ParameterResolver.bodyStream(), errorHandler, mediaTypeMapper);
+  }
+
   public RequestHandler3<T, R, String> query(final String name) {
     return query(name, String.class);
   }
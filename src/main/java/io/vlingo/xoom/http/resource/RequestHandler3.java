@@ -12,6 +12,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Arrays;
@@ -160,6 +161,19 @@ public class RequestHandler3<T, R, U> extends RequestHandler {
       mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is received as a {@code RequestBodyStream} of
+   * chunks, with dispatch taking place as soon as the request headers are parsed.
+   *
+   * @return {@code RequestHandler4<T, R, U, RequestBodyStream>}
+   */
+  public RequestHandler4<T, R, U, RequestBodyStream> bodyStream() {
+    return new RequestHandler4<>(method, path, resolverParam1, resolverParam2, resolverParam3,
+      ParameterResolver.bodyStream(),
+      errorHandler,
+      mediaTypeMapper);
+  }
+
   public RequestHandler4<T, R, U, String> query(final String name) {
     return query(name, String.class);
   }
@@ -12,6 +12,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.Response;
 
 import java.util.Arrays;
@@ -169,6 +170,19 @@ public class RequestHandler4<T, R, U, I> extends RequestHandler {
       mediaTypeMapper);
   }
 
+  /**
+   * Specify that the body of the request is received as a {@code RequestBodyStream} of
+   * chunks, with dispatch taking place as soon as the request headers are parsed.
+   *
+   * @return {@code RequestHandler5<T, R, U, I, RequestBodyStream>}
+   */
+  public RequestHandler5<T, R, U, I, RequestBodyStream> bodyStream() {
+    return new RequestHandler5<>(method, path, resolverParam1, resolverParam2, resolverParam3, resolverParam4,
+      ParameterResolver.bodyStream(),
+      errorHandler,
+      mediaTypeMapper);
+  }
+
   public RequestHandler5<T, R, U, I, String> query(final String name) {
     return query(name, String.class);
   }
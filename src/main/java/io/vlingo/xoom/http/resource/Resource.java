@@ -10,6 +10,7 @@
 package io.vlingo.xoom.http.resource;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import io.vlingo.xoom.actors.Definition;
@@ -19,42 +20,156 @@ import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Method;
 
 public abstract class Resource<T> {
+  /** The default maximum number of requests executing at once in {@code ExecutionMode.Virtual}. */
+  public static final int DefaultExecutionLimit = 1000;
+
+  /**
+   * The default maximum number of requests executing at once in {@code ExecutionMode.Virtual}
+   * when the runtime does not support virtual threads, and so each executes on a platform thread.
+   */
+  public static final int DefaultPlatformExecutionLimit = 64;
+
   public final String name;
   public final int handlerPoolSize;
 
   private final ResourceRequestHandler[] handlerPool;
   private final AtomicLong handlerPoolIndex;
+  private PoolStrategy handlerPoolSelection;
+  private PoolStrategy handlerPoolStrategy;
+  private ExecutionMode executionMode;
+  private int executionLimit;
+  private ResourceRequestHandler unpooledHandler;
 
   public abstract void dispatchToHandlerWith(final Context context, final Action.MappedParameters mappedParameters);
 
   abstract Action.MatchResults matchWith(final Method method, final URI uri);
 
+  abstract List<Action> actions();
+
   protected abstract void log(final Logger logger);
 
   protected abstract ResourceHandler resourceHandlerInstance(final Stage stage);
 
+  /**
+   * Answer whether or not the request matched to {@code action} receives its body as a
+   * {@code RequestBodyStream}.
+   * @param action the Action matched by the request
+   * @return boolean
+   */
+  boolean streamsBody(final Action action) {
+    return action.streamsBody();
+  }
+
+  /**
+   * Answer the default maximum number of requests executing at once in {@code ExecutionMode.Virtual},
+   * which is the {@code DefaultPlatformExecutionLimit} when virtual threads are not supported.
+   * @return int
+   */
+  static int defaultExecutionLimit() {
+    return VirtualThreadRequestHandler.supportsVirtualThreads() ? DefaultExecutionLimit : DefaultPlatformExecutionLimit;
+  }
+
   void allocateHandlerPool(final Stage stage) {
-    for (int idx = 0; idx < handlerPoolSize; ++idx) {
-      handlerPool[idx] =
-        stage.actorFor(
-          ResourceRequestHandler.class,
-          Definition.has(
-            ResourceRequestHandlerActor.class,
-            Definition.parameters(resourceHandlerInstance(stage))));
+    if (executionMode == ExecutionMode.Virtual) {
+      unpooledHandler = new VirtualThreadRequestHandler(this, stage, executionLimit);
+    } else if (executionMode == ExecutionMode.Direct) {
+      unpooledHandler = new DirectRequestHandler(this, stage);
+    } else {
+      for (int idx = 0; idx < handlerPoolSize; ++idx) {
+        handlerPool[idx] =
+          stage.actorFor(
+            ResourceRequestHandler.class,
+            Definition.has(
+              ResourceRequestHandlerActor.class,
+              Definition.parameters(resourceHandlerInstance(stage))));
+      }
     }
+    selectHandlersBy(handlerPoolStrategy);
   }
 
   protected ResourceRequestHandler pooledHandler() {
+    if (unpooledHandler != null) {
+      return unpooledHandler;
+    }
     final int index = (int) (handlerPoolIndex.incrementAndGet() % handlerPoolSize);
     return handlerPool[index];
   }
 
+  /**
+   * Answer the {@code ResourceRequestHandler} of my pool selected for the
+   * request of {@code context} by my {@code PoolStrategy}.
+   * @param context the Context of the request to handle
+   * @return ResourceRequestHandler
+   */
+  protected ResourceRequestHandler pooledHandler(final Context context) {
+    if (unpooledHandler != null) {
+      return unpooledHandler;
+    }
+    return handlerPoolSelection.select(context.clientContext(), handlerPoolIndex, handlerPool);
+  }
+
+  /**
+   * Answer my {@code ExecutionMode}.
+   * @return ExecutionMode
+   */
+  public ExecutionMode executionMode() {
+    return executionMode;
+  }
+
+  /**
+   * Execute my handlers by way of {@code executionMode}, with at most {@code executionLimit}
+   * requests executing at once when the {@code executionMode} is {@code Virtual}.
+   * @param executionMode the ExecutionMode of my handlers
+   * @param executionLimit the int maximum number of requests executing at once
+   */
+  void executionMode(final ExecutionMode executionMode, final int executionLimit) {
+    if (executionLimit <= 0) {
+      throw new IllegalArgumentException("The execution limit must be greater than zero.");
+    }
+    this.executionMode = executionMode;
+    this.executionLimit = executionLimit;
+  }
+
+  /**
+   * Use {@code handlerPoolStrategy} to select from my pool of handlers.
+   * @param handlerPoolStrategy the PoolStrategy to use
+   */
+  void handlerPoolStrategy(final PoolStrategy handlerPoolStrategy) {
+    this.handlerPoolStrategy = handlerPoolStrategy;
+    selectHandlersBy(handlerPoolStrategy);
+  }
+
+  /**
+   * Use {@code handlerPoolStrategy} to select from my pool of handlers
+   * unless my own strategy has been specified.
+   * @param handlerPoolStrategy the PoolStrategy to use by default
+   */
+  void defaultHandlerPoolStrategy(final PoolStrategy handlerPoolStrategy) {
+    if (this.handlerPoolStrategy == null) {
+      handlerPoolStrategy(handlerPoolStrategy);
+    }
+  }
+
+  /**
+   * Select from my pool of handlers by {@code strategy}, or by {@code RoundRobin} when it
+   * is {@code null}, once my pool is allocated and so it is known whether my handlers
+   * support {@code strategy}.
+   * @param strategy the PoolStrategy to select by, or null
+   */
+  private void selectHandlersBy(final PoolStrategy strategy) {
+    final PoolStrategy selected = strategy == null ? PoolStrategy.RoundRobin : strategy;
+    this.handlerPoolSelection = handlerPoolSize > 0 && handlerPool[0] != null ? selected.supportedBy(handlerPool) : PoolStrategy.RoundRobin;
+  }
+
   Resource(final String name,
            final int handlerPoolSize) {
     this.name = name;
     this.handlerPoolSize = handlerPoolSize;
     this.handlerPool = new ResourceRequestHandler[handlerPoolSize];
     this.handlerPoolIndex = new AtomicLong(0);
+    this.handlerPoolSelection = PoolStrategy.RoundRobin;
+    this.executionMode = ExecutionMode.Pooled;
+    this.executionLimit = defaultExecutionLimit();
   }
 
 }
@@ -31,6 +31,16 @@ public interface ResourceBuilder {
     return new DynamicResource(name, dynamicResourceHandler, handlerPoolSize, Arrays.asList(requestHandlers));
   }
 
+  static Resource<?> resource(final String name, final ExecutionMode executionMode, RequestHandler... requestHandlers) {
+    return resource(name, null, 10, executionMode, Resource.defaultExecutionLimit(), requestHandlers);
+  }
+
+  static Resource<?> resource(final String name, final DynamicResourceHandler dynamicResourceHandler, final int handlerPoolSize, final ExecutionMode executionMode, final int executionLimit, RequestHandler... requestHandlers) {
+    final Resource<?> resource = resource(name, dynamicResourceHandler, handlerPoolSize, requestHandlers);
+    resource.executionMode(executionMode, executionLimit);
+    return resource;
+  }
+
   static RequestHandler0 get(final String uri) {
     return new RequestHandler0(Method.GET, uri);
   }
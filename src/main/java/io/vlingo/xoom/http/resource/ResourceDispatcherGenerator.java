@@ -113,7 +113,7 @@ public class ResourceDispatcherGenerator implements AutoCloseable {
     
     builder.append("      case ").append(action.id).append(": // ").append(action.method.toString()).append(" ").append(action.uri).append(" ").append(action.originalTo).append("\n");
     builder.append("        consumer = (handler) -> handler.").append(asExpression(action.to)).append(";\n");
-    builder.append("        pooledHandler().handleFor(context, consumer);\n");
+    builder.append("        pooledHandler(context).handleFor(context, consumer);\n");
     builder.append("        break;\n");
     
     return builder.toString();
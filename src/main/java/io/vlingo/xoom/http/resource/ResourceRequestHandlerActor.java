@@ -10,6 +10,8 @@ package io.vlingo.xoom.http.resource;
 import java.util.function.Consumer;
 
 import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.Response.Status;
@@ -23,35 +25,59 @@ public class ResourceRequestHandlerActor extends Actor implements ResourceReques
   }
 
   @Override
-  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @SuppressWarnings("rawtypes")
   public void handleFor(final Context context, final Consumer consumer) {
+    handle(resourceHandler, stage(), logger(), context, consumer);
+  }
+
+  @Override
+  public void handleFor(final Context context, final MappedParameters mappedParameters, final RequestHandler handler) {
+    handleFor(context, consumerOf(context, mappedParameters, handler));
+  }
+
+  /**
+   * Have {@code consumer} handle the request of {@code context} using {@code resourceHandler},
+   * completing with {@code InternalServerError} if it throws.
+   * @param resourceHandler the ResourceHandler to handle the request
+   * @param stage the Stage of the resourceHandler
+   * @param logger the Logger to log what is thrown
+   * @param context the Context of the request
+   * @param consumer the Consumer of the resourceHandler
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static void handle(final ResourceHandler resourceHandler, final Stage stage, final Logger logger, final Context context, final Consumer consumer) {
     try {
       resourceHandler.context = context;
-      resourceHandler.stage = stage();
+      resourceHandler.stage = stage;
       consumer.accept(resourceHandler);
     } catch (Error throwable) {
-      logger().error("Error thrown by resource dispatcher", throwable);
+      logger.error("Error thrown by resource dispatcher", throwable);
       context.completes.with(Response.of(Response.Status.InternalServerError));
     } catch (RuntimeException exception) {
-      logger().error("Runtime thrown by resource dispatcher", exception);
+      logger.error("Runtime thrown by resource dispatcher", exception);
       context.completes.with(Response.of(Response.Status.InternalServerError));
     }
   }
 
-  @Override
-  public void handleFor(final Context context, final MappedParameters mappedParameters, final RequestHandler handler) {
-    final Consumer<ResourceHandler> consumer = (resource) ->
+  /**
+   * Answer the {@code Consumer<ResourceHandler>} that executes {@code handler} for
+   * the request of {@code context} and completes with its outcome.
+   * @param context the Context of the request
+   * @param mappedParameters the MappedParameters of the request
+   * @param handler the RequestHandler to execute
+   * @return {@code Consumer<ResourceHandler>}
+   */
+  static Consumer<ResourceHandler> consumerOf(final Context context, final MappedParameters mappedParameters, final RequestHandler handler) {
+    return (resource) ->
       handler
         .execute(context.request, mappedParameters, resource.logger())
         .andThen(outcome -> respondWith(context, outcome))
         .otherwise((Response failure) -> respondWith(context, failure))
         .recoverFrom(exception -> Response.of(Status.BadRequest, exception.getMessage()))
         .andFinally();
-
-    handleFor(context, consumer);
   }
 
-  private Response respondWith(final Context context, final Response response) {
+  private static Response respondWith(final Context context, final Response response) {
     context.completes.with(response);
     return response;
   }
@@ -15,7 +15,7 @@ import io.vlingo.xoom.common.SerializableConsumer;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.resource.Action.MappedParameters;
 
-public class ResourceRequestHandler__Proxy implements ResourceRequestHandler {
+public class ResourceRequestHandler__Proxy implements ResourceRequestHandler, PendingMessages {
 
   private static final String handleForRepresentation1 = "handleFor(io.vlingo.xoom.http.Context, java.util.function.Consumer)";
   private static final String handleForRepresentation2 = "handleFor(io.vlingo.xoom.http.Context, io.vlingo.xoom.http.Action.MappedParameters, io.vlingo.xoom.http.RequestHandler)";
@@ -28,6 +28,11 @@ public class ResourceRequestHandler__Proxy implements ResourceRequestHandler {
     this.mailbox = mailbox;
   }
 
+  @Override
+  public int pendingMessages() {
+    return mailbox.pendingMessages();
+  }
+
   @Override
   @SuppressWarnings("rawtypes")
   public void handleFor(io.vlingo.xoom.http.Context arg0, java.util.function.Consumer arg1) {
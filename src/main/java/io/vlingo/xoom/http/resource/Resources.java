@@ -7,22 +7,28 @@
 
 package io.vlingo.xoom.http.resource;
 
+import java.net.URI;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.resource.Action.MappedParameters;
 import io.vlingo.xoom.http.resource.Action.MatchResults;
+import io.vlingo.xoom.http.resource.ActionRouter.Routed;
 
 /**
  * Holds a number of named {@code Resource} instances and provides the means to match
- * the incoming {@code Request} (via URI) to an available {@code Resource}.
+ * the incoming {@code Request} (via URI) to an available {@code Resource}, by way of
+ * an {@code ActionRouter} over all of their actions.
  */
 public class Resources {
   final Map<String, Resource<?>> namedResources;
+  private final ActionRouter router;
+  private final boolean directExecution;
 
   /**
    * Answer a new {@code Resources} that holes the given individual {@code Resource} instances.
@@ -30,11 +36,11 @@ public class Resources {
    * @return Resources
    */
   public static Resources are(final Resource<?>... resources) {
-    final Resources all = new Resources();
+    final Map<String, Resource<?>> namedResources = new HashMap<>();
     for (final Resource<?> resource : resources) {
-      all.namedResources.put(resource.name, resource);
+      namedResources.put(resource.name, resource);
     }
-    return all;
+    return new Resources(namedResources);
   }
 
 //  public Resources ready() {
@@ -60,6 +66,8 @@ public class Resources {
    */
   Resources(final Map<String, Resource<?>> namedResources) {
     this.namedResources = Collections.unmodifiableMap(namedResources);
+    this.router = ActionRouter.of(this.namedResources.values());
+    this.directExecution = anyDirectExecution();
   }
 
   /**
@@ -69,13 +77,8 @@ public class Resources {
   Resources(final Resource<?> resource) {
     this.namedResources = new HashMap<>();
     this.namedResources.put(resource.name, resource);
-  }
-
-  /**
-   * Construct my state with no resource instance.
-   */
-  private Resources() {
-    this.namedResources = new HashMap<>();
+    this.router = ActionRouter.of(this.namedResources.values());
+    this.directExecution = anyDirectExecution();
   }
 
   /**
@@ -87,6 +90,18 @@ public class Resources {
     return namedResources.get(name);
   }
 
+  /**
+   * Answer whether or not the request with {@code method} and {@code uri} is matched
+   * by an action that receives its body as a {@code RequestBodyStream}.
+   * @param method the Method of the request
+   * @param uri the URI of the request
+   * @return boolean
+   */
+  boolean streamsBody(final Method method, final URI uri) {
+    final Routed routed = router.route(method, uri);
+    return routed != null && routed.resource.streamsBody(routed.matchResults.action);
+  }
+
   /**
    * Dispatch the {@code Request} held by the {@code Context} and matching
    * one of my managed resource instances, or log a warning if no match.
@@ -95,24 +110,68 @@ public class Resources {
    * @param logger the Logger to log potential warnings and errors
    */
   void dispatchMatching(final Context context, Logger logger) {
-    String message;
+    final Routed routed;
 
     try {
-      for (final Resource<?> resource : namedResources.values()) {
-        final MatchResults matchResults = resource.matchWith(context.request.method, context.request.uri);
-        if (matchResults.isMatched()) {
-          final MappedParameters mappedParameters = matchResults.action.map(context.request, matchResults.parameters());
-          resource.dispatchToHandlerWith(context, mappedParameters);
-          return;
-        }
+      routed = router.route(context.request.method, context.request.uri);
+    } catch (Exception e) {
+      failDispatch(context, logger, e);
+      return;
+    }
+
+    dispatch(routed, context, logger);
+  }
+
+  /**
+   * Dispatch the {@code Request} held by the {@code Context} from the calling thread if any
+   * of my resources is of {@code ExecutionMode.Direct}, answering whether or not it did.
+   * The request is then routed only here: if it matches a {@code Direct} resource it is
+   * handled on the calling thread, and otherwise it is sent to the handlers of its resource
+   * without a {@code Dispatcher}, which would route it again. A {@code Request} that is not
+   * dispatched must be dispatched by {@code dispatchMatching()}.
+   * @param context the Context containing the Request to match
+   * @param logger the Logger to log potential warnings and errors
+   * @return boolean
+   */
+  boolean dispatchDirectly(final Context context, final Logger logger) {
+    if (!directExecution) {
+      return false;
+    }
+
+    dispatchMatching(context, logger);
+
+    return true;
+  }
+
+  private boolean anyDirectExecution() {
+    for (final Resource<?> resource : namedResources.values()) {
+      if (resource.executionMode() == ExecutionMode.Direct) {
+        return true;
       }
-      message = "No matching resource for method " + context.request.method + " and URI " + context.request.uri;
+    }
+    return false;
+  }
+
+  private void dispatch(final Routed routed, final Context context, final Logger logger) {
+    if (routed == null) {
+      final String message = "No matching resource for method " + context.request.method + " and URI " + context.request.uri;
       logger.warn(message);
+      context.completes.with(Response.of(Response.Status.NotFound, message));
+      return;
+    }
+
+    try {
+      final MatchResults matchResults = routed.matchResults;
+      final MappedParameters mappedParameters = matchResults.action.map(context.request, matchResults.parameters());
+      routed.resource.dispatchToHandlerWith(context, mappedParameters);
     } catch (Exception e) {
-      message = "Problem dispatching request for method " + context.request.method + " and URI " + context.request.uri + " because: " + e.getMessage();
-      logger.error(message, e);
+      failDispatch(context, logger, e);
     }
+  }
 
+  private void failDispatch(final Context context, final Logger logger, final Exception e) {
+    final String message = "Problem dispatching request for method " + context.request.method + " and URI " + context.request.uri + " because: " + e.getMessage();
+    logger.error(message, e);
     context.completes.with(Response.of(Response.Status.NotFound, message));
   }
 }
@@ -0,0 +1,274 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.vlingo.xoom.http.resource.Configuration.BufferSizeClass;
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * A pool of response buffers in size classes, such that a small {@code Response}
+ * is encoded into a small buffer rather than into one of the largest size. Each
+ * buffer is returned to its class when {@code ConsumerByteBuffer#release()} is
+ * sent by the channel that wrote it, and is retained if its class holds fewer
+ * than {@code BufferSizeClass#limit} idle buffers. An acquisition that finds an
+ * idle buffer is counted as a hit, and one that allocates a new buffer as a miss.
+ * <p>
+ * The buffers are heap buffers, or {@code DirectConsumerByteBuffer} instances that
+ * the channel writes without a copy into native memory and that keep a large pool
+ * out of the Java heap.
+ */
+public final class ResponseBufferPool {
+  private final boolean direct;
+  private final AtomicInteger nextId;
+  private final SizeClass[] sizeClasses;
+
+  /**
+   * Construct my state with {@code bufferSizeClasses} of heap buffers.
+   * @param bufferSizeClasses the {@code List<BufferSizeClass>} of my size classes
+   */
+  public ResponseBufferPool(final List<BufferSizeClass> bufferSizeClasses) {
+    this(bufferSizeClasses, false);
+  }
+
+  /**
+   * Construct my state with {@code bufferSizeClasses} of direct buffers if {@code direct},
+   * or otherwise of heap buffers.
+   * @param bufferSizeClasses the {@code List<BufferSizeClass>} of my size classes
+   * @param direct the boolean indicating whether my buffers are direct
+   */
+  public ResponseBufferPool(final List<BufferSizeClass> bufferSizeClasses, final boolean direct) {
+    if (bufferSizeClasses.isEmpty()) {
+      throw new IllegalArgumentException("Response buffer pool requires at least one size class.");
+    }
+    final List<BufferSizeClass> sorted = new ArrayList<>(bufferSizeClasses);
+    sorted.sort(Comparator.comparingInt(sizeClass -> sizeClass.size));
+
+    this.direct = direct;
+    this.nextId = new AtomicInteger(0);
+    this.sizeClasses = new SizeClass[sorted.size()];
+    for (int index = 0; index < sizeClasses.length; ++index) {
+      sizeClasses[index] = new SizeClass(sorted.get(index));
+    }
+  }
+
+  /**
+   * Answer a buffer of the smallest size class that holds {@code size} bytes, or of
+   * the largest size class if none does.
+   * @param size the int number of bytes needed
+   * @return ConsumerByteBuffer
+   */
+  public ConsumerByteBuffer acquire(final int size) {
+    for (final SizeClass sizeClass : sizeClasses) {
+      if (size <= sizeClass.bufferSizeClass.size) {
+        return sizeClass.acquire();
+      }
+    }
+    return sizeClasses[sizeClasses.length - 1].acquire();
+  }
+
+  /**
+   * Answer a buffer as by {@code acquire(size)}, running {@code released} once the
+   * buffer has been returned to its class by {@code ConsumerByteBuffer#release()},
+   * such that a writer may acquire its next buffer only when its previous one is
+   * no longer in use.
+   * @param size the int number of bytes needed
+   * @param released the Runnable to run once the buffer is released
+   * @return ConsumerByteBuffer
+   */
+  public ConsumerByteBuffer acquire(final int size, final Runnable released) {
+    final ConsumerByteBuffer buffer = acquire(size);
+    whenReleased(buffer, released);
+    return buffer;
+  }
+
+  /**
+   * Run {@code released} instead of any other {@code Runnable} once {@code buffer},
+   * which I answered, is released.
+   * @param buffer the ConsumerByteBuffer not yet released
+   * @param released the Runnable to run once the buffer is released
+   */
+  void whenReleased(final ConsumerByteBuffer buffer, final Runnable released) {
+    ((Pooled) buffer).whenReleased(released);
+  }
+
+  /**
+   * Answer whether my buffers are direct.
+   * @return boolean
+   */
+  public boolean isDirect() {
+    return direct;
+  }
+
+  /**
+   * Answer the size of the buffers of my largest size class.
+   * @return int
+   */
+  public int largestBufferSize() {
+    return sizeClasses[sizeClasses.length - 1].bufferSizeClass.size;
+  }
+
+  /**
+   * Answer the current {@code SizeClassStatistics} of each of my size classes, smallest first.
+   * @return {@code List<SizeClassStatistics>}
+   */
+  public List<SizeClassStatistics> statistics() {
+    final List<SizeClassStatistics> statistics = new ArrayList<>(sizeClasses.length);
+    for (final SizeClass sizeClass : sizeClasses) {
+      statistics.add(sizeClass.statistics());
+    }
+    return Collections.unmodifiableList(statistics);
+  }
+
+  /**
+   * The hits, misses, and idle buffers of one size class.
+   */
+  public static final class SizeClassStatistics {
+    public final int size;
+    public final int limit;
+    public final long hits;
+    public final long misses;
+    public final int idle;
+
+    SizeClassStatistics(final int size, final int limit, final long hits, final long misses, final int idle) {
+      this.size = size;
+      this.limit = limit;
+      this.hits = hits;
+      this.misses = misses;
+      this.idle = idle;
+    }
+
+    @Override
+    public String toString() {
+      return "SizeClassStatistics[size=" + size + " limit=" + limit + " hits=" + hits + " misses=" + misses + " idle=" + idle + "]";
+    }
+  }
+
+  private final class SizeClass {
+    final BufferSizeClass bufferSizeClass;
+    final LongAdder hits;
+    final Queue<ConsumerByteBuffer> idle;
+    final AtomicInteger idleCount;
+    final LongAdder misses;
+
+    SizeClass(final BufferSizeClass bufferSizeClass) {
+      this.bufferSizeClass = bufferSizeClass;
+      this.hits = new LongAdder();
+      this.idle = new ConcurrentLinkedQueue<>();
+      this.idleCount = new AtomicInteger(0);
+      this.misses = new LongAdder();
+    }
+
+    ConsumerByteBuffer acquire() {
+      final ConsumerByteBuffer buffer = idle.poll();
+      if (buffer != null) {
+        idleCount.decrementAndGet();
+        hits.increment();
+        ((Pooled) buffer).acquired();
+        return buffer;
+      }
+      misses.increment();
+      final int id = nextId.incrementAndGet();
+      return direct ?
+              new PooledDirectBuffer(this, id, bufferSizeClass.size) :
+              new PooledBuffer(this, id, bufferSizeClass.size);
+    }
+
+    void release(final ConsumerByteBuffer buffer) {
+      buffer.clear();
+      if (idleCount.incrementAndGet() <= bufferSizeClass.limit) {
+        idle.offer(buffer);
+      } else {
+        idleCount.decrementAndGet();
+      }
+    }
+
+    SizeClassStatistics statistics() {
+      return new SizeClassStatistics(bufferSizeClass.size, bufferSizeClass.limit, hits.sum(), misses.sum(), idleCount.get());
+    }
+  }
+
+  private interface Pooled {
+    void acquired();
+    void whenReleased(final Runnable whenReleased);
+  }
+
+  private static final class PooledBuffer extends BasicConsumerByteBuffer implements Pooled {
+    final SizeClass owner;
+    final AtomicBoolean released;
+    Runnable whenReleased;
+
+    PooledBuffer(final SizeClass owner, final int id, final int size) {
+      super(id, size);
+      this.owner = owner;
+      this.released = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void acquired() {
+      released.set(false);
+    }
+
+    @Override
+    public void whenReleased(final Runnable whenReleased) {
+      this.whenReleased = whenReleased;
+    }
+
+    @Override
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        final Runnable whenReleased = this.whenReleased;
+        this.whenReleased = null;
+        owner.release(this);
+        if (whenReleased != null) whenReleased.run();
+      }
+    }
+  }
+
+  private static final class PooledDirectBuffer extends DirectConsumerByteBuffer implements Pooled {
+    final SizeClass owner;
+    final AtomicBoolean released;
+    Runnable whenReleased;
+
+    PooledDirectBuffer(final SizeClass owner, final int id, final int size) {
+      super(id, size);
+      this.owner = owner;
+      this.released = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void acquired() {
+      released.set(false);
+    }
+
+    @Override
+    public void whenReleased(final Runnable whenReleased) {
+      this.whenReleased = whenReleased;
+    }
+
+    @Override
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        final Runnable whenReleased = this.whenReleased;
+        this.whenReleased = null;
+        owner.release(this);
+        if (whenReleased != null) whenReleased.run();
+      }
+    }
+  }
+}
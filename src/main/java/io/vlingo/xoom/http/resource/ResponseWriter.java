@@ -0,0 +1,201 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseEncoder;
+import io.vlingo.xoom.http.ResponseEncoder.Segments;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * Writes the responses of one connection in the order in which they are completed. A
+ * {@code Response} that fits into a single pooled buffer is written in one, and a larger
+ * {@code Response} is encoded into a sequence of buffers of the largest size, of which
+ * at most {@code maximumSegmentsInFlight} have been written but not yet released by the
+ * channel. The next segment is encoded when a previous one is released, on the thread
+ * releasing it, and the responses completed meanwhile wait until the last segment has
+ * been written, such that they are not interleaved with it.
+ * <p>
+ * I also count the requests of my connection that are outstanding, from when each is
+ * dispatched until the last buffer of its response is released, and tell my
+ * {@code Activity} when my connection becomes busy with requests and when it becomes
+ * idle again, such that it is not considered idle while a request is being handled
+ * or its response is being written.
+ */
+final class ResponseWriter {
+  private final Activity activity;
+  private final int maximumSegmentsInFlight;
+  private final Queue<PendingResponse> pending;
+  private final Runnable released;
+  private final Runnable requestedReleased;
+  private final Runnable requestedSegmentReleased;
+  private final RequestResponseContext<?> requestResponseContext;
+  private final ResponseBufferPool responseBufferPool;
+
+  private boolean closeAfterSegments;
+  private int outstanding;
+  private boolean requestedSegments;
+  private Segments segments;
+  private int segmentsInFlight;
+  private boolean writing;
+
+  ResponseWriter(final RequestResponseContext<?> requestResponseContext, final ResponseBufferPool responseBufferPool, final int maximumSegmentsInFlight) {
+    this(requestResponseContext, responseBufferPool, maximumSegmentsInFlight, Activity.Ignored);
+  }
+
+  ResponseWriter(final RequestResponseContext<?> requestResponseContext, final ResponseBufferPool responseBufferPool, final int maximumSegmentsInFlight, final Activity activity) {
+    if (maximumSegmentsInFlight < 1) {
+      throw new IllegalArgumentException("Maximum segments in flight must be at least 1.");
+    }
+    this.requestResponseContext = requestResponseContext;
+    this.responseBufferPool = responseBufferPool;
+    this.maximumSegmentsInFlight = maximumSegmentsInFlight;
+    this.activity = activity;
+    this.pending = new ArrayDeque<>();
+    this.released = this::released;
+    this.requestedReleased = this::responded;
+    this.requestedSegmentReleased = () -> { released(); responded(); };
+  }
+
+  /**
+   * Answer whether any request of my connection is outstanding.
+   * @return boolean
+   */
+  synchronized boolean isBusy() {
+    return outstanding > 0;
+  }
+
+  /**
+   * Count a request of my connection as outstanding until its response is written.
+   */
+  synchronized void requested() {
+    if (outstanding++ == 0) {
+      activity.busy();
+    }
+  }
+
+  /**
+   * Write {@code response} following any responses that are still being written,
+   * closing the connection after it if {@code closeAfterResponse}. The response is
+   * to a request counted by {@code requested()} if {@code requested}, and otherwise,
+   * such as for a request that failed to parse, it is not.
+   * @param response the Response to write
+   * @param closeAfterResponse the boolean indicating whether to close the connection after it
+   * @param requested the boolean indicating whether the response is to a counted request
+   */
+  synchronized void respondWith(final Response response, final boolean closeAfterResponse, final boolean requested) {
+    pending.add(new PendingResponse(response, closeAfterResponse, requested && outstanding > 0));
+    write();
+  }
+
+  /**
+   * Write {@code response} as above, to a request not counted by {@code requested()}.
+   * @param response the Response to write
+   * @param closeAfterResponse the boolean indicating whether to close the connection after it
+   */
+  void respondWith(final Response response, final boolean closeAfterResponse) {
+    respondWith(response, closeAfterResponse, false);
+  }
+
+  private synchronized void released() {
+    --segmentsInFlight;
+    write();
+  }
+
+  private synchronized void responded() {
+    if (--outstanding == 0) {
+      activity.idle();
+    }
+  }
+
+  /**
+   * Write as many segments and pending responses as my limit allows. A buffer that
+   * the channel releases before {@code respondWith()} returns reenters by way of
+   * {@code released()}, which leaves the writing to this loop.
+   */
+  private void write() {
+    if (writing) return;
+
+    writing = true;
+
+    try {
+      while (segments != null ? segmentsInFlight < maximumSegmentsInFlight : !pending.isEmpty()) {
+        if (segments == null) {
+          final PendingResponse next = pending.poll();
+          final int size = next.response.size();
+          if (size <= responseBufferPool.largestBufferSize()) {
+            final ConsumerByteBuffer buffer =
+                    next.requested ?
+                            responseBufferPool.acquire(size, requestedReleased) :
+                            responseBufferPool.acquire(size);
+            requestResponseContext.respondWith(next.response.into(buffer), next.closeAfterResponse);
+            continue;
+          }
+          segments = ResponseEncoder.segmentsOf(next.response);
+          closeAfterSegments = next.closeAfterResponse;
+          requestedSegments = next.requested;
+        }
+
+        ++segmentsInFlight;
+
+        final ConsumerByteBuffer buffer = responseBufferPool.acquire(responseBufferPool.largestBufferSize(), released);
+
+        segments.fill(buffer);
+
+        if (segments.hasRemaining()) {
+          requestResponseContext.respondWith(buffer, false);
+        } else {
+          segments = null;
+          if (requestedSegments) {
+            // the last segment of a response to a request
+            responseBufferPool.whenReleased(buffer, requestedSegmentReleased);
+          }
+          requestResponseContext.respondWith(buffer, closeAfterSegments);
+        }
+      }
+    } finally {
+      writing = false;
+    }
+  }
+
+  /**
+   * The busy and idle transitions of a connection.
+   */
+  interface Activity {
+    static final Activity Ignored = new Activity() {
+      @Override public void busy() { }
+      @Override public void idle() { }
+    };
+
+    /**
+     * Its first outstanding request has been dispatched.
+     */
+    void busy();
+
+    /**
+     * The response to its last outstanding request has been written.
+     */
+    void idle();
+  }
+
+  private static final class PendingResponse {
+    final boolean closeAfterResponse;
+    final boolean requested;
+    final Response response;
+
+    PendingResponse(final Response response, final boolean closeAfterResponse, final boolean requested) {
+      this.response = response;
+      this.closeAfterResponse = closeAfterResponse;
+      this.requested = requested;
+    }
+  }
+}
@@ -7,14 +7,18 @@
 
 package io.vlingo.xoom.http.resource;
 
+import java.util.List;
+
 import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
 import io.vlingo.xoom.http.resource.Configuration.Sizing;
 import io.vlingo.xoom.http.resource.Configuration.Timing;
+import io.vlingo.xoom.http.resource.ResponseBufferPool.SizeClassStatistics;
 import io.vlingo.xoom.wire.channel.RefreshableSelector;
 
 /**
@@ -45,6 +49,17 @@ public interface Server extends Stoppable {
 
     final Resources resources = Loader.loadResources(properties);
 
+    if (configuration.agent() != null) {
+      return startWithAgent(
+              stage,
+              resources,
+              configuration.filters(),
+              configuration.port(),
+              configuration.sizing(),
+              configuration.agent(),
+              "queueMailbox");
+    }
+
     return startWith(
             stage,
             resources,
@@ -167,11 +182,97 @@ public interface Server extends Stoppable {
           final int dispatcherPoolSize,
           final String severMailboxTypeName) {
 
+    return startWithAgent(stage, resources, filters, port, Sizing.define().withDispatcherPoolSize(dispatcherPoolSize), Agent.define(), severMailboxTypeName);
+  }
+
+  /**
+   * Answer a new {@code Server} with an {@code HttpAgent} that consolidates up to
+   * {@code flushBatchSize} response flushes of each connection into a single socket
+   * write, or that writes each response as it is flushed when {@code flushBatchSize} is 0.
+   * @param stage the Stage in which the Server lives
+   * @param resources the Resources with URI descriptions that the Server understands
+   * @param filters the Filters used to process requests before dispatching to a resource
+   * @param port the int socket port the Server will run on
+   * @param dispatcherPoolSize the int number of dispatchers
+   * @param flushBatchSize the int maximum number of flushes to consolidate, or 0 for none
+   * @param severMailboxTypeName the String name of the mailbox type of the Server
+   * @return Server
+   */
+  public static Server startWithAgent(
+          final Stage stage,
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final int dispatcherPoolSize,
+          final int flushBatchSize,
+          final String severMailboxTypeName) {
+
+    return startWithAgent(stage, resources, filters, port, Sizing.define().withDispatcherPoolSize(dispatcherPoolSize), Agent.define().withFlushBatchSize(flushBatchSize), severMailboxTypeName);
+  }
+
+  /**
+   * Answer a new {@code Server} with an {@code HttpAgent} that consolidates up to
+   * {@code flushBatchSize} response flushes of each connection into a single socket
+   * write, and that aggregates request bodies of up to {@code maxAggregatedContentLength}
+   * bytes before they are dispatched. The bodies of requests to actions that receive a
+   * {@code RequestBodyStream} are not aggregated, but streamed to the action as they arrive.
+   * @param stage the Stage in which the Server lives
+   * @param resources the Resources with URI descriptions that the Server understands
+   * @param filters the Filters used to process requests before dispatching to a resource
+   * @param port the int socket port the Server will run on
+   * @param dispatcherPoolSize the int number of dispatchers
+   * @param flushBatchSize the int maximum number of flushes to consolidate, or 0 for none
+   * @param maxAggregatedContentLength the int maximum number of bytes of an aggregated request body
+   * @param severMailboxTypeName the String name of the mailbox type of the Server
+   * @return Server
+   */
+  public static Server startWithAgent(
+          final Stage stage,
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final int dispatcherPoolSize,
+          final int flushBatchSize,
+          final int maxAggregatedContentLength,
+          final String severMailboxTypeName) {
+
+    final Agent agent =
+            Agent.define()
+              .withFlushBatchSize(flushBatchSize)
+              .withMaxAggregatedContentLength(maxAggregatedContentLength);
+
+    return startWithAgent(stage, resources, filters, port, Sizing.define().withDispatcherPoolSize(dispatcherPoolSize), agent, severMailboxTypeName);
+  }
+
+  /**
+   * Answer a new {@code Server} with an {@code HttpAgent} configured by {@code agent},
+   * being its boss and worker threads, socket options such as {@code SO_BACKLOG} and
+   * {@code TCP_NODELAY}, the number of server channels bound with {@code SO_REUSEPORT}
+   * on epoll, its flush batching and request aggregation, and whether it accepts HTTP/2
+   * connections, each of whose streams is dispatched as a request of its own.
+   * @param stage the Stage in which the Server lives
+   * @param resources the Resources with URI descriptions that the Server understands
+   * @param filters the Filters used to process requests before dispatching to a resource
+   * @param port the int socket port the Server will run on
+   * @param sizing the Sizing of which the dispatcherPoolSize and poolStrategy are used
+   * @param agent the Agent configuration of the HttpAgent
+   * @param severMailboxTypeName the String name of the mailbox type of the Server
+   * @return Server
+   */
+  public static Server startWithAgent(
+          final Stage stage,
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final Sizing sizing,
+          final Agent agent,
+          final String severMailboxTypeName) {
+
     final Server server = stage.actorFor(
             Server.class,
             Definition.has(
                     ServerActor.class,
-                    new ServerWithAgentInstantiator(resources, filters, port, dispatcherPoolSize),
+                    new ServerWithAgentInstantiator(resources, filters, port, sizing, agent),
                     severMailboxTypeName,
                     ServerActor.ServerName),
             stage.world().addressFactory().withHighId(),
@@ -182,6 +283,12 @@ public interface Server extends Stoppable {
     return server;
   }
 
+  /**
+   * Answer the current hits, misses, and idle buffers of each size class of my
+   * response buffer pool, which is empty when I have no such pool.
+   * @return {@code Completes<List<SizeClassStatistics>>}
+   */
+  Completes<List<SizeClassStatistics>> responseBufferPoolStatistics();
   Completes<Boolean> shutDown();
   Completes<Boolean> startUp();
 
@@ -228,22 +335,33 @@ public interface Server extends Stoppable {
   static class ServerWithAgentInstantiator implements ActorInstantiator<ServerActor> {
     private static final long serialVersionUID = 9035408940262040413L;
 
+    private final Agent agent;
     private final Resources resources;
     private final Filters filters;
     private final int port;
-    private final int dispatcherPoolSize;
+    private final Sizing sizing;
 
     public ServerWithAgentInstantiator(final Resources resources, final Filters filters, final int port, final int dispatcherPoolSize) {
+      this(resources, filters, port, Sizing.define().withDispatcherPoolSize(dispatcherPoolSize), Agent.define());
+    }
+
+    public ServerWithAgentInstantiator(
+            final Resources resources,
+            final Filters filters,
+            final int port,
+            final Sizing sizing,
+            final Agent agent) {
       this.resources = resources;
       this.filters = filters;
       this.port = port;
-      this.dispatcherPoolSize = dispatcherPoolSize;
+      this.sizing = sizing;
+      this.agent = agent;
     }
 
     @Override
     public ServerActor instantiate() {
       try {
-        return new ServerActor(resources, filters, port, dispatcherPoolSize);
+        return new ServerActor(resources, filters, port, sizing, agent);
       } catch (Exception e) {
         throw new IllegalArgumentException("Failed to instantiate " + type() + " because: " + e.getMessage(), e);
       }
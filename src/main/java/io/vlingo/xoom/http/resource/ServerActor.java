@@ -9,32 +9,34 @@ package io.vlingo.xoom.http.resource;
 
 import static io.vlingo.xoom.http.RequestHeader.XForwardedFor;
 
+import java.net.URI;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.Address;
+import io.vlingo.xoom.actors.CompletesEventually;
 import io.vlingo.xoom.actors.Logger;
-import io.vlingo.xoom.actors.Returns;
 import io.vlingo.xoom.actors.Stage;
-import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.common.Scheduled;
-import io.vlingo.xoom.common.completes.FutureCompletes;
-import io.vlingo.xoom.common.pool.ElasticResourcePool;
 import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Filters;
 import io.vlingo.xoom.http.Header;
+import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
 import io.vlingo.xoom.http.RequestHeader;
 import io.vlingo.xoom.http.RequestParser;
 import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
 import io.vlingo.xoom.http.resource.Configuration.Sizing;
 import io.vlingo.xoom.http.resource.Configuration.Timing;
 import io.vlingo.xoom.http.resource.DispatcherPool.AbstractDispatcherPool;
+import io.vlingo.xoom.http.resource.ResponseBufferPool.SizeClassStatistics;
 import io.vlingo.xoom.http.resource.agent.AgentDispatcherPool;
 import io.vlingo.xoom.http.resource.agent.HttpAgent;
 import io.vlingo.xoom.http.resource.agent.HttpRequestChannelConsumer;
@@ -42,23 +44,31 @@ import io.vlingo.xoom.http.resource.agent.HttpRequestChannelConsumerProvider;
 import io.vlingo.xoom.wire.channel.RequestChannelConsumer;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 import io.vlingo.xoom.wire.fdx.bidirectional.ServerRequestResponseChannel;
-import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
-import io.vlingo.xoom.wire.message.ConsumerByteBufferPool;
 
 public class ServerActor extends Actor implements Server, HttpRequestChannelConsumerProvider, Scheduled<Object> {
   static final String ChannelName = "server-request-response-channel";
   static final String ServerName = "xoom-http-server";
 
+  // the buffers of a large response written but not yet released by the channel
+  private static final int MaximumSegmentsInFlight = 4;
+
   private final HttpAgent agent;
   private final ServerRequestResponseChannel channel;
   private final DispatcherPool dispatcherPool;
+  private final PoolStrategy poolStrategy;
   private final Filters filters;
+  private final long connectionIdleTimeout;
+  private final TimingWheel<String,RequestResponseContext<?>> idleConnections;
   private final int maxMessageSize;
-  private final Map<String,RequestResponseHttpContext> requestsMissingContent;
+  private final long requestHeaderTimeout;
+  private final TimingWheel<String,RequestResponseContext<?>> requestsMissingHeaders;
+  private final TimingWheel<String,RequestResponseHttpContext> requestsMissingContent;
   private final long requestMissingContentTimeout;
-  private final ConsumerByteBufferPool responseBufferPool;
-  private final World world;
+  private final Resources resources;
+  private final ResponseBufferPool responseBufferPool;
+  private final Map<String,ResponseWriter> responseWriters;
+  private final long timeoutTick;
 
 
   public ServerActor(
@@ -67,18 +77,42 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
           final int port,
           final int dispatcherPoolSize)
   throws Exception {
-    final long start = Instant.now().toEpochMilli();
+    this(resources, filters, port, Sizing.define().withDispatcherPoolSize(dispatcherPoolSize), Agent.define());
+  }
 
-    this.agent = HttpAgent.initialize(this, port, false, dispatcherPoolSize, logger());
+  public ServerActor(
+          final Resources resources,
+          final Filters filters,
+          final int port,
+          final Sizing sizing,
+          final Agent agentConfiguration)
+  throws Exception {
+    final long start = Instant.now().toEpochMilli();
 
     this.channel = null;                            // unused
     this.filters = filters;
-    this.world = stage().world();
-    this.dispatcherPool = new AgentDispatcherPool(stage(), resources, dispatcherPoolSize);
-    this.requestsMissingContent = new HashMap<>();  // unused
+    this.resources = resources;
+
+    for (final Resource<?> resource : resources.namedResources.values()) {
+      resource.defaultHandlerPoolStrategy(sizing.poolStrategy);
+    }
+
+    this.poolStrategy = sizing.poolStrategy;
+    this.dispatcherPool = sizing.poolStrategy == PoolStrategy.RoundRobin ?
+            new AgentDispatcherPool(stage(), resources, sizing.dispatcherPoolSize) :
+            dispatcherPoolOf(sizing);
     this.maxMessageSize = 0;                        // unused
     this.responseBufferPool = null;                 // unused
+    this.responseWriters = null;                    // unused
     this.requestMissingContentTimeout = -1;         // unused
+    this.requestHeaderTimeout = 0;                  // unused
+    this.connectionIdleTimeout = 0;                 // unused
+    this.timeoutTick = 0;                           // unused
+    this.requestsMissingContent = null;             // unused
+    this.requestsMissingHeaders = null;             // unused
+    this.idleConnections = null;                    // unused
+
+    this.agent = HttpAgent.initialize(this, port, false, agentConfiguration, logger());
 
     final long end = Instant.now().toEpochMilli();
 
@@ -99,15 +133,26 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
     this.agent = null;                              // unused
     this.filters = filters;
-    this.world = stage().world();
-    this.requestsMissingContent = new HashMap<>();
+    this.resources = resources;
     this.maxMessageSize = sizing.maxMessageSize;
+    this.requestMissingContentTimeout = timing.requestMissingContentTimeout;
+    this.requestHeaderTimeout = timing.requestHeaderTimeout;
+    this.connectionIdleTimeout = timing.connectionIdleTimeout;
+    this.timeoutTick = timing.timeoutTick();
+    this.requestsMissingContent = timingWheel();
+    this.requestsMissingHeaders = timingWheel();
+    this.idleConnections = timingWheel();
+    this.responseWriters = new ConcurrentHashMap<>();
 
     try {
-      responseBufferPool = new ConsumerByteBufferPool(
-        ElasticResourcePool.Config.of(sizing.maxBufferPoolSize), sizing.maxMessageSize);
+      responseBufferPool = new ResponseBufferPool(sizing.responseBufferSizeClasses(), sizing.directBuffers);
+
+      for (final Resource<?> resource : resources.namedResources.values()) {
+        resource.defaultHandlerPoolStrategy(sizing.poolStrategy);
+      }
 
-      this.dispatcherPool = new ServerDispatcherPool(stage(), resources, sizing.dispatcherPoolSize);
+      this.poolStrategy = sizing.poolStrategy;
+      this.dispatcherPool = dispatcherPoolOf(sizing);
 
       this.channel =
               ServerRequestResponseChannel.start(
@@ -127,8 +172,6 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
       logger().info("Server " + ServerName + " is listening on port: " + port + " started in " + (end - start) + " ms");
 
-      this.requestMissingContentTimeout = timing.requestMissingContentTimeout;
-
       logResourceMappings(resources);
 
     } catch (Exception e) {
@@ -142,6 +185,11 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
   // Server
   //=========================================
 
+  @Override
+  public Completes<List<SizeClassStatistics>> responseBufferPoolStatistics() {
+    return completes().with(responseBufferPool == null ? Collections.emptyList() : responseBufferPool.statistics());
+  }
+
   @Override
   public Completes<Boolean> shutDown() {
     stop();
@@ -152,8 +200,8 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
   @Override
   @SuppressWarnings("unchecked")
   public Completes<Boolean> startUp() {
-    if (requestMissingContentTimeout > 0) {
-      stage().scheduler().schedule(selfAs(Scheduled.class), null, 1000L, requestMissingContentTimeout);
+    if (timeoutTick > 0) {
+      stage().scheduler().schedule(selfAs(Scheduled.class), null, timeoutTick, timeoutTick);
     }
 
     return completes().with(true);
@@ -171,7 +219,13 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
   @Override
   public HttpRequestChannelConsumer httpRequestChannelConsumer() {
-    return new ServerRequestChannelConsumer(dispatcherPool.dispatcher());
+    // other than round-robin, a Dispatcher is selected for each request
+    return new ServerRequestChannelConsumer(poolStrategy == PoolStrategy.RoundRobin ? dispatcherPool.dispatcher() : null);
+  }
+
+  @Override
+  public boolean streamsBody(final Method method, final URI uri) {
+    return resources.streamsBody(method, uri);
   }
 
 
@@ -181,7 +235,7 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
-    failTimedOutMissingContentRequests();
+    failTimedOutRequests();
   }
 
 
@@ -196,7 +250,7 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     if (agent != null) {
       agent.close();
     } else {
-      failTimedOutMissingContentRequests();
+      failTimedOutRequests();
 
       channel.stop();
       channel.close();
@@ -216,33 +270,106 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
   // internal implementation
   //=========================================
 
-  private void failTimedOutMissingContentRequests() {
+  /**
+   * Expire the requests missing content or headers, and the idle connections, whose
+   * timeouts are due, visiting only the slots of my timing wheels that have come due
+   * since the previous tick rather than every open request and connection.
+   */
+  private void failTimedOutRequests() {
     if (isStopped()) return;
-    if (requestsMissingContent.isEmpty()) return;
 
-    final List<String> toRemove = new ArrayList<>(); // prevent ConcurrentModificationException
+    final long now = System.currentTimeMillis();
 
-    for (final String id : requestsMissingContent.keySet()) {
-      final RequestResponseHttpContext requestResponseHttpContext = requestsMissingContent.get(id);
+    requestsMissingContent.advance(now, this::failMissingContent);
+    requestsMissingHeaders.advance(now, this::failMissingHeaders);
+    idleConnections.advance(now, this::closeIdleConnection);
+  }
 
-      if (requestResponseHttpContext.requestResponseContext.hasConsumerData()) {
-        final RequestParser parser = requestResponseHttpContext.requestResponseContext.consumerData();
-        if (parser.hasMissingContentTimeExpired(requestMissingContentTimeout)) {
-          requestResponseHttpContext.requestResponseContext.consumerData(null);
-          toRemove.add(id);
-          requestResponseHttpContext.httpContext.completes.with(Response.of(Response.Status.BadRequest, "Missing content with timeout."));
-          requestResponseHttpContext.requestResponseContext.consumerData(null);
+  private void failMissingContent(final String id, final RequestResponseHttpContext requestResponseHttpContext) {
+    if (requestResponseHttpContext.requestResponseContext.hasConsumerData()) {
+      final RequestParser parser = requestResponseHttpContext.requestResponseContext.consumerData();
+      if (parser.isMissingContent()) {
+        if (abandonStreamedBody(requestResponseHttpContext.requestResponseContext, parser, new IllegalStateException(Response.Status.RequestTimeout + "\n\nMissing content with timeout."))) {
+          return;
         }
-      } else {
-        toRemove.add(id); // already closed?
+        requestResponseHttpContext.requestResponseContext.consumerData(null);
+        requestsMissingHeaders.cancel(id);
+        requestResponseHttpContext.httpContext.completes.with(Response.of(Response.Status.BadRequest, "Missing content with timeout."));
+      }
+    }
+  }
+
+  private void failMissingHeaders(final String id, final RequestResponseContext<?> requestResponseContext) {
+    if (requestResponseContext.hasConsumerData()) {
+      final RequestParser parser = requestResponseContext.consumerData();
+      if (parser.isMissingHeaders()) {
+        requestResponseContext.consumerData(null);
+        requestsMissingContent.cancel(id);
+        responseCompletes.of(requestResponseContext, null, false, null, true).with(Response.of(Response.Status.RequestTimeout, "Request headers timed out."));
       }
     }
+  }
+
+  /**
+   * Fail the body that {@code parser} is streaming, if any, and close the connection of
+   * {@code requestResponseContext}, answering whether there was such a body. Its request
+   * has already been dispatched, so the handler that consumes the failed stream produces
+   * the only response, and the rest of the body can no longer be framed.
+   */
+  private boolean abandonStreamedBody(final RequestResponseContext<?> requestResponseContext, final RequestParser parser, final Throwable cause) {
+    if (!parser.failStreamedBody(cause)) {
+      return false;
+    }
+    final String id = requestResponseContext.id();
+    requestResponseContext.consumerData(null);
+    requestsMissingContent.cancel(id);
+    requestsMissingHeaders.cancel(id);
+    idleConnections.cancel(id);
+    responseWriters.remove(id);
+    requestResponseContext.abandon();
+    return true;
+  }
+
+  private void closeIdleConnection(final String id, final RequestResponseContext<?> requestResponseContext) {
+    final ResponseWriter responseWriter = responseWriters.get(id);
+    if (responseWriter != null && responseWriter.isBusy()) {
+      return; // a request was dispatched as the timeout expired
+    }
+    requestsMissingContent.cancel(id);
+    requestsMissingHeaders.cancel(id);
+    responseWriters.remove(id);
+    requestResponseContext.abandon();
+  }
 
-    for (final String id : toRemove) {
-      requestsMissingContent.remove(id);
+  private void touch(final RequestResponseContext<?> requestResponseContext) {
+    if (connectionIdleTimeout > 0) {
+      idleConnections.schedule(requestResponseContext.id(), requestResponseContext, connectionIdleTimeout);
     }
   }
 
+  /**
+   * Answer the {@code ResponseWriter} of the connection of {@code requestResponseContext},
+   * whose idle timeout is cancelled while it has outstanding requests, and scheduled
+   * again once the response to the last of them has been written.
+   */
+  private ResponseWriter responseWriterOf(final RequestResponseContext<?> requestResponseContext) {
+    return responseWriters.computeIfAbsent(requestResponseContext.id(), id ->
+            new ResponseWriter(requestResponseContext, responseBufferPool, MaximumSegmentsInFlight, new ResponseWriter.Activity() {
+              @Override public void busy() { idleConnections.cancel(id); }
+              @Override public void idle() { touch(requestResponseContext); }
+            }));
+  }
+
+  private DispatcherPool dispatcherPoolOf(final Sizing sizing) {
+    return sizing.poolStrategy.isLoadBased() ?
+            new LeastLoadedDispatcherPool(stage(), resources, sizing.dispatcherPoolSize, sizing.poolStrategy) :
+            new ServerDispatcherPool(stage(), resources, sizing.dispatcherPoolSize, sizing.poolStrategy);
+  }
+
+  private <V> TimingWheel<String,V> timingWheel() {
+    return new TimingWheel<>(timeoutTick > 0 ? timeoutTick : 100, 512, System.currentTimeMillis());
+  }
+
   private void logResourceMappings(final Resources resources) {
     final Logger logger = logger();
     for (final String resourceName : resources.namedResources.keySet()) {
@@ -254,12 +381,14 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
   private static class ServerDispatcherPool extends AbstractDispatcherPool {
     private AtomicLong dispatcherPoolIndex;
     private int dispatcherPoolSize;
+    private PoolStrategy dispatcherPoolStrategy;
 
-    ServerDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize) {
+    ServerDispatcherPool(final Stage stage, final Resources resources, final int dispatcherPoolSize, final PoolStrategy dispatcherPoolStrategy) {
       super(stage, resources, dispatcherPoolSize);
 
       this.dispatcherPoolIndex = new AtomicLong(0);
       this.dispatcherPoolSize = dispatcherPool.length;
+      this.dispatcherPoolStrategy = dispatcherPoolStrategy.supportedBy(dispatcherPool);
     }
 
     @Override
@@ -268,6 +397,11 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
       return dispatcherPool[index];
     }
+
+    @Override
+    public Dispatcher dispatcherFor(final RequestResponseContext<?> requestResponseContext) {
+      return dispatcherPoolStrategy.select(requestResponseContext, dispatcherPoolIndex, dispatcherPool);
+    }
   }
 
   //=========================================
@@ -287,15 +421,24 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
       this.dispatcher = dispatcher;
     }
 
+    private void dispatch(final RequestResponseContext<?> requestResponseContext, final Context context) {
+      if (!resources.dispatchDirectly(context, logger())) {
+        final Dispatcher selected = dispatcher != null ? dispatcher : dispatcherPool.dispatcherFor(requestResponseContext);
+        selected.dispatchFor(context);
+      }
+    }
+
     @Override
     public void closeWith(final RequestResponseContext<?> requestResponseContext, final Object data) {
 //    logger().debug("===================== CLOSE WITH: " + data);
+      idleConnections.cancel(requestResponseContext.id());
       if (data != null) {
         final Request request = filters.process((Request) data);
-        final Completes<Response> completes = responseCompletes.of(requestResponseContext, request, false, request.headers.headerOf(RequestHeader.XCorrelationID), true);
-        final Context context = new Context(requestResponseContext, request, world.completesFor(Returns.value(completes)));
-        dispatcher.dispatchFor(context);
+        final CompletesEventually completes = responseCompletes.of(requestResponseContext, request, false, request.headers.headerOf(RequestHeader.XCorrelationID), true);
+        final Context context = new Context(requestResponseContext, request, completes);
+        dispatch(requestResponseContext, context);
       }
+      responseWriters.remove(requestResponseContext.id());
     }
 
     @Override
@@ -303,11 +446,15 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
       boolean wasIncompleteContent = false;
       boolean missingContent = false;
 
+      if (!responseWriterOf(requestResponseContext).isBusy()) {
+        touch(requestResponseContext);
+      }
+
       try {
         final RequestParser parser;
 
         if (!requestResponseContext.hasConsumerData()) {
-          parser = RequestParser.parserFor(buffer.asByteBuffer());
+          parser = RequestParser.bytesParserFor(buffer.asByteBuffer(), maxMessageSize, resources::streamsBody);
           requestResponseContext.consumerData(parser);
         } else {
           parser = requestResponseContext.consumerData();
@@ -329,14 +476,21 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
           context = consume(requestResponseContext, enrichedRequest, wasIncompleteContent);
         }
 
-        if (parser.isMissingContent() && !requestsMissingContent.containsKey(requestResponseContext.id())) {
+        if (parser.isMissingContent() && !requestsMissingContent.reschedule(requestResponseContext.id(), requestMissingContentTimeout)) {
 //        logger().debug("==============(" + instanceId + ") MISSING REQUEST CONTENT FOR (" + (++missingCount) + "): \n" + parser.currentRequestText());
           missingContent = true;
           if (context == null) {
-            final Completes<Response> completes = responseCompletes.of(requestResponseContext.typed(), null, true, null, true);
-            context = new Context(world.completesFor(Returns.value(completes)));
+            context = new Context(responseCompletes.of(requestResponseContext.typed(), null, true, null, true));
+          }
+          requestsMissingContent.schedule(requestResponseContext.id(), new RequestResponseHttpContext(requestResponseContext, context), requestMissingContentTimeout);
+        }
+
+        if (requestHeaderTimeout > 0) {
+          if (parser.isMissingHeaders()) {
+            requestsMissingHeaders.scheduleIfAbsent(requestResponseContext.id(), requestResponseContext, requestHeaderTimeout);
+          } else {
+            requestsMissingHeaders.cancel(requestResponseContext.id());
           }
-          requestsMissingContent.put(requestResponseContext.id(), new RequestResponseHttpContext(requestResponseContext, context));
         }
 
       } catch (Exception e) {
@@ -344,6 +498,9 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 //      final String requestContentText = Converters.bytesToText(buffer.array(), 0, buffer.limit());
 //      logger().debug("=====================(" + instanceId + ") BAD REQUEST (2): " + requestContentText);
         logger().error("Request parsing failed.", e);
+        if (requestResponseContext.hasConsumerData() && abandonStreamedBody(requestResponseContext, requestResponseContext.consumerData(), e)) {
+          return;
+        }
         responseCompletes.of(requestResponseContext, null, missingContent, null, false).with(Response.of(Response.Status.BadRequest, e.getMessage()));
       } finally {
         buffer.release();
@@ -374,12 +531,15 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
       final boolean keepAlive = determineKeepAlive(requestResponseContext, request);
       final Request filteredRequest = filters.process(request);
-      final Completes<Response> completes = responseCompletes.of(requestResponseContext, filteredRequest, false, filteredRequest.headers.headerOf(RequestHeader.XCorrelationID), keepAlive);
-      final Context context = new Context(requestResponseContext, filteredRequest, world.completesFor(Returns.value(completes)));
-      dispatcher.dispatchFor(context);
+      final CompletesEventually completes = responseCompletes.of(requestResponseContext, filteredRequest, false, filteredRequest.headers.headerOf(RequestHeader.XCorrelationID), keepAlive);
+      final Context context = new Context(requestResponseContext, filteredRequest, completes);
+      if (agent == null) {
+        responseWriterOf(requestResponseContext).requested();
+      }
+      dispatch(requestResponseContext, context);
 
       if (wasIncompleteContent) {
-        requestsMissingContent.remove(requestResponseContext.id());
+        requestsMissingContent.cancel(requestResponseContext.id());
       }
 
       return context;
@@ -421,21 +581,27 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
   ResponseCompletes responseCompletes = new ResponseCompletes();
   private class ResponseCompletes {
-    public Completes<Response> of(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
-      return new BasicCompletedBasedResponseCompletes(requestResponseContext, request, missingContent, correlationId, keepAlive);
+    public CompletesEventually of(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
+      return new RequestResponseContextCompletes(requestResponseContext, agent == null ? responseWriterOf(requestResponseContext) : null, request, missingContent, correlationId, keepAlive);
     }
   }
 
-  private class BasicCompletedBasedResponseCompletes extends FutureCompletes<Response> {
+  /**
+   * A {@code CompletesEventually} that filters the {@code Response} and writes it
+   * to the {@code RequestResponseContext<?>} on the thread completing the request,
+   * rather than by way of a {@code CompletesEventually} actor and a {@code Completes<Response>}.
+   */
+  private class RequestResponseContextCompletes implements CompletesEventually {
     final Header correlationId;
     final boolean keepAlive;
     final boolean missingContent;
     final Request request;
     final RequestResponseContext<?> requestResponseContext;
+    final ResponseWriter responseWriter;
 
-    BasicCompletedBasedResponseCompletes(final RequestResponseContext<?> requestResponseContext, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
-      super(stage().scheduler());
+    RequestResponseContextCompletes(final RequestResponseContext<?> requestResponseContext, final ResponseWriter responseWriter, final Request request, final boolean missingContent, final Header correlationId, final boolean keepAlive) {
       this.requestResponseContext = requestResponseContext;
+      this.responseWriter = responseWriter;
       this.request = request;
       this.missingContent = missingContent;
       this.correlationId = correlationId;
@@ -443,8 +609,20 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public <O> Completes<O> with(final O response) {
+    public Address address() {
+      return null;
+    }
+
+    @Override
+    public boolean isStopped() {
+      return false;
+    }
+
+    @Override
+    public void stop() { }
+
+    @Override
+    public void with(final Object response) {
       Response debugResponse = null;
       try {
         final Response unfilteredResponse = (Response) response;
@@ -453,8 +631,7 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
         debugResponse = completedResponse;
         final boolean closeAfterResponse = closeAfterResponse(unfilteredResponse);
         if (agent == null) {
-          final ConsumerByteBuffer buffer = bufferFor(completedResponse);
-          requestResponseContext.respondWith(completedResponse.into(buffer), closeAfterResponse);
+          responseWriter.respondWith(completedResponse, closeAfterResponse, request != null);
         } else {
   //      System.out.println("============> SERVER RESPONSE: \n" + completedResponse);
           requestResponseContext.respondWith(completedResponse, closeAfterResponse);
@@ -467,16 +644,6 @@ public class ServerActor extends Actor implements Server, HttpRequestChannelCons
 
         logger().error(message, e);
       }
-      return (Completes<O>) this;
-    }
-
-    private ConsumerByteBuffer bufferFor(final Response response) {
-      final int size = response.size();
-      if (size < maxMessageSize) {
-        return responseBufferPool.acquire("ServerActor#BasicCompletedBasedResponseCompletes#bufferFor");
-      }
-
-      return BasicConsumerByteBuffer.allocate(0, size + 1024);
     }
 
     private boolean closeAfterResponse(final Response response) {
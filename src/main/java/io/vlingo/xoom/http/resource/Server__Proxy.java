@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.http.resource;
 
+import java.util.List;
+
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.DeadLetter;
 import io.vlingo.xoom.actors.LocalMessage;
@@ -15,6 +17,7 @@ import io.vlingo.xoom.actors.Returns;
 import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.common.SerializableConsumer;
+import io.vlingo.xoom.http.resource.ResponseBufferPool.SizeClassStatistics;
 
 public class Server__Proxy implements Server {
 
@@ -22,6 +25,7 @@ public class Server__Proxy implements Server {
   private static final String shutDownRepresentation1 = "shutDown()";
   private static final String startUpRepresentation2 = "startUp()";
   private static final String stopRepresentation3 = "stop()";
+  private static final String responseBufferPoolStatisticsRepresentation4 = "responseBufferPoolStatistics()";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -36,6 +40,20 @@ public class Server__Proxy implements Server {
     return actor.isStopped();
   }
 
+  @Override
+  public Completes<List<SizeClassStatistics>> responseBufferPoolStatistics() {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<Server> consumer = (actor) -> actor.responseBufferPoolStatistics();
+      final Completes<List<SizeClassStatistics>> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, Server.class, consumer, Returns.value(completes), responseBufferPoolStatisticsRepresentation4); }
+      else { mailbox.send(new LocalMessage<Server>(actor, Server.class, consumer, Returns.value(completes), responseBufferPoolStatisticsRepresentation4)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, responseBufferPoolStatisticsRepresentation4));
+    }
+    return null;
+  }
+
   @Override
   public Completes<Boolean> shutDown() {
     if (!actor.isStopped()) {
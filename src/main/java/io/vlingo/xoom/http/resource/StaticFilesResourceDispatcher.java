@@ -33,7 +33,7 @@ public class StaticFilesResourceDispatcher extends ConfigurationResource<StaticF
         consumer = mappedParameters.mapped.size() == 3 ?
                 (handler) -> handler.serveFile((String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value, (String) mappedParameters.mapped.get(2).value) :
                 (handler) -> handler.serveFile("", (String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value);
-        pooledHandler().handleFor(context, consumer);
+        pooledHandler(context).handleFor(context, consumer);
         break;
       }
     } catch (Exception e) {
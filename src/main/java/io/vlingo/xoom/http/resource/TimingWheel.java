@@ -0,0 +1,230 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A hashed timing wheel of timeouts, each identified by a key such as the id of a
+ * connection, with O(1) scheduling, rescheduling, and cancellation. Time advances
+ * in ticks of {@code tickMillis} by {@code advance(now, expired)}, which visits only
+ * the slots of the elapsed ticks rather than every timeout, and so a timeout expires
+ * up to one tick after its delay. A timeout whose delay spans more than one turn of
+ * the wheel stays in its slot until the turn on which it is due.
+ * <p>
+ * I am thread-safe, and my {@code expired} consumer is sent outside of my lock so
+ * that it may schedule or cancel timeouts.
+ *
+ * @param <K> the type of the keys of my timeouts
+ * @param <V> the type of the values of my timeouts
+ */
+public final class TimingWheel<K,V> {
+  private long currentTick;
+  private final int mask;
+  private final Timeout<K,V>[] slots;
+  private final long startTime;
+  private final long tickMillis;
+  private final Map<K,Timeout<K,V>> timeouts;
+
+  /**
+   * Construct my state with {@code tickMillis} and a number of slots that is
+   * {@code wheelSize} rounded up to a power of two, starting at {@code now}.
+   * @param tickMillis the long milliseconds of each tick
+   * @param wheelSize the int minimum number of slots
+   * @param now the long current time in milliseconds
+   */
+  @SuppressWarnings("unchecked")
+  public TimingWheel(final long tickMillis, final int wheelSize, final long now) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Timing wheel tick must be positive: " + tickMillis);
+    }
+    if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+      throw new IllegalArgumentException("Timing wheel size must be positive: " + wheelSize);
+    }
+    final int size = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+
+    this.tickMillis = tickMillis;
+    this.mask = size - 1;
+    this.slots = new Timeout[size];
+    for (int index = 0; index < size; ++index) {
+      slots[index] = new Timeout<>(null, null, 0);
+    }
+    this.startTime = now;
+    this.timeouts = new HashMap<>();
+  }
+
+  /**
+   * Expire all timeouts that are due at {@code now}, sending each to {@code expired}.
+   * @param now the long current time in milliseconds
+   * @param expired the {@code BiConsumer<K,V>} to receive the key and value of each expired timeout
+   */
+  public void advance(final long now, final BiConsumer<K,V> expired) {
+    List<Timeout<K,V>> due = null;
+
+    synchronized (this) {
+      final long targetTick = (now - startTime) / tickMillis;
+      final long ticks = Math.min(targetTick - currentTick, slots.length);
+
+      for (long tick = currentTick + 1; tick <= currentTick + ticks; ++tick) {
+        final Timeout<K,V> head = slots[(int) (tick & mask)];
+        Timeout<K,V> timeout = head.next;
+        while (timeout != head) {
+          final Timeout<K,V> next = timeout.next;
+          if (timeout.deadlineTick <= targetTick) {
+            timeout.unlink();
+            timeouts.remove(timeout.key);
+            if (due == null) due = new ArrayList<>();
+            due.add(timeout);
+          }
+          timeout = next;
+        }
+      }
+
+      if (targetTick > currentTick) {
+        currentTick = targetTick;
+      }
+    }
+
+    if (due != null) {
+      for (final Timeout<K,V> timeout : due) {
+        expired.accept(timeout.key, timeout.value);
+      }
+    }
+  }
+
+  /**
+   * Cancel the timeout of {@code key}, answering its value, or {@code null} if it has none.
+   * @param key the K key of the timeout
+   * @return V
+   */
+  public synchronized V cancel(final K key) {
+    final Timeout<K,V> timeout = timeouts.remove(key);
+    if (timeout == null) {
+      return null;
+    }
+    timeout.unlink();
+    return timeout.value;
+  }
+
+  /**
+   * Answer whether or not {@code key} has a timeout.
+   * @param key the K key of the timeout
+   * @return boolean
+   */
+  public synchronized boolean contains(final K key) {
+    return timeouts.containsKey(key);
+  }
+
+  /**
+   * Answer whether or not I have no timeouts.
+   * @return boolean
+   */
+  public synchronized boolean isEmpty() {
+    return timeouts.isEmpty();
+  }
+
+  /**
+   * Schedule the timeout of {@code key} with {@code value} to expire after {@code delayMillis},
+   * replacing any timeout that {@code key} has.
+   * @param key the K key of the timeout
+   * @param value the V value of the timeout
+   * @param delayMillis the long milliseconds until the timeout expires
+   */
+  public synchronized void schedule(final K key, final V value, final long delayMillis) {
+    final Timeout<K,V> existing = timeouts.get(key);
+    if (existing != null) {
+      existing.unlink();
+    }
+    final Timeout<K,V> timeout = existing != null && existing.value == value ? existing : new Timeout<>(key, value, 0);
+    link(timeout, delayMillis);
+    timeouts.put(key, timeout);
+  }
+
+  /**
+   * Schedule the timeout of {@code key} with {@code value} to expire after {@code delayMillis}
+   * unless {@code key} already has a timeout, answering whether it was scheduled.
+   * @param key the K key of the timeout
+   * @param value the V value of the timeout
+   * @param delayMillis the long milliseconds until the timeout expires
+   * @return boolean
+   */
+  public synchronized boolean scheduleIfAbsent(final K key, final V value, final long delayMillis) {
+    if (timeouts.containsKey(key)) {
+      return false;
+    }
+    final Timeout<K,V> timeout = new Timeout<>(key, value, 0);
+    link(timeout, delayMillis);
+    timeouts.put(key, timeout);
+    return true;
+  }
+
+  /**
+   * Reschedule the existing timeout of {@code key} to expire after {@code delayMillis},
+   * keeping its value, and answering whether {@code key} has a timeout.
+   * @param key the K key of the timeout
+   * @param delayMillis the long milliseconds until the timeout expires
+   * @return boolean
+   */
+  public synchronized boolean reschedule(final K key, final long delayMillis) {
+    final Timeout<K,V> timeout = timeouts.get(key);
+    if (timeout == null) {
+      return false;
+    }
+    timeout.unlink();
+    link(timeout, delayMillis);
+    return true;
+  }
+
+  /**
+   * Answer the number of my timeouts.
+   * @return int
+   */
+  public synchronized int size() {
+    return timeouts.size();
+  }
+
+  private void link(final Timeout<K,V> timeout, final long delayMillis) {
+    final long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+    timeout.deadlineTick = currentTick + ticks;
+    timeout.linkBefore(slots[(int) (timeout.deadlineTick & mask)]);
+  }
+
+  private static final class Timeout<K,V> {
+    long deadlineTick;
+    final K key;
+    Timeout<K,V> next;
+    Timeout<K,V> previous;
+    final V value;
+
+    Timeout(final K key, final V value, final long deadlineTick) {
+      this.key = key;
+      this.value = value;
+      this.deadlineTick = deadlineTick;
+      this.next = this;
+      this.previous = this;
+    }
+
+    void linkBefore(final Timeout<K,V> head) {
+      previous = head.previous;
+      next = head;
+      head.previous.next = this;
+      head.previous = this;
+    }
+
+    void unlink() {
+      previous.next = next;
+      next.previous = previous;
+      next = this;
+      previous = this;
+    }
+  }
+}
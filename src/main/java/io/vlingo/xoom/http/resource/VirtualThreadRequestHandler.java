@@ -0,0 +1,116 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.http.Context;
+
+/**
+ * A {@code ResourceRequestHandler} of the {@code ExecutionMode.Virtual} that executes
+ * requests on virtual threads rather than on a pooled actor, with at most
+ * {@code executionLimit} requests executing at once. A request beyond the limit waits
+ * in my queue and is executed by the next thread to finish one, so that neither the
+ * calling thread nor a thread of the executor blocks for a permit. This also bounds
+ * the platform threads started when virtual threads are not supported.
+ */
+final class VirtualThreadRequestHandler extends DirectRequestHandler {
+  private static ExecutorService executor;
+  private static boolean virtual;
+
+  private final Queue<Runnable> pending;
+  private final Semaphore permits;
+
+  /**
+   * Answer the {@code ExecutorService} that starts a new virtual thread for each task, or
+   * a new daemon platform thread when the runtime does not support virtual threads.
+   * @return ExecutorService
+   */
+  static synchronized ExecutorService executor() {
+    if (executor == null) {
+      try {
+        executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        virtual = true;
+      } catch (Exception e) {
+        executor = Executors.newCachedThreadPool(runnable -> {
+          final Thread thread = new Thread(runnable, "xoom-http-blocking-handler");
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+    return executor;
+  }
+
+  /**
+   * Answer whether or not my {@code executor()} starts virtual threads.
+   * @return boolean
+   */
+  static synchronized boolean supportsVirtualThreads() {
+    executor();
+    return virtual;
+  }
+
+  VirtualThreadRequestHandler(final Resource<?> resource, final Stage stage, final int executionLimit) {
+    super(resource, stage);
+    this.pending = new ConcurrentLinkedQueue<>();
+    this.permits = new Semaphore(executionLimit);
+
+    if (!supportsVirtualThreads()) {
+      stage.world().defaultLogger().warn(
+              "Resource " + resource.name + " executes on up to " + executionLimit +
+              " platform threads because the runtime does not support virtual threads.");
+    }
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void handleFor(final Context context, final Consumer consumer) {
+    pending.offer(() -> execute(context, consumer));
+    submitPending();
+  }
+
+  /**
+   * Submit my pending requests to the executor while permits are available. This is
+   * sent after each request is queued and after each permit is released, so no queued
+   * request is left waiting while a permit is available.
+   */
+  private void submitPending() {
+    while (!pending.isEmpty() && permits.tryAcquire()) {
+      final Runnable request = pending.poll();
+      if (request == null) {
+        permits.release();
+        continue;
+      }
+      executor().execute(() -> executeHoldingPermit(request));
+    }
+  }
+
+  /**
+   * Execute {@code first} and then any pending requests on the current thread, which
+   * holds a permit, so that the executor never runs more than {@code executionLimit}
+   * of my threads at once.
+   * @param first the Runnable request to execute first
+   */
+  private void executeHoldingPermit(final Runnable first) {
+    try {
+      for (Runnable request = first; request != null; request = pending.poll()) {
+        request.run();
+      }
+    } finally {
+      permits.release();
+      submitPending();
+    }
+  }
+}
@@ -17,32 +17,68 @@ import java.util.concurrent.atomic.AtomicLong;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.AttributeKey;
 import io.netty.util.CharsetUtil;
 import io.vlingo.xoom.actors.Logger;
 import io.vlingo.xoom.http.Body;
+import io.vlingo.xoom.http.ChunkedBody;
 import io.vlingo.xoom.http.Header;
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.RequestBodyStream;
 import io.vlingo.xoom.http.RequestHeader;
 import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseEncoder;
+import io.vlingo.xoom.http.ResponseHeader;
+import io.vlingo.xoom.http.ResponseParser;
 import io.vlingo.xoom.http.Version;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 import io.vlingo.xoom.wire.channel.ResponseSenderChannel;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
 
-public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> implements ResponseSenderChannel {
+/**
+ * The inbound handler of the requests of one agent connection and the sender of its responses.
+ * <p>
+ * Requests arrive either aggregated as a {@code FullHttpRequest}, or, when their body is streamed,
+ * as an {@code HttpRequest} followed by its {@code HttpContent} pieces, which are offered to the
+ * {@code RequestBodyStream} of its {@code StreamedBody}. Reads are suspended while that stream holds
+ * more content than its subscriber has taken. Once the response to such a request has been written
+ * the rest of its body is discarded, such that one answered without reading all of its body, such as
+ * by a 401 or 413, does not leave reading suspended. While reading is not suspended a body of which
+ * nothing is read within the request body timeout fails, and its connection is closed.
+ * <p>
+ * A {@code Response} with a {@code Transfer-Encoding} of {@code chunked} is written as an {@code HttpResponse}
+ * and an {@code HttpContent} for each of its chunks, ending with a {@code LastHttpContent} if its
+ * {@code ChunkedBody} is ended. Until then each {@code ConsumerByteBuffer} sent is written as its next
+ * chunk, and an empty one ends it. Any other {@code ConsumerByteBuffer} is an already encoded response.
+ */
+public class AgentHandler extends SimpleChannelInboundHandler<HttpObject> implements ResponseSenderChannel {
   private static final String AGENT_CONTEXT_NAME = "$AGENT_CONTEXT";
   private static final AttributeKey<AgentChannelContext> AGENT_CONTEXT;
 
@@ -55,6 +91,10 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
   private String contextInstanceId;
   private final Logger logger;
   private final HttpRequestChannelConsumerProvider provider;
+  private long requests;
+  private long responses;
+  private RequestBodyStream.Source streamedBody;
+  private long streamedRequest;
 
   private static final AtomicLong nextInstanceId = new AtomicLong(0);
   private final long instanceId;
@@ -80,6 +120,7 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
   @Override
   public void channelReadComplete(final ChannelHandlerContext context) {
 //  logger.debug(">>>>> AgentHandler::channelReadComplete(): " + instanceId + " NAME: " + contextInstanceId(context));
+    context.flush();
   }
 
   @Override
@@ -89,12 +130,71 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
   }
 
   @Override
-  protected void channelRead0(final ChannelHandlerContext context, final FullHttpRequest request) throws Exception {
-    if (HttpUtil.is100ContinueExpected(request)) {
-      send100Continue(context);
+  public void userEventTriggered(final ChannelHandlerContext context, final Object event) throws Exception {
+    // while suspended it is the subscriber, not the client, that is not reading
+    if (event instanceof IdleStateEvent && streamedBody != null && context.channel().config().isAutoRead()) {
+      streamedBody.fail(new IllegalStateException("Request body was not received in time."));
+      streamedBody = null;
+      context.close();
+      return;
     }
+    super.userEventTriggered(context, event);
+  }
 
-    provider.httpRequestChannelConsumer().consume(agentChannelContext(context), toConsumable(request));
+  @Override
+  public void channelInactive(final ChannelHandlerContext context) throws Exception {
+    if (streamedBody != null) {
+      streamedBody.fail(new IllegalStateException("Connection closed before the request body was received."));
+      streamedBody = null;
+    }
+    super.channelInactive(context);
+  }
+
+  @Override
+  protected void channelRead0(final ChannelHandlerContext context, final HttpObject message) throws Exception {
+    if (message instanceof FullHttpRequest) {
+      final FullHttpRequest request = (FullHttpRequest) message;
+
+      if (HttpUtil.is100ContinueExpected(request)) {
+        send100Continue(context);
+      }
+
+      ++requests;
+
+      provider.httpRequestChannelConsumer().consume(agentChannelContext(context), toConsumable(request, body(request.content())));
+
+    } else if (message instanceof HttpRequest) {
+      final HttpRequest request = (HttpRequest) message;
+
+      if (HttpUtil.is100ContinueExpected(request)) {
+        send100Continue(context);
+      }
+
+      final Channel channel = context.channel();
+
+      streamedBody = RequestBodyStream.source(RequestBodyStream.DefaultMaximumBufferedBytes, () -> channel.config().setAutoRead(true));
+      streamedRequest = ++requests;
+
+      provider.httpRequestChannelConsumer().consume(agentChannelContext(context), toConsumable(request, streamedBody.body()));
+
+    } else if (message instanceof HttpContent && streamedBody != null) {
+      final HttpContent content = (HttpContent) message;
+
+      if (content.decoderResult().isFailure()) {
+        streamedBody.fail(content.decoderResult().cause());
+        streamedBody = null;
+        return;
+      }
+
+      if (!streamedBody.offer(content.content().nioBuffer())) {
+        context.channel().config().setAutoRead(false);
+      }
+
+      if (content instanceof LastHttpContent) {
+        streamedBody.complete();
+        streamedBody = null;
+      }
+    }
   }
 
   @Override
@@ -127,37 +227,79 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
 
     final ChannelHandlerContext channelHandlerContext = agentChannelContext.channelHandlerContext();
 
-    final boolean keepAlive = writeResponse(channelHandlerContext, buffer, !closeFollowing);
+    final ChannelPromise written = channelHandlerContext.newPromise();
+
+    if (agentChannelContext.chunking) {
+      final boolean last = buffer.limit() == 0;
+      final ByteBuf chunk = toWritable(buffer, written);
+      channelHandlerContext.writeAndFlush(last ? new DefaultLastHttpContent(chunk) : new DefaultHttpContent(chunk), written);
+      agentChannelContext.chunking = !last;
+    } else {
+      final ChannelHandlerContext encoder = encoderContext(channelHandlerContext);
+
+      if (encoder != null) {
+        // already encoded, and so written beneath the HTTP/1.1 encoder
+        encoder.writeAndFlush(toWritable(buffer, written), written);
+        answered(written);
+      } else {
+        // an HTTP/2 stream, to which the encoded response is written as frames
+        respondWithParsed(agentChannelContext, buffer, closeFollowing);
+        return;
+      }
+    }
 
-//  logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : KEEP-ALIVE? " + keepAlive);
+//  logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : KEEP-ALIVE? " + !closeFollowing);
 
-    if (!keepAlive) {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+    if (closeFollowing) {
+      written.addListener(ChannelFutureListener.CLOSE);
 //    logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : CLOSED ");
-    } else {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER);
     }
   }
 
   @Override
   public void respondWith(final RequestResponseContext<?> context, final Object response, final boolean closeFollowing) {
-    final Response typedResponse = toResponse(response);
+    write(agentChannelContext(context), toResponse(response), closeFollowing);
+  }
 
-    final FullHttpResponse writable = toWritable(typedResponse);
+  private ChannelFuture write(final AgentChannelContext agentChannelContext, final Response typedResponse, final boolean closeFollowing) {
+    final ChannelHandlerContext channelHandlerContext = agentChannelContext.channelHandlerContext();
 
-//  logger.debug("============> AGENT RESPONSE: \n" + writable);
+    final ChannelFuture written;
 
-    ChannelHandlerContext channelHandlerContext = agentChannelContext(context).channelHandlerContext();
+    if (isChunked(typedResponse)) {
+      written = writeChunked(agentChannelContext, typedResponse);
+    } else {
+      final FullHttpResponse writable = toWritable(channelHandlerContext, typedResponse);
 
-    channelHandlerContext.write(writable);
+//    logger.debug("============> AGENT RESPONSE: \n" + writable);
+
+      written = channelHandlerContext.writeAndFlush(writable);
+    }
+
+    answered(written);
 
     if (closeFollowing) {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+      written.addListener(ChannelFutureListener.CLOSE);
 //    logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : CLOSED ");
-    } else {
-      channelHandlerContext.writeAndFlush(Unpooled.EMPTY_BUFFER);
-//    logger.debug(">>>>> AgentHandler::respondWith(): " + instanceId + " NAME: " + contextInstanceId + " : FLUSHED ");
     }
+
+    return written;
+  }
+
+  /*
+   * Count the response being written, and once that to the request of the streamedBody
+   * has been written, cancel that body, discarding any of it that was not read.
+   * Responses are written in the order of their requests, and this listener is
+   * run on the event loop, as is channelRead0().
+   */
+  private void answered(final ChannelFuture written) {
+    written.addListener(outcome -> {
+      ++responses;
+      if (streamedBody != null && responses >= streamedRequest) {
+        streamedBody.cancel();
+        streamedBody = null;
+      }
+    });
   }
 
   private AgentChannelContext agentChannelContext(final ChannelHandlerContext context) {
@@ -186,7 +328,22 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
     context.write(response);
   }
 
-  private Request toConsumable(final FullHttpRequest request) throws Exception {
+  private Body body(final ByteBuf content) {
+    return content.isReadable() ? Body.from(content.toString(CharsetUtil.UTF_8)) : Body.Empty;
+  }
+
+  private ChannelHandlerContext encoderContext(final ChannelHandlerContext channelHandlerContext) {
+    final ChannelPipeline channelPipeline = channelHandlerContext.pipeline();
+    final ChannelHandlerContext encoder = channelPipeline.context(HttpResponseEncoder.class);
+    return encoder != null ? encoder : channelPipeline.context(HttpServerCodec.class);
+  }
+
+  private boolean isChunked(final Response response) {
+    final Header header = response.headers.headerOf(ResponseHeader.TransferEncoding);
+    return header != null && header.value.equalsIgnoreCase("chunked");
+  }
+
+  private Request toConsumable(final HttpRequest request, final Body body) throws Exception {
     final Method consumableMethod = Method.from(request.method().name());
 
     final URI consumableURI = new URI(request.uri());
@@ -200,10 +357,6 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
       headers.add(header);
     }
 
-    final ByteBuf content = request.content();
-
-    final Body body = content.isReadable() ? Body.from(content.toString(CharsetUtil.UTF_8)) : Body.Empty;
-
     final Request consumableRequest = Request.from(consumableMethod, consumableURI, consumableVersion, headers, body);
 
 //  logger.debug(">>>>> AgentHandler::toConsumable(): " + instanceId + " NAME: " + contextInstanceId + " : REQUEST:\n" + consumableRequest);
@@ -215,35 +368,141 @@ public class AgentHandler extends SimpleChannelInboundHandler<FullHttpRequest> i
     return (Response) response;
   }
 
-  private FullHttpResponse toWritable(final Response response) {
+  /*
+   * Write the already encoded response in buffer to an HTTP/2 stream, leaving the
+   * stream open for the further content of a stream content type, such as SSE events.
+   */
+  private void respondWithParsed(final AgentChannelContext agentChannelContext, final ConsumerByteBuffer buffer, final boolean closeFollowing) {
+    final ResponseParser parser;
+    try {
+      parser = ResponseParser.parserFor(buffer.asByteBuffer());
+    } catch (RuntimeException e) {
+      buffer.release();
+      throw e;
+    }
+
+    final ChannelFuture written;
+
+    if (parser.isStreamContentType()) {
+      written = writeChunked(agentChannelContext, parser.fullResponse());
+      answered(written);
+    } else {
+      written = write(agentChannelContext, parser.fullResponse(), false);
+    }
+
+    if (closeFollowing) {
+      written.addListener(ChannelFutureListener.CLOSE);
+    }
+
+    // released once written, as by toWritable()
+    written.addListener(outcome -> buffer.release());
+  }
+
+  private FullHttpResponse toWritable(final ChannelHandlerContext channelHandlerContext, final Response response) {
+    final ByteBuf content = toWritable(channelHandlerContext, response.entity);
+
     final FullHttpResponse httpResponse =
             new DefaultFullHttpResponse(
                     HttpVersion.HTTP_1_1,
                     HttpResponseStatus.valueOf(response.status.code),
-                    Unpooled.copiedBuffer(response.entity.content(), CharsetUtil.UTF_8),
+                    content,
                     false);
 
     for (final Header header : response.headers) {
       httpResponse.headers().set(header.name, header.value);
     }
 
+    httpResponse.headers().set(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+
     return httpResponse;
   }
 
-  private boolean writeResponse(final ChannelHandlerContext channelHandlerContext, final ConsumerByteBuffer buffer, final boolean keepAlive) {
-    final ByteBuf replyBuffer = channelHandlerContext.alloc().buffer(buffer.limit());
+  private ByteBuf toWritable(final ChannelHandlerContext channelHandlerContext, final CharSequence text) {
+    final int length = ResponseEncoder.encodedLength(text);
+
+    final ByteBuf content = channelHandlerContext.alloc().ioBuffer(length);
+
+    ResponseEncoder.encode(text, content.nioBuffer(content.writerIndex(), length));
+
+    return content.writerIndex(content.writerIndex() + length);
+  }
+
+  /*
+   * Answer the content of body encoded directly into a buffer of the channel's
+   * pooled I/O allocator, without an intermediate String or byte[].
+   */
+  private ByteBuf toWritable(final ChannelHandlerContext channelHandlerContext, final Body body) {
+    final int length = ResponseEncoder.encodedLength(body);
+
+    if (length == 0) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    final ByteBuf content = channelHandlerContext.alloc().ioBuffer(length);
+
+    ResponseEncoder.encode(body, content.nioBuffer(content.writerIndex(), length));
+
+    return content.writerIndex(content.writerIndex() + length);
+  }
+
+  /*
+   * Answer buffer wrapped without copying, releasing it only once it has been written,
+   * such that its sender, such as an SseClient counting its outstanding bytes, learns
+   * when the channel is done with it rather than when it was queued.
+   */
+  private ByteBuf toWritable(final ConsumerByteBuffer buffer, final ChannelPromise written) {
+    written.addListener(outcome -> buffer.release());
+    return Unpooled.wrappedBuffer(buffer.asByteBuffer());
+  }
+
+  /*
+   * Write response as an HttpResponse followed by an HttpContent for each of its chunks,
+   * and its LastHttpContent if it is ended, leaving it open for further chunks otherwise.
+   */
+  private ChannelFuture writeChunked(final AgentChannelContext agentChannelContext, final Response response) {
+    final ChannelHandlerContext channelHandlerContext = agentChannelContext.channelHandlerContext();
+
+    final HttpResponse httpResponse = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.valueOf(response.status.code));
+
+    for (final Header header : response.headers) {
+      httpResponse.headers().set(header.name, header.value);
+    }
+
+    httpResponse.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+
+    ChannelFuture written = channelHandlerContext.write(httpResponse);
+
+    final boolean ended;
+
+    if (response.entity instanceof ChunkedBody) {
+      final ChunkedBody body = (ChunkedBody) response.entity;
+      for (final String chunk : body.chunks()) {
+        written = channelHandlerContext.write(new DefaultHttpContent(toWritable(channelHandlerContext, chunk)));
+      }
+      ended = body.isEnded();
+    } else {
+      if (response.entity.hasContent()) {
+        written = channelHandlerContext.write(new DefaultHttpContent(toWritable(channelHandlerContext, response.entity)));
+      }
+      ended = false;
+    }
+
+    if (ended) {
+      written = channelHandlerContext.write(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
 
-    replyBuffer.writeBytes(buffer.asByteBuffer());
+    agentChannelContext.chunking = !ended;
 
-    channelHandlerContext.write(replyBuffer);
+    channelHandlerContext.flush();
 
-    return keepAlive;
+    return written;
   }
 
   private static class AgentChannelContext extends ChannelInboundHandlerAdapter implements RequestResponseContext<ConsumerByteBuffer> {
     private static final AtomicLong contextId = new AtomicLong(0);
 
     private final ChannelHandlerContext channelHandlerContext;
+    private volatile boolean chunking;
     @SuppressWarnings("unused")
     private Object closingData;
     private Object consumerData;
@@ -7,22 +7,66 @@
 
 package io.vlingo.xoom.http.resource.agent;
 
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AsciiString;
+import io.netty.util.ReferenceCountUtil;
 import io.vlingo.xoom.actors.Logger;
 
+/**
+ * The initializer of the pipeline of each agent connection. With {@code http2} a connection
+ * with SSL negotiates HTTP/2 or HTTP/1.1 by ALPN, and one without SSL is HTTP/2 when it opens
+ * with the HTTP/2 connection preface (prior knowledge) or upgrades to {@code h2c}, or otherwise
+ * is HTTP/1.1. Each HTTP/2 stream is a child channel with its own {@code AgentHandler}, its
+ * frames converted to and from the same HTTP objects as those of an HTTP/1.1 connection, and
+ * with its own flow control window that is not replenished while reading from it is suspended.
+ * Ahead of each {@code AgentHandler} an {@code IdleStateHandler} signals when nothing has been
+ * read for {@code requestBodyTimeout} milliseconds, unless that is 0.
+ */
 public class AgentInitializer extends ChannelInitializer<SocketChannel> {
+  private final int flushBatchSize;
+  private final boolean http2;
   private final Logger logger;
+  private final int maxAggregatedContentLength;
   private final HttpRequestChannelConsumerProvider provider;
+  private final long requestBodyTimeout;
   private final SslContext sslContext;
 
-  AgentInitializer(final HttpRequestChannelConsumerProvider provider, final SslContext sslContext, final Logger logger) {
+  AgentInitializer(
+          final HttpRequestChannelConsumerProvider provider,
+          final SslContext sslContext,
+          final boolean http2,
+          final int flushBatchSize,
+          final int maxAggregatedContentLength,
+          final long requestBodyTimeout,
+          final Logger logger) {
     this.provider = provider;
+    this.http2 = http2;
+    this.flushBatchSize = flushBatchSize;
+    this.maxAggregatedContentLength = maxAggregatedContentLength;
+    this.requestBodyTimeout = requestBodyTimeout;
     this.sslContext = sslContext;
     this.logger = logger;
   }
@@ -31,19 +75,131 @@ public class AgentInitializer extends ChannelInitializer<SocketChannel> {
   public void initChannel(final SocketChannel channel) {
     final ChannelPipeline channelPipeline = channel.pipeline();
 
+    // responses are written by actors off of the event loop, so flushes are
+    // consolidated even when no read is in progress, and are otherwise made at
+    // the end of each read and after each flushBatchSize flushes
+    if (flushBatchSize > 0) {
+      channelPipeline.addLast(new FlushConsolidationHandler(flushBatchSize, true));
+    }
+
     if (sslContext != null) {
       channelPipeline.addLast(sslContext.newHandler(channel.alloc()));
+
+      if (http2) {
+        channelPipeline.addLast(new ProtocolNegotiationHandler());
+        return;
+      }
+    } else if (http2) {
+      initCleartextHttp2(channelPipeline);
+      return;
     }
 
+    initHttp1(channelPipeline);
+  }
+
+  private void initCleartextHttp2(final ChannelPipeline channelPipeline) {
+    final HttpServerCodec codec = new HttpServerCodec();
+
+    final HttpServerUpgradeHandler upgradeHandler =
+            new HttpServerUpgradeHandler(
+                    codec,
+                    protocol -> AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ?
+                            new Http2ServerUpgradeCodec(Http2FrameCodecBuilder.forServer().build(), new Http2MultiplexHandler(new StreamInitializer())) :
+                            null,
+                    maxAggregatedContentLength);
+
+    final ChannelInitializer<Channel> priorKnowledge = new ChannelInitializer<Channel>() {
+      @Override
+      protected void initChannel(final Channel channel) {
+        initHttp2(channel.pipeline());
+      }
+    };
+
+    channelPipeline.addLast(new CleartextHttp2ServerUpgradeHandler(codec, upgradeHandler, priorKnowledge));
+
+    // neither prior knowledge nor upgraded, so the HttpServerCodec stays in place
+    channelPipeline.addLast(new Http1Fallback());
+  }
+
+  private void initHttp1(final ChannelPipeline channelPipeline) {
     channelPipeline.addLast(new HttpRequestDecoder());
 
-    channelPipeline.addLast(new HttpObjectAggregator(1048576));
+    // bodies of routes that stream them are passed through unaggregated
+    channelPipeline.addLast(new StreamingObjectAggregator(provider, maxAggregatedContentLength));
 
     channelPipeline.addLast(new HttpResponseEncoder());
 
     // remove the following comment if you want automatic content compression
     // p.addLast(new HttpContentCompressor());
 
+    addAgentHandler(channelPipeline);
+  }
+
+  private void addAgentHandler(final ChannelPipeline channelPipeline) {
+    if (requestBodyTimeout > 0) {
+      channelPipeline.addLast(new IdleStateHandler(requestBodyTimeout, 0, 0, TimeUnit.MILLISECONDS));
+    }
+
     channelPipeline.addLast(new AgentHandler(provider, logger));
   }
+
+  private void initHttp2(final ChannelPipeline channelPipeline) {
+    channelPipeline.addLast(Http2FrameCodecBuilder.forServer().build());
+
+    channelPipeline.addLast(new Http2MultiplexHandler(new StreamInitializer()));
+  }
+
+  /**
+   * Replaces itself with the handlers of an HTTP/1.1 connection upon its first message.
+   */
+  private class Http1Fallback extends SimpleChannelInboundHandler<HttpMessage> {
+    @Override
+    protected void channelRead0(final ChannelHandlerContext context, final HttpMessage message) {
+      final ChannelPipeline channelPipeline = context.pipeline();
+
+      channelPipeline.addAfter(context.name(), null, new AgentHandler(provider, logger));
+      if (requestBodyTimeout > 0) {
+        channelPipeline.addAfter(context.name(), null, new IdleStateHandler(requestBodyTimeout, 0, 0, TimeUnit.MILLISECONDS));
+      }
+      channelPipeline.replace(this, null, new StreamingObjectAggregator(provider, maxAggregatedContentLength));
+
+      context.fireChannelRead(ReferenceCountUtil.retain(message));
+    }
+  }
+
+  /**
+   * Initializes the pipeline of the HTTP/2 or HTTP/1.1 protocol negotiated by ALPN.
+   */
+  private class ProtocolNegotiationHandler extends ApplicationProtocolNegotiationHandler {
+    ProtocolNegotiationHandler() {
+      super(ApplicationProtocolNames.HTTP_1_1);
+    }
+
+    @Override
+    protected void configurePipeline(final ChannelHandlerContext context, final String protocol) {
+      if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+        initHttp2(context.pipeline());
+      } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+        initHttp1(context.pipeline());
+      } else {
+        throw new IllegalStateException("Unsupported application protocol: " + protocol);
+      }
+    }
+  }
+
+  /**
+   * Initializes the pipeline of each HTTP/2 stream.
+   */
+  private class StreamInitializer extends ChannelInitializer<Channel> {
+    @Override
+    protected void initChannel(final Channel stream) {
+      final ChannelPipeline channelPipeline = stream.pipeline();
+
+      channelPipeline.addLast(new Http2StreamFrameToHttpObjectCodec(true));
+
+      channelPipeline.addLast(new StreamingObjectAggregator(provider, maxAggregatedContentLength));
+
+      addAgentHandler(channelPipeline);
+    }
+  }
 }
@@ -7,23 +7,58 @@
 
 package io.vlingo.xoom.http.resource.agent;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
 
 public class HttpAgent {
-  private final Channel channel;
+  /**
+   * The default number of flushes of a connection's responses that are consolidated
+   * into a single write to its socket.
+   */
+  public static final int DefaultFlushBatchSize = 256;
+
+  /**
+   * The default maximum number of bytes of a request body that is aggregated
+   * in full before the request is consumed.
+   */
+  public static final int DefaultMaxAggregatedContentLength = 1024 * 1024;
+
+  /**
+   * The default number of milliseconds within which more of a streamed request
+   * body must be read before it fails and its connection is closed.
+   */
+  public static final long DefaultRequestBodyTimeout = 30_000;
+
+  private final List<Channel> channels;
   private final EventLoopGroup bossGroup;
   private final EventLoopGroup workerGroup;
 
@@ -35,41 +70,122 @@ public class HttpAgent {
           final Logger logger)
   throws Exception {
 
-    final SslContext sslContext = useSSL ? sslContext() : null;
+    return initialize(provider, port, useSSL, Agent.define().withBossThreads(numberOfThreads), logger);
+  }
+
+  /**
+   * Answer a new {@code HttpAgent} on {@code port} that consolidates up to {@code agent.flushBatchSize}
+   * response flushes of each connection into one socket write, or none when it is 0, and
+   * that aggregates request bodies of up to {@code agent.maxAggregatedContentLength} bytes, other
+   * than those that the {@code provider} streams. With {@code agent.http2} each connection may be
+   * HTTP/2, negotiated by ALPN when {@code useSSL}, or otherwise by prior knowledge or an
+   * {@code h2c} upgrade, and each of its streams is consumed as a request of its own.
+   * <p>
+   * Connections are accepted by {@code agent.bossThreads} and served by {@code agent.workerThreads},
+   * with the socket options of {@code agent}. With {@code agent.reusePort} on epoll I bind
+   * {@code agent.acceptors} server channels to {@code port}, each accepting on a thread of its own.
+   * @param provider the HttpRequestChannelConsumerProvider of request consumers
+   * @param port the int port to listen on
+   * @param useSSL the boolean indicating whether or not to use SSL
+   * @param agent the Agent configuration of threads, socket options, and protocols
+   * @param logger the Logger to log to
+   * @return HttpAgent
+   * @throws Exception when the agent cannot be started
+   */
+  public static HttpAgent initialize(
+          final HttpRequestChannelConsumerProvider provider,
+          final int port,
+          final boolean useSSL,
+          final Agent agent,
+          final Logger logger)
+  throws Exception {
+
+    final SslContext sslContext = useSSL ? sslContext(agent.http2) : null;
 
     final OptimalTransport optimalTransport = optimalTransport(logger);
-    final EventLoopGroup bossGroup = eventLoopGroup(optimalTransport, numberOfThreads, logger);
-    final EventLoopGroup workerGroup = eventLoopGroup(optimalTransport, logger);
+    final int boundChannels = agent.boundChannels(optimalTransport == OptimalTransport.Epoll);
+    final int bossThreads = agent.bossThreads == 0 ? 0 : Math.max(agent.bossThreads, boundChannels);
+    final EventLoopGroup bossGroup = eventLoopGroup(optimalTransport, bossThreads, logger);
+    final EventLoopGroup workerGroup = eventLoopGroup(optimalTransport, agent.workerThreads, logger);
 
-    ServerBootstrap bootstrap =
+    if (agent.reusePort && boundChannels == 1) {
+      logger.debug("HttpAgent SO_REUSEPORT is unsupported by " + optimalTransport + "; binding a single channel");
+    }
+
+    final ServerBootstrap bootstrap =
             new ServerBootstrap()
               .group(bossGroup, workerGroup)
               .channel(serverSocketChannelType(optimalTransport, logger))
+              .option(ChannelOption.SO_BACKLOG, agent.backlog)
+              .childOption(ChannelOption.TCP_NODELAY, agent.tcpNoDelay)
+              .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(agent.writeBufferLowWaterMark, agent.writeBufferHighWaterMark))
               .handler(new LoggingHandler(LogLevel.INFO))
-              .childHandler(new AgentInitializer(provider, sslContext, logger));
+              .childHandler(new AgentInitializer(provider, sslContext, agent.http2, agent.flushBatchSize, agent.maxAggregatedContentLength, agent.requestBodyTimeout, logger));
 
-    return new HttpAgent(bootstrap.bind(port).sync().channel(), bossGroup, workerGroup);
-  }
+    if (boundChannels > 1) {
+      bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+    }
 
-  public void close() {
-    channel.close().addListener(outcome -> {
+    final List<Channel> channels = new ArrayList<>(boundChannels);
+
+    try {
+      for (int count = 0; count < boundChannels; ++count) {
+        channels.add(bootstrap.bind(port).sync().channel());
+      }
+    } catch (Exception e) {
+      for (final Channel channel : channels) {
+        channel.close();
+      }
       bossGroup.shutdownGracefully();
       workerGroup.shutdownGracefully();
-    });
+      throw e;
+    }
+
+    return new HttpAgent(channels, bossGroup, workerGroup);
   }
 
-  private static SslContext sslContext() throws Exception {
+  public void close() {
+    final AtomicInteger open = new AtomicInteger(channels.size());
+
+    for (final Channel channel : channels) {
+      channel.close().addListener(outcome -> {
+        if (open.decrementAndGet() == 0) {
+          bossGroup.shutdownGracefully();
+          workerGroup.shutdownGracefully();
+        }
+      });
+    }
+  }
+
+  private static SslContext sslContext(final boolean http2) throws Exception {
     final SelfSignedCertificate ssc = new SelfSignedCertificate();
-    return SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build();
+
+    if (!http2) {
+      return SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build();
+    }
+
+    final SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK;
+
+    return SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey())
+            .sslProvider(provider)
+            .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+            .applicationProtocolConfig(
+                    new ApplicationProtocolConfig(
+                            Protocol.ALPN,
+                            SelectorFailureBehavior.NO_ADVERTISE,
+                            SelectedListenerFailureBehavior.ACCEPT,
+                            ApplicationProtocolNames.HTTP_2,
+                            ApplicationProtocolNames.HTTP_1_1))
+            .build();
   }
 
   private HttpAgent(
-          final Channel channel,
+          final List<Channel> channels,
           final EventLoopGroup bossGroup,
           final EventLoopGroup workerGroup)
   throws Exception {
 
-    this.channel = channel;
+    this.channels = Collections.unmodifiableList(channels);
     this.bossGroup = bossGroup;
     this.workerGroup = workerGroup;
   }
@@ -78,32 +194,17 @@ public class HttpAgent {
 
   private static EventLoopGroup eventLoopGroup(
           final OptimalTransport optimalTransport,
+          final int numberOfThreads,
           final Logger logger) {
 
     switch (optimalTransport) {
     case Epoll:
-      logger.debug("HttpAgent using EpollEventLoopGroup");
-      return new EpollEventLoopGroup();
-    case NIO:
-    default:
-      logger.debug("HttpAgent using NioEventLoopGroup");
-      return new NioEventLoopGroup();
-    }
-  }
-
-  private static EventLoopGroup eventLoopGroup(
-          final OptimalTransport optimalTransport,
-          final int processorPoolSize,
-          final Logger logger) {
-
-    switch (optimalTransport) {
-    case Epoll:
-      logger.debug("HttpAgent using EpollEventLoopGroup " + processorPoolSize);
-      return new EpollEventLoopGroup(processorPoolSize);
+      logger.debug("HttpAgent using EpollEventLoopGroup " + numberOfThreads);
+      return new EpollEventLoopGroup(numberOfThreads);
     case NIO:
     default:
-      logger.debug("HttpAgent using NioEventLoopGroup " + processorPoolSize);
-      return new NioEventLoopGroup(processorPoolSize);
+      logger.debug("HttpAgent using NioEventLoopGroup " + numberOfThreads);
+      return new NioEventLoopGroup(numberOfThreads);
     }
   }
 
@@ -7,8 +7,22 @@
 
 package io.vlingo.xoom.http.resource.agent;
 
+import java.net.URI;
+
+import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.wire.channel.RequestChannelConsumerProvider;
 
 public interface HttpRequestChannelConsumerProvider extends RequestChannelConsumerProvider {
   HttpRequestChannelConsumer httpRequestChannelConsumer();
+
+  /**
+   * Answer whether or not the body of the request with {@code method} and {@code uri}
+   * is streamed to its consumer as it arrives, rather than aggregated in full first.
+   * @param method the Method of the request
+   * @param uri the URI of the request
+   * @return boolean
+   */
+  default boolean streamsBody(final Method method, final URI uri) {
+    return false;
+  }
 }
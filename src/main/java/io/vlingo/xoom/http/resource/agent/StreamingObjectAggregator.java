@@ -0,0 +1,59 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.agent;
+
+import java.net.URI;
+
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.vlingo.xoom.http.Method;
+
+/**
+ * An {@code HttpObjectAggregator} that aggregates the body of each request up to
+ * {@code maxContentLength} bytes, except for requests whose body is streamed by the
+ * {@code HttpRequestChannelConsumerProvider}. The {@code HttpRequest} and each
+ * {@code HttpContent} of those are passed through as they arrive.
+ */
+class StreamingObjectAggregator extends HttpObjectAggregator {
+  private final HttpRequestChannelConsumerProvider provider;
+  private boolean streaming;
+
+  StreamingObjectAggregator(final HttpRequestChannelConsumerProvider provider, final int maxContentLength) {
+    super(maxContentLength);
+    this.provider = provider;
+  }
+
+  @Override
+  public boolean acceptInboundMessage(final Object message) throws Exception {
+    if (message instanceof HttpRequest) {
+      streaming = streamsBody((HttpRequest) message);
+    }
+
+    if (streaming) {
+      if (message instanceof LastHttpContent) {
+        streaming = false;
+      }
+      return false;
+    }
+
+    return super.acceptInboundMessage(message);
+  }
+
+  private boolean streamsBody(final HttpRequest request) {
+    if (request.decoderResult().isFailure()) {
+      return false;
+    }
+    try {
+      return provider.streamsBody(Method.from(request.method().name()), new URI(request.uri()));
+    } catch (Exception e) {
+      // the request is aggregated and fails when it is consumed
+      return false;
+    }
+  }
+}
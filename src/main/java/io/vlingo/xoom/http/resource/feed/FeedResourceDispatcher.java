@@ -37,7 +37,7 @@ public class FeedResourceDispatcher extends ConfigurationResource<SseStreamResou
       switch (mappedParameters.actionId) {
       case 0: // GET /feeds/{feedName}/{feedItemId} feed(String feedName, String feedProductId, Class<? extends Actor> feedProducerClass, int feedProductElements)
         consumer = (handler) -> handler.feed((String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value, (Class<? extends Actor>) mappedParameters.mapped.get(2).value, (int) mappedParameters.mapped.get(3).value);
-        pooledHandler().handleFor(context, consumer);
+        pooledHandler(context).handleFor(context, consumer);
         break;
       }
     } catch (Exception e) {
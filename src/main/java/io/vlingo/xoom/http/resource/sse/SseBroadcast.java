@@ -0,0 +1,162 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vlingo.xoom.http.ResponseEncoder;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+/**
+ * A batch of {@code SseEvent} instances encoded once and shared by every
+ * {@code SseSubscriber} it is sent to. Each send answers a view of the same
+ * encoded bytes with its own position and limit, and holds a reference to them
+ * until the channel sends {@code release()} to the view. The encoded bytes are
+ * released to their pool after the last view and the broadcast itself are released.
+ * <p>
+ * The content of the events is the same for all subscribers, but each subscriber
+ * has its own {@code currentEventId()} set to my {@code lastEventId()}, and may
+ * still be sent its own events by way of its {@code SseClient}.
+ */
+public final class SseBroadcast {
+  private final ConsumerByteBuffer encoded;
+  private final Collection<SseEvent> events;
+  private final String lastEventId;
+  private final AtomicInteger references;
+  private final AtomicBoolean retained;
+
+  /**
+   * Answer a new {@code SseBroadcast} of {@code events}.
+   * @param events the SseEvent... to encode
+   * @return SseBroadcast
+   */
+  public static SseBroadcast of(final SseEvent... events) {
+    return of(Arrays.asList(events));
+  }
+
+  /**
+   * Answer a new {@code SseBroadcast} of {@code events}.
+   * @param events the {@code Collection<SseEvent>} to encode
+   * @return SseBroadcast
+   */
+  public static SseBroadcast of(final Collection<SseEvent> events) {
+    final StringBuilder builder = new StringBuilder();
+    String lastEventId = "";
+
+    for (final SseEvent event : events) {
+      builder.append(event.sendable());
+      if (event.hasId()) {
+        lastEventId = event.id;
+      }
+    }
+
+    return new SseBroadcast(builder, events, lastEventId);
+  }
+
+  /**
+   * Answer the number of events that I hold.
+   * @return int
+   */
+  public int eventCount() {
+    return events.size();
+  }
+
+  /**
+   * Answer the id of my last event that has one, or an empty {@code String}.
+   * @return String
+   */
+  public String lastEventId() {
+    return lastEventId;
+  }
+
+  /**
+   * Answer the number of bytes of my encoded events.
+   * @return int
+   */
+  public int length() {
+    return encoded.limit();
+  }
+
+  /**
+   * Release my own reference to my encoded events, which is to be sent when no
+   * more subscribers will be sent to, such as following {@code to(subscribers)}.
+   */
+  public void release() {
+    dereference();
+  }
+
+  /**
+   * Answer me holding one more reference to my encoded events, which is released by
+   * the publisher that I am passed to, such as by its {@code to(subscribers)}.
+   * @return SseBroadcast
+   */
+  SseBroadcast share() {
+    if (references.getAndIncrement() <= 0) {
+      references.decrementAndGet();
+      throw new IllegalStateException("SseBroadcast is already released.");
+    }
+    return this;
+  }
+
+  /**
+   * Send me to each of the {@code subscribers} and then release my own reference.
+   * @param subscribers the {@code Collection<SseSubscriber>} to send to
+   */
+  public void to(final Collection<SseSubscriber> subscribers) {
+    try {
+      for (final SseSubscriber subscriber : subscribers) {
+        subscriber.send(this);
+      }
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Retain my events in {@code replay} unless they were retained by an earlier send of mine.
+   * @param replay the SseReplayBuffer of the stream
+   */
+  void retainIn(final SseReplayBuffer replay) {
+    if (retained.compareAndSet(false, true)) {
+      replay.append(events);
+    }
+  }
+
+  /**
+   * Answer a new view of my encoded events that holds a reference to them until released.
+   * @return ConsumerByteBuffer
+   */
+  ConsumerByteBuffer view() {
+    if (references.getAndIncrement() <= 0) {
+      references.decrementAndGet();
+      throw new IllegalStateException("SseBroadcast is already released.");
+    }
+    return new SseBuffer(encoded.asByteBuffer().duplicate(), this::dereference);
+  }
+
+  private SseBroadcast(final CharSequence encodable, final Collection<SseEvent> events, final String lastEventId) {
+    final int length = ResponseEncoder.encodedLength(encodable);
+    this.encoded = SseClient.bufferFor(SseClient.directBufferPool(), length);
+    ResponseEncoder.encode(encodable, encoded.asByteBuffer());
+    encoded.flip();
+
+    this.events = events;
+    this.lastEventId = lastEventId;
+    this.references = new AtomicInteger(1);
+    this.retained = new AtomicBoolean(false);
+  }
+
+  private void dereference() {
+    if (references.decrementAndGet() == 0) {
+      encoded.release();
+    }
+  }
+}
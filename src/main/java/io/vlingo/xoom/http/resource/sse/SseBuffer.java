@@ -0,0 +1,94 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+
+/**
+ * A read-only {@code ConsumerByteBuffer} over encoded events that runs its
+ * {@code released} action once, when the channel has written and released it.
+ */
+final class SseBuffer extends BasicConsumerByteBuffer {
+  private final ByteBuffer buffer;
+  private final Runnable released;
+  private final AtomicBoolean releasedOnce;
+
+  SseBuffer(final ByteBuffer buffer, final Runnable released) {
+    super(0, 0);
+    this.buffer = buffer;
+    this.released = released;
+    this.releasedOnce = new AtomicBoolean(false);
+  }
+
+  @Override
+  public byte[] array() {
+    return buffer.array();
+  }
+
+  @Override
+  public ByteBuffer asByteBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public int capacity() {
+    return buffer.capacity();
+  }
+
+  @Override
+  public SseBuffer clear() {
+    buffer.clear();
+    return this;
+  }
+
+  @Override
+  public SseBuffer flip() {
+    buffer.flip();
+    return this;
+  }
+
+  @Override
+  public boolean hasRemaining() {
+    return buffer.hasRemaining();
+  }
+
+  @Override
+  public int limit() {
+    return buffer.limit();
+  }
+
+  @Override
+  public int position() {
+    return buffer.position();
+  }
+
+  @Override
+  public SseBuffer put(final byte[] bytes) {
+    throw new UnsupportedOperationException("Encoded events are read-only.");
+  }
+
+  @Override
+  public SseBuffer put(final ByteBuffer bytes) {
+    throw new UnsupportedOperationException("Encoded events are read-only.");
+  }
+
+  @Override
+  public void release() {
+    if (releasedOnce.compareAndSet(false, true)) {
+      released.run();
+    }
+  }
+
+  @Override
+  public int remaining() {
+    return buffer.remaining();
+  }
+}
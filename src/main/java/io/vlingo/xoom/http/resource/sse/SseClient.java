@@ -9,13 +9,18 @@ package io.vlingo.xoom.http.resource.sse;
 
 import static io.vlingo.xoom.http.Response.Status.Ok;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseEncoder;
 import io.vlingo.xoom.http.ResponseHeader;
 import io.vlingo.xoom.http.resource.Configuration;
+import io.vlingo.xoom.http.resource.ResponseBufferPool;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
 import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
@@ -35,15 +40,37 @@ public class SseClient {
     headers.and(Connection).and(ContentType).and(CacheControl);
   }
 
+  private static ResponseBufferPool directBufferPool;
+
+  private final Deque<ConsumerByteBuffer> backlog;
+  private int backlogBytes;
+  private final ResponseBufferPool bufferPool;
   private final StringBuilder builder;
+  private boolean closed;
   private final RequestResponseContext<?> context;
-  private final int maxMessageSize;
+  private final AtomicLong outstanding;
+  private final SseOverflow overflow;
+  private volatile SseReplayBuffer replay;
 
   public SseClient(final RequestResponseContext<?> context, final Headers<ResponseHeader> extraHeaders) {
+    this(context, extraHeaders, SseOverflow.Unbounded);
+  }
+
+  /**
+   * Construct my state, tracking the bytes written to {@code context} but not yet
+   * released by its channel, and applying {@code overflow} once they exceed its threshold.
+   * @param context the {@code RequestResponseContext<?>} of my connection
+   * @param extraHeaders the {@code Headers<ResponseHeader>} to add to my initial response
+   * @param overflow the SseOverflow of my stream
+   */
+  public SseClient(final RequestResponseContext<?> context, final Headers<ResponseHeader> extraHeaders, final SseOverflow overflow) {
     this.context = context;
     headers.and(extraHeaders);
     this.builder = new StringBuilder();
-    this.maxMessageSize = Configuration.instance.sizing().maxMessageSize;
+    this.bufferPool = directBufferPool();
+    this.overflow = overflow;
+    this.outstanding = new AtomicLong(0);
+    this.backlog = new ArrayDeque<>();
 
     sendInitialResponse();
   }
@@ -53,6 +80,10 @@ public class SseClient {
   }
 
   public void close() {
+    synchronized (this) {
+      closed = true;
+      releaseBacklog();
+    }
     context.abandon();
   }
 
@@ -60,7 +91,29 @@ public class SseClient {
     return context.id();
   }
 
+  /**
+   * Answer the number of bytes sent to my connection that its channel has not yet
+   * released, which is tracked only if my {@code SseOverflow} is bounded.
+   * @return long
+   */
+  public long outstandingBytes() {
+    return outstanding.get();
+  }
+
+  /**
+   * Answer the number of bytes held back from my connection by my {@code SseOverflow}
+   * until enough of those outstanding are released.
+   * @return int
+   */
+  public synchronized int backlogBytes() {
+    return backlogBytes;
+  }
+
   public void send(final SseEvent event) {
+    final SseReplayBuffer replay = this.replay;
+    if (replay != null) {
+      replay.append(event);
+    }
     send(event.sendable());
   }
 
@@ -69,19 +122,122 @@ public class SseClient {
   }
 
   public void send(final Collection<SseEvent> events) {
+    final SseReplayBuffer replay = this.replay;
+    if (replay != null) {
+      replay.append(events);
+    }
     final String entity = flatten(events);
     send(entity);
   }
 
+  /**
+   * Send the events of {@code broadcast}, which are encoded only once for all clients.
+   * @param broadcast the SseBroadcast to send
+   */
+  public void send(final SseBroadcast broadcast) {
+    final SseReplayBuffer replay = this.replay;
+    if (replay != null) {
+      broadcast.retainIn(replay);
+    }
+    respondWith(broadcast.view());
+  }
+
+  /**
+   * Retain the events sent to me in {@code replay}, such that those sent by an
+   * {@code SseFeed} can be replayed as well as those published to my stream.
+   * @param replay the SseReplayBuffer of my stream
+   */
+  void replayTo(final SseReplayBuffer replay) {
+    this.replay = replay;
+  }
+
   private void send(final String entity) {
-    final ConsumerByteBuffer buffer = BasicConsumerByteBuffer.allocate(1, maxMessageSize);
-    context.respondWith(buffer.put(entity.getBytes()).flip());
+    final ConsumerByteBuffer buffer = bufferFor(bufferPool, ResponseEncoder.encodedLength(entity));
+    ResponseEncoder.encode(entity, buffer.asByteBuffer());
+    respondWith(buffer.flip());
+  }
+
+  private void respondWith(final ConsumerByteBuffer buffer) {
+    if (!overflow.isBounded()) {
+      context.respondWith(buffer);
+      return;
+    }
+
+    synchronized (this) {
+      if (closed) {
+        buffer.release();
+        return;
+      }
+
+      if (backlog.isEmpty() && outstanding.get() <= overflow.threshold) {
+        write(buffer);
+        return;
+      }
+
+      switch (overflow.policy) {
+      case Disconnect:
+        buffer.release();
+        overflow.disconnected();
+        break;
+      case CoalesceToLatest:
+        while (!backlog.isEmpty()) {
+          final ConsumerByteBuffer coalesced = backlog.poll();
+          backlogBytes -= coalesced.limit();
+          coalesced.release();
+          overflow.coalesced();
+        }
+        hold(buffer);
+        return;
+      case DropOldest:
+        hold(buffer);
+        while (backlogBytes > overflow.threshold && backlog.size() > 1) {
+          final ConsumerByteBuffer oldest = backlog.poll();
+          backlogBytes -= oldest.limit();
+          oldest.release();
+          overflow.dropped();
+        }
+        return;
+      }
+    }
+
+    close();
+  }
+
+  private void hold(final ConsumerByteBuffer buffer) {
+    backlog.add(buffer);
+    backlogBytes += buffer.limit();
+  }
+
+  private void releaseBacklog() {
+    while (!backlog.isEmpty()) {
+      backlog.poll().release();
+    }
+    backlogBytes = 0;
+  }
+
+  private void write(final ConsumerByteBuffer buffer) {
+    final int length = buffer.limit();
+    outstanding.addAndGet(length);
+    context.respondWith(new SseBuffer(buffer.asByteBuffer(), () -> written(buffer, length)));
+  }
+
+  private void written(final ConsumerByteBuffer buffer, final int length) {
+    buffer.release();
+    outstanding.addAndGet(-length);
+
+    synchronized (this) {
+      while (!closed && !backlog.isEmpty() && outstanding.get() <= overflow.threshold) {
+        final ConsumerByteBuffer next = backlog.poll();
+        backlogBytes -= next.limit();
+        write(next);
+      }
+    }
   }
 
   private void sendInitialResponse() {
     try {
       final Response response = Response.of(Ok, headers.copy());
-      final ConsumerByteBuffer buffer = BasicConsumerByteBuffer.allocate(1, maxMessageSize);
+      final ConsumerByteBuffer buffer = bufferFor(bufferPool, response.size());
       context.respondWith(response.into(buffer));
     } catch (Exception e) {
       // it's possible that I am being used for an unsubscribe
@@ -90,6 +246,29 @@ public class SseClient {
     }
   }
 
+  /**
+   * Answer a buffer for {@code size} bytes, which is a pooled direct buffer when
+   * {@code Sizing#directBuffers} is configured and one is large enough, or otherwise
+   * a heap buffer of exactly {@code size} bytes.
+   */
+  static ConsumerByteBuffer bufferFor(final ResponseBufferPool bufferPool, final int size) {
+    if (bufferPool != null && size <= bufferPool.largestBufferSize()) {
+      return bufferPool.acquire(size);
+    }
+    return BasicConsumerByteBuffer.allocate(1, size);
+  }
+
+  static synchronized ResponseBufferPool directBufferPool() {
+    final Configuration configuration = Configuration.instance;
+    if (configuration == null || !configuration.sizing().directBuffers) {
+      return null;
+    }
+    if (directBufferPool == null) {
+      directBufferPool = new ResponseBufferPool(configuration.sizing().responseBufferSizeClasses(), true);
+    }
+    return directBufferPool;
+  }
+
   private String flatten(final Collection<SseEvent> events) {
     builder.delete(0, builder.length());
 
@@ -14,8 +14,13 @@ public class SseConfiguration {
   private Class<? extends Actor> feedClass;
   private int interval;
   private String name;
+  private SseOverflow.Policy overflowPolicy;
+  private int overflowThreshold;
   private int payloadCount;
   private int poolSize;
+  private long replayAge;
+  private int replayDepth;
+  private int shards;
   private String streamURI;
 
   public static SseConfiguration define() {
@@ -36,6 +41,13 @@ public class SseConfiguration {
     return this;
   }
 
+  /**
+   * Answer myself with the {@code feedClass} whose {@code SseFeed} is polled every
+   * {@code interval} milliseconds, or with none for a stream whose events are only
+   * pushed by {@code SseStreamResource#publish(String, SseEvent...)}.
+   * @param feedClass the {@code Class<? extends Actor>} of the feed, or null
+   * @return SseConfiguration
+   */
   public SseConfiguration with(final Class<? extends Actor> feedClass) {
     this.feedClass = feedClass;
     return this;
@@ -61,6 +73,55 @@ public class SseConfiguration {
     return this;
   }
 
+  /**
+   * Answer myself with the {@code overflowPolicy} to apply to a subscriber once the bytes
+   * written to it but not yet sent exceed {@code overflowThreshold}, where a threshold
+   * of 0 leaves subscribers unbounded.
+   * @param overflowPolicy the SseOverflow.Policy to apply
+   * @param overflowThreshold the int number of outstanding bytes per subscriber
+   * @return SseConfiguration
+   */
+  public SseConfiguration withOverflow(final SseOverflow.Policy overflowPolicy, final int overflowThreshold) {
+    this.overflowPolicy = overflowPolicy;
+    this.overflowThreshold = overflowThreshold;
+    return this;
+  }
+
+  /**
+   * Answer myself with {@code shards}, the number of publisher actors across which the
+   * subscribers of the stream are partitioned by the hash of their id, each delivering
+   * to its own subscribers in parallel with the others.
+   * @param shards the int number of publisher shards, which is 1 by default
+   * @return SseConfiguration
+   */
+  public SseConfiguration withShards(final int shards) {
+    this.shards = shards;
+    return this;
+  }
+
+  /**
+   * Answer myself with {@code replayDepth}, the number of recent events, whether
+   * published or sent by the feed, that are retained to be replayed to a subscriber
+   * reconnecting with a {@code Last-Event-ID}, where 0 retains none.
+   * @param replayDepth the int number of events to retain
+   * @return SseConfiguration
+   */
+  public SseConfiguration withReplayDepth(final int replayDepth) {
+    this.replayDepth = replayDepth;
+    return this;
+  }
+
+  /**
+   * Answer myself with {@code replayAge}, the milliseconds for which a sent event
+   * is retained for replay, where 0 retains it until evicted by {@code replayDepth}.
+   * @param replayAge the long milliseconds to retain events
+   * @return SseConfiguration
+   */
+  public SseConfiguration withReplayAge(final long replayAge) {
+    this.replayAge = replayAge;
+    return this;
+  }
+
   public String defaultId() {
     return defaultId;
   }
@@ -77,6 +138,14 @@ public class SseConfiguration {
     return name;
   }
 
+  public SseOverflow.Policy overflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public int overflowThreshold() {
+    return overflowThreshold;
+  }
+
   public int payloadCount() {
     return payloadCount;
   }
@@ -85,12 +154,24 @@ public class SseConfiguration {
     return poolSize;
   }
 
+  public long replayAge() {
+    return replayAge;
+  }
+
+  public int replayDepth() {
+    return replayDepth;
+  }
+
+  public int shards() {
+    return shards;
+  }
+
   public String streamURI() {
     return streamURI;
   }
 
   public boolean isConfigured() {
-    return !streamURI.isEmpty() && feedClass != null && payloadCount > 0 && interval > 0 && poolSize > 0;
+    return !streamURI.isEmpty() && (feedClass == null || payloadCount > 0) && interval >= 0 && poolSize > 0 && replayDepth >= 0 && replayAge >= 0 && overflowThreshold >= 0 && shards > 0;
   }
 
   private SseConfiguration(final String name, final String streamURI, Class<? extends Actor> feedClass, final String defaultId, final int payloadCount, final int interval, final int poolSize) {
@@ -101,5 +182,7 @@ public class SseConfiguration {
     this.payloadCount = payloadCount;
     this.interval = interval;
     this.poolSize = poolSize;
+    this.overflowPolicy = SseOverflow.Policy.DropOldest;
+    this.shards = 1;
   }
 }
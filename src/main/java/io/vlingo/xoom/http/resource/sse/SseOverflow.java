@@ -0,0 +1,136 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The treatment of a slow subscriber of a stream, being one whose written but not
+ * yet sent bytes exceed my {@code threshold}, along with counts of how often each
+ * treatment has been applied to the subscribers of the stream. A {@code threshold}
+ * of 0 leaves subscribers unbounded, which is my {@code Unbounded} instance.
+ */
+public final class SseOverflow {
+  public static final SseOverflow Unbounded = new SseOverflow(Policy.DropOldest, 0);
+
+  public final Policy policy;
+  public final int threshold;
+
+  private final LongAdder coalesced;
+  private final LongAdder disconnected;
+  private final LongAdder dropped;
+
+  /**
+   * Answer a new {@code SseOverflow} with {@code policy} and {@code threshold}.
+   * @param policy the Policy to apply once threshold is exceeded
+   * @param threshold the int number of outstanding bytes of a subscriber, or 0 for no limit
+   * @return SseOverflow
+   */
+  public static SseOverflow of(final Policy policy, final int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("SSE overflow threshold must not be negative: " + threshold);
+    }
+    return threshold == 0 ? Unbounded : new SseOverflow(policy, threshold);
+  }
+
+  /**
+   * Answer the number of pending sends that were replaced by a later send.
+   * @return long
+   */
+  public long coalescedCount() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Answer the number of subscribers that were disconnected.
+   * @return long
+   */
+  public long disconnectedCount() {
+    return disconnected.sum();
+  }
+
+  /**
+   * Answer the number of pending sends that were dropped to make room for later sends.
+   * @return long
+   */
+  public long droppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Answer whether or not my subscribers have a limit of outstanding bytes.
+   * @return boolean
+   */
+  public boolean isBounded() {
+    return threshold > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "SseOverflow[policy=" + policy + " threshold=" + threshold + " dropped=" + droppedCount() +
+            " coalesced=" + coalescedCount() + " disconnected=" + disconnectedCount() + "]";
+  }
+
+  void coalesced() {
+    coalesced.increment();
+  }
+
+  void disconnected() {
+    disconnected.increment();
+  }
+
+  void dropped() {
+    dropped.increment();
+  }
+
+  private SseOverflow(final Policy policy, final int threshold) {
+    this.policy = policy;
+    this.threshold = threshold;
+    this.coalesced = new LongAdder();
+    this.disconnected = new LongAdder();
+    this.dropped = new LongAdder();
+  }
+
+  /**
+   * The treatment of a subscriber whose outstanding bytes exceed the threshold.
+   */
+  public enum Policy {
+    /**
+     * Hold further sends until the subscriber catches up, dropping the oldest
+     * held sends once those held exceed the threshold.
+     */
+    DropOldest,
+
+    /**
+     * Hold only the latest send until the subscriber catches up, replacing any
+     * send already held.
+     */
+    CoalesceToLatest,
+
+    /**
+     * Close the subscriber's connection.
+     */
+    Disconnect;
+
+    /**
+     * Answer the {@code Policy} named by {@code name}, ignoring case, {@code '-'},
+     * and {@code '_'}, such that {@code "drop-oldest"} names {@code DropOldest}.
+     * @param name the String name of the Policy
+     * @return Policy
+     */
+    public static Policy from(final String name) {
+      final String normalized = name.trim().replace("-", "").replace("_", "");
+      for (final Policy policy : values()) {
+        if (policy.name().equalsIgnoreCase(normalized)) {
+          return policy;
+        }
+      }
+      throw new IllegalArgumentException("Unknown SSE overflow policy: " + name);
+    }
+  }
+}
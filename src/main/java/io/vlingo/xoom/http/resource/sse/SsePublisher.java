@@ -13,6 +13,19 @@ import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.http.resource.sse.SseStreamResource.SsePublisherActor;
 
 public interface SsePublisher extends Stoppable {
+  /**
+   * Send {@code events} to all current subscribers as soon as they are received,
+   * encoding them only once regardless of the number of subscribers.
+   * @param events the SseEvent... to publish
+   */
+  void publish(final SseEvent... events);
+
+  /**
+   * Send {@code broadcast}, which is already encoded and retained for replay, to all
+   * current subscribers, and then release my reference to it.
+   * @param broadcast the SseBroadcast to send
+   */
+  void publish(final SseBroadcast broadcast);
   void subscribe(final SseSubscriber subscriber);
   void unsubscribe(final SseSubscriber subscriber);
 
@@ -24,18 +37,48 @@ public interface SsePublisher extends Stoppable {
     private final int feedPayload;
     private final int feedInterval;
     private final String feedDefaultId;
+    private final int replayDepth;
+    private final long replayAge;
 
     public SsePublisherInstantiator(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId) {
+      this(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, 0, 0);
+    }
+
+    public SsePublisherInstantiator(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge) {
       this.streamName = streamName;
       this.feedClass = feedClass;
       this.feedPayload = feedPayload;
       this.feedInterval = feedInterval;
       this.feedDefaultId = feedDefaultId;
+      this.replayDepth = replayDepth;
+      this.replayAge = replayAge;
+    }
+
+    @Override
+    public SsePublisherActor instantiate() {
+      return new SsePublisherActor(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge);
+    }
+
+    @Override
+    public Class<SsePublisherActor> type() {
+      return SsePublisherActor.class;
+    }
+  }
+
+  static class SsePublisherShardInstantiator implements ActorInstantiator<SsePublisherActor> {
+    private static final long serialVersionUID = 6182390847122301447L;
+
+    private final String streamName;
+    private final transient SseReplayBuffer replay;
+
+    public SsePublisherShardInstantiator(final String streamName, final SseReplayBuffer replay) {
+      this.streamName = streamName;
+      this.replay = replay;
     }
 
     @Override
     public SsePublisherActor instantiate() {
-      return new SsePublisherActor(streamName, feedClass, feedPayload, feedInterval, feedDefaultId);
+      return new SsePublisherActor(streamName, replay);
     }
 
     @Override
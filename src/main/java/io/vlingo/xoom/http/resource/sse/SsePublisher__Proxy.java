@@ -16,6 +16,8 @@ public class SsePublisher__Proxy implements io.vlingo.xoom.http.resource.sse.Sse
   private static final String subscribeRepresentation1 = "subscribe(io.vlingo.xoom.http.resource.sse.SseSubscriber)";
   private static final String unsubscribeRepresentation2 = "unsubscribe(io.vlingo.xoom.http.resource.sse.SseSubscriber)";
   private static final String stopRepresentation3 = "stop()";
+  private static final String publishRepresentation4 = "publish(io.vlingo.xoom.http.resource.sse.SseEvent[])";
+  private static final String publishRepresentation5 = "publish(io.vlingo.xoom.http.resource.sse.SseBroadcast)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -25,6 +27,26 @@ public class SsePublisher__Proxy implements io.vlingo.xoom.http.resource.sse.Sse
     this.mailbox = mailbox;
   }
 
+  @Override
+  public void publish(io.vlingo.xoom.http.resource.sse.SseEvent... arg0) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<SsePublisher> consumer = (actor) -> actor.publish(arg0);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, SsePublisher.class, consumer, null, publishRepresentation4); }
+      else { mailbox.send(new LocalMessage<SsePublisher>(actor, SsePublisher.class, consumer, publishRepresentation4)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, publishRepresentation4));
+    }
+  }
+  @Override
+  public void publish(io.vlingo.xoom.http.resource.sse.SseBroadcast arg0) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<SsePublisher> consumer = (actor) -> actor.publish(arg0);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, SsePublisher.class, consumer, null, publishRepresentation5); }
+      else { mailbox.send(new LocalMessage<SsePublisher>(actor, SsePublisher.class, consumer, publishRepresentation5)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, publishRepresentation5));
+    }
+  }
   @Override
   public void subscribe(io.vlingo.xoom.http.resource.sse.SseSubscriber arg0) {
     if (!actor.isStopped()) {
@@ -0,0 +1,136 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A bounded ring of the most recently sent {@code SseEvent} instances of a stream,
+ * from which a subscriber that reconnects with a {@code Last-Event-ID} is sent the
+ * events that it missed. At most {@code depth} events are retained, and an event
+ * older than {@code maxAge} milliseconds is treated as evicted. Only events that
+ * have an id are retained, because only those can be resumed from, and an event
+ * whose id is already retained is not retained again.
+ * <p>
+ * I am used by my publisher actor for the events that it publishes, and by the
+ * {@code SseClient} of each of its subscribers for the events that an {@code SseFeed}
+ * sends to them on its own thread, and so my methods are synchronized. A feed that
+ * sends the same events to every subscriber has them retained only once.
+ */
+public final class SseReplayBuffer {
+  private final SseEvent[] events;
+  private final Set<String> ids;
+  private final long maxAge;
+  private int next;
+  private int size;
+  private final long[] timestamps;
+
+  /**
+   * Construct my state with {@code depth} and {@code maxAge}.
+   * @param depth the int maximum number of events to retain, which must be positive
+   * @param maxAge the long maximum age in milliseconds of a retained event, or 0 for no maximum
+   */
+  public SseReplayBuffer(final int depth, final long maxAge) {
+    if (depth <= 0) {
+      throw new IllegalArgumentException("SSE replay depth must be positive: " + depth);
+    }
+    if (maxAge < 0) {
+      throw new IllegalArgumentException("SSE replay age must not be negative: " + maxAge);
+    }
+    this.events = new SseEvent[depth];
+    this.ids = new HashSet<>();
+    this.maxAge = maxAge;
+    this.timestamps = new long[depth];
+  }
+
+  /**
+   * Retain {@code event} if it has an id, evicting my oldest event if I am full.
+   * @param event the SseEvent to retain
+   */
+  public void append(final SseEvent event) {
+    append(event, System.currentTimeMillis());
+  }
+
+  /**
+   * Retain each of {@code events} as by {@code append(event)}, in order.
+   * @param events the {@code Collection<SseEvent>} to retain
+   */
+  public synchronized void append(final Collection<SseEvent> events) {
+    final long now = System.currentTimeMillis();
+    for (final SseEvent event : events) {
+      append(event, now);
+    }
+  }
+
+  /**
+   * Answer the retained events that follow the event identified by {@code lastEventId},
+   * oldest first, or {@code null} if that event is not retained, in which case the
+   * events that were missed are unknown to me.
+   * @param lastEventId the String id of the last event received by the subscriber
+   * @return {@code List<SseEvent>}
+   */
+  public List<SseEvent> after(final String lastEventId) {
+    return after(lastEventId, System.currentTimeMillis());
+  }
+
+  /**
+   * Answer the number of events that I retain, including any that have expired.
+   * @return int
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  synchronized void append(final SseEvent event, final long now) {
+    if (!event.hasId() || !ids.add(event.id)) {
+      return;
+    }
+    if (size == events.length) {
+      ids.remove(events[next].id);
+    }
+    events[next] = event;
+    timestamps[next] = now;
+    next = (next + 1) % events.length;
+    if (size < events.length) {
+      ++size;
+    }
+  }
+
+  synchronized List<SseEvent> after(final String lastEventId, final long now) {
+    if (lastEventId == null || lastEventId.isEmpty()) {
+      return null;
+    }
+
+    final int oldest = (next - size + events.length) % events.length;
+    final long expiredAt = maxAge == 0 ? Long.MIN_VALUE : now - maxAge;
+
+    for (int count = size; count > 0; --count) {
+      final int index = (oldest + count - 1) % events.length;
+      if (timestamps[index] < expiredAt) {
+        return null;
+      }
+      if (events[index].id.equals(lastEventId)) {
+        if (count == size) {
+          return Collections.emptyList();
+        }
+        final List<SseEvent> missed = new ArrayList<>(size - count);
+        for (int following = count; following < size; ++following) {
+          missed.add(events[(oldest + following) % events.length]);
+        }
+        return missed;
+      }
+    }
+
+    return null;
+  }
+}
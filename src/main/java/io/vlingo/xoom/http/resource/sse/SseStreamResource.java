@@ -12,19 +12,25 @@ import static io.vlingo.xoom.http.ResponseHeader.correlationId;
 import static io.vlingo.xoom.http.ResponseHeader.headers;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.ActorInstantiatorRegistry;
 import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.common.Cancellable;
 import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.common.Scheduler;
 import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
@@ -33,17 +39,86 @@ import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.ResponseHeader;
 import io.vlingo.xoom.http.resource.ResourceHandler;
 import io.vlingo.xoom.http.resource.sse.SsePublisher.SsePublisherInstantiator;
+import io.vlingo.xoom.http.resource.sse.SsePublisher.SsePublisherShardInstantiator;
 import io.vlingo.xoom.wire.channel.RequestResponseContext;
 
 public class SseStreamResource extends ResourceHandler {
+  private static final Map<String,Function<World,SsePublisher>> configurations = new ConcurrentHashMap<>();
+  private static final Map<String,SseOverflow> overflows = new ConcurrentHashMap<>();
   private static final Map<String,SsePublisher> publishers = new ConcurrentHashMap<>();
+  private static volatile World publishingWorld;
   private final World world;
 
   public SseStreamResource(final World world) {
     this.world = world;
+    publishingWorld = world;
+  }
+
+  /**
+   * Configure the stream named {@code streamName} as it is loaded, such that its publisher
+   * is started by its first {@code publish(streamName, events)} even if it has no subscriber
+   * yet, and so retains those events for replay if {@code replayDepth} is positive.
+   * @param streamName the String name of the stream
+   * @param feedClass the {@code Class<? extends Actor>} of the SseFeed, or null if push-only
+   * @param feedPayload the int number of events sent by the feed at each interval
+   * @param feedInterval the int milliseconds between intervals of the feed
+   * @param feedDefaultId the String id of the first event of the feed
+   * @param replayDepth the int maximum number of events retained for replay
+   * @param replayAge the long maximum age in milliseconds of a retained event, or 0
+   * @param shards the int number of shards of the subscribers
+   */
+  public static void configure(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge, final int shards) {
+    configurations.put(streamName, world -> publisherFor(world, streamName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge, shards));
+  }
+
+  /**
+   * Publish {@code events} to the subscribers of the stream named {@code streamName},
+   * answering whether the stream has a publisher. A stream that is neither configured
+   * by way of the {@code Loader} nor subscribed to has no publisher, and so no one to
+   * receive the {@code events}. The publisher of a configured stream is started by its
+   * first publish, such that its replay holds the events published before any subscriber.
+   * @param streamName the String name of the stream
+   * @param events the SseEvent... to publish
+   * @return boolean
+   */
+  public static boolean publish(final String streamName, final SseEvent... events) {
+    SsePublisher publisher = publishers.get(streamName);
+    if (publisher == null) {
+      final Function<World,SsePublisher> configuration = configurations.get(streamName);
+      final World world = publishingWorld;
+      if (configuration == null || world == null) {
+        return false;
+      }
+      publisher = configuration.apply(world);
+    }
+    publisher.publish(events);
+    return true;
+  }
+
+  /**
+   * Answer the {@code SseOverflow} of the stream named {@code streamName}, with its
+   * counts of the slow subscribers it has treated, or {@code SseOverflow.Unbounded}
+   * if the stream has had no subscribers.
+   * @param streamName the String name of the stream
+   * @return SseOverflow
+   */
+  public static SseOverflow overflowOf(final String streamName) {
+    return overflows.getOrDefault(streamName, SseOverflow.Unbounded);
   }
 
   public void subscribeToStream(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId) {
+    subscribeToStream(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, 0, 0);
+  }
+
+  public void subscribeToStream(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge) {
+    subscribeToStream(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge, SseOverflow.Policy.DropOldest.name(), 0);
+  }
+
+  public void subscribeToStream(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge, final String overflowPolicy, final int overflowThreshold) {
+    subscribeToStream(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge, overflowPolicy, overflowThreshold, 1);
+  }
+
+  public void subscribeToStream(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge, final String overflowPolicy, final int overflowThreshold, final int shards) {
     final RequestResponseContext<?> clientContext = context().clientContext();
 
     clientContext.whenClosing(unsubscribeRequest());
@@ -54,11 +129,11 @@ public class SseStreamResource extends ResourceHandler {
     final SseSubscriber subscriber =
             new SseSubscriber(
                     streamName,
-                    new SseClient(clientContext, headers),
+                    new SseClient(clientContext, headers, overflowFor(streamName, overflowPolicy, overflowThreshold)),
                     correlationId,
                     context().request().headerValueOr(RequestHeader.LastEventID, ""));
 
-    publisherFor(streamName, feedClass, feedPayload, feedInterval, feedDefaultId).subscribe(subscriber);
+    publisherFor(world, streamName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge, shards).subscribe(subscriber);
   }
 
   public void unsubscribeFromStream(final String streamName, final String id) {
@@ -70,10 +145,25 @@ public class SseStreamResource extends ResourceHandler {
     completes().with(Response.of(Ok));
   }
 
-  private SsePublisher publisherFor(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId) {
+  private SseOverflow overflowFor(final String streamName, final String overflowPolicy, final int overflowThreshold) {
+    return overflows.computeIfAbsent(streamName, name -> SseOverflow.of(SseOverflow.Policy.from(overflowPolicy), overflowThreshold));
+  }
+
+  private static SsePublisher publisherFor(final World world, final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge, final int shards) {
     SsePublisher publisher = publishers.get(streamName);
     if (publisher == null) {
-      publisher = world.actorFor(SsePublisher.class, Definition.has(SsePublisherActor.class, new SsePublisherInstantiator(streamName, feedClass, feedPayload, feedInterval, feedDefaultId)));
+      if (shards <= 1) {
+        publisher = world.actorFor(SsePublisher.class, Definition.has(SsePublisherActor.class, new SsePublisherInstantiator(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, replayDepth, replayAge)));
+      } else {
+        // the feed and replay are of the stream, and the shards hold only its subscribers
+        final SseReplayBuffer replay = replayDepth > 0 ? new SseReplayBuffer(replayDepth, replayAge) : null;
+        final SsePublisher[] shardPublishers = new SsePublisher[shards];
+        for (int shard = 0; shard < shardPublishers.length; ++shard) {
+          shardPublishers[shard] = world.actorFor(SsePublisher.class, Definition.has(SsePublisherActor.class, new SsePublisherShardInstantiator(streamName, replay)));
+        }
+        final SseFeed feed = feedFor(world.stage(), streamName, feedClass, feedPayload, feedInterval, feedDefaultId);
+        publisher = new ShardedSsePublisher(shardPublishers, replay, feed, feedInterval, world.stage().scheduler());
+      }
       final SsePublisher presentPublisher = publishers.putIfAbsent(streamName, publisher);
       if (presentPublisher != null) {
         publisher.stop();
@@ -83,6 +173,25 @@ public class SseStreamResource extends ResourceHandler {
     return publisher;
   }
 
+  /**
+   * Answer a new {@code SseFeed} of {@code feedClass} for the stream named {@code streamName},
+   * or {@code null} if {@code feedClass} is {@code null} or {@code feedInterval} is not positive.
+   */
+  private static SseFeed feedFor(final Stage stage, final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId) {
+    if (feedClass == null || feedInterval <= 0) {
+      return null;
+    }
+
+    final ActorInstantiator<?> instantiator = ActorInstantiatorRegistry.instantiatorFor(feedClass);
+    if(instantiator==null)throw new IllegalArgumentException("No ActorInstantiator registred for feedClass="+feedClass.toString());
+    instantiator.set("feedClass", feedClass);
+    instantiator.set("streamName", streamName);
+    instantiator.set("feedPayload", feedPayload);
+    instantiator.set("feedDefaultId", feedDefaultId);
+
+    return stage.actorFor(SseFeed.class, Definition.has(feedClass, instantiator));
+  }
+
   private Request unsubscribeRequest() {
     try {
       final String unsubscribePath = context().request().uri.getPath() + "/" + context().clientContext().id();
@@ -93,6 +202,136 @@ public class SseStreamResource extends ResourceHandler {
   }
 
 
+  //=====================================
+  // ShardedSsePublisher
+  //=====================================
+
+  /**
+   * An {@code SsePublisher} of a stream whose subscribers are partitioned across
+   * several {@code SsePublisherActor} shards by the hash of their id, such that each
+   * shard delivers to its own subscribers on its own thread. The feed, its schedule
+   * and the replay buffer are of the stream, and so are mine rather than my shards'.
+   * Events are encoded and retained for replay once, and the resulting broadcast is
+   * published to every shard. My feed is sent all subscribers of the stream once each
+   * interval. Subscribe and unsubscribe are routed to the owning shard.
+   */
+  public static class ShardedSsePublisher implements SsePublisher, Scheduled<Object> {
+    private final Cancellable cancellable;
+    private final SseFeed feed;
+    private final SseReplayBuffer replay;
+    private final SsePublisher[] shards;
+    private final Map<String,SseSubscriber> subscribers;
+
+    public ShardedSsePublisher(final SsePublisher[] shards) {
+      this(shards, null, null, 0, null);
+    }
+
+    /**
+     * Construct my state with {@code shards}, retaining published events in {@code replay}
+     * unless it is {@code null}, and sending {@code feed} all subscribers every
+     * {@code feedInterval} milliseconds by way of {@code scheduler} unless it is {@code null}.
+     */
+    public ShardedSsePublisher(final SsePublisher[] shards, final SseReplayBuffer replay, final SseFeed feed, final int feedInterval, final Scheduler scheduler) {
+      if (shards.length == 0) {
+        throw new IllegalArgumentException("Sharded SSE publisher requires at least one shard.");
+      }
+      this.shards = shards;
+      this.replay = replay;
+      this.feed = feed;
+      this.subscribers = new ConcurrentHashMap<>();
+      this.cancellable = feed == null ? null : scheduler.schedule(this, null, 10, feedInterval);
+    }
+
+    @Override
+    public void publish(final SseEvent... events) {
+      if (subscribers.isEmpty() || events.length == 0) {
+        if (replay != null) {
+          replay.append(Arrays.asList(events));
+        }
+        return;
+      }
+      publish(SseBroadcast.of(events));
+    }
+
+    @Override
+    public void publish(final SseBroadcast broadcast) {
+      if (replay != null) {
+        broadcast.retainIn(replay);
+      }
+      try {
+        for (final SsePublisher shard : shards) {
+          shard.publish(broadcast.share());
+        }
+      } finally {
+        broadcast.release();
+      }
+    }
+
+    @Override
+    public void subscribe(final SseSubscriber subscriber) {
+      subscribers.put(subscriber.id(), subscriber);
+      shardOf(subscriber).subscribe(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(final SseSubscriber subscriber) {
+      subscribers.remove(subscriber.id());
+      shardOf(subscriber).unsubscribe(subscriber);
+    }
+
+    @Override
+    public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+      feed.to(new ArrayList<>(subscribers.values()));
+    }
+
+    @Override
+    public void conclude() {
+      cancelFeed();
+      for (final SsePublisher shard : shards) {
+        shard.conclude();
+      }
+    }
+
+    @Override
+    public boolean isStopped() {
+      for (final SsePublisher shard : shards) {
+        if (!shard.isStopped()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void stop() {
+      cancelFeed();
+      for (final SsePublisher shard : shards) {
+        shard.stop();
+      }
+      subscribers.clear();
+    }
+
+    /**
+     * Answer the number of my shards.
+     * @return int
+     */
+    public int shardCount() {
+      return shards.length;
+    }
+
+    SsePublisher shardOf(final SseSubscriber subscriber) {
+      final String id = subscriber.id();
+      return shards[id == null ? 0 : Math.floorMod(id.hashCode(), shards.length)];
+    }
+
+    private void cancelFeed() {
+      if (cancellable != null) {
+        cancellable.cancel();
+      }
+    }
+  }
+
+
   //=====================================
   // SsePublisherActor
   //=====================================
@@ -100,22 +339,54 @@ public class SseStreamResource extends ResourceHandler {
   public static class SsePublisherActor extends Actor implements SsePublisher, Scheduled<Object>, Stoppable {
     private final Cancellable cancellable;
     private final SseFeed feed;
+    private final SseReplayBuffer replay;
     private final String streamName;
     private final Map<String,SseSubscriber> subscribers;
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Construct my state. My {@code feedClass} is sent {@code SseFeed#to(subscribers)}
+     * every {@code feedInterval} milliseconds, unless {@code feedClass} is {@code null}
+     * or {@code feedInterval} is not positive, in which case my subscribers receive
+     * only events sent to {@code publish(events)}.
+     */
     public SsePublisherActor(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId) {
+      this(streamName, feedClass, feedPayload, feedInterval, feedDefaultId, 0, 0);
+    }
+
+    /**
+     * Construct my state as a shard of a {@code ShardedSsePublisher}, with only my own
+     * subscribers and neither a feed nor a replay buffer of my own. The {@code replay}
+     * of the stream, unless {@code null}, is used only to send a subscriber the events
+     * that it missed, in the order of my other messages, and is retained in by the stream.
+     */
+    public SsePublisherActor(final String streamName, final SseReplayBuffer replay) {
       this.streamName = streamName;
       this.subscribers = new HashMap<>();
+      this.replay = replay;
+      this.feed = null;
+      this.cancellable = null;
+    }
 
-      final ActorInstantiator<?> instantiator = ActorInstantiatorRegistry.instantiatorFor(feedClass);
-      if(instantiator==null)throw new IllegalArgumentException("No ActorInstantiator registred for feedClass="+feedClass.toString());
-      instantiator.set("feedClass", feedClass);
-      instantiator.set("streamName", streamName);
-      instantiator.set("feedPayload", feedPayload);
-      instantiator.set("feedDefaultId", feedDefaultId);
+    /**
+     * Construct my state as above, also retaining up to {@code replayDepth} of the events
+     * most recently published by me or sent by my feed for at most {@code replayAge}
+     * milliseconds, or without an age limit if 0, to be replayed to subscribers that
+     * reconnect with the id of the last event they received. No events are retained
+     * if {@code replayDepth} is 0.
+     */
+    @SuppressWarnings("unchecked")
+    public SsePublisherActor(final String streamName, final Class<? extends Actor> feedClass, final int feedPayload, final int feedInterval, final String feedDefaultId, final int replayDepth, final long replayAge) {
+      this.streamName = streamName;
+      this.subscribers = new HashMap<>();
+      this.replay = replayDepth > 0 ? new SseReplayBuffer(replayDepth, replayAge) : null;
 
-      this.feed = stage().actorFor(SseFeed.class, Definition.has(feedClass, instantiator));
+      this.feed = feedFor(stage(), streamName, feedClass, feedPayload, feedInterval, feedDefaultId);
+
+      if (feed == null) {
+        this.cancellable = null;
+        logger().info("SsePublisher started without feed for: " + this.streamName);
+        return;
+      }
 
       this.cancellable = stage().scheduler().schedule(selfAs(Scheduled.class), null, 10, feedInterval);
 
@@ -127,9 +398,41 @@ public class SseStreamResource extends ResourceHandler {
     // SsePublisher
     //=====================================
 
+    @Override
+    public void publish(final SseEvent... events) {
+      if (subscribers.isEmpty() || events.length == 0) {
+        if (replay != null) {
+          replay.append(Arrays.asList(events));
+        }
+        return;
+      }
+      final SseBroadcast broadcast = SseBroadcast.of(events);
+      if (replay != null) {
+        broadcast.retainIn(replay);
+      }
+      broadcast.to(subscribers.values());
+    }
+
+    @Override
+    public void publish(final SseBroadcast broadcast) {
+      broadcast.to(subscribers.values());
+    }
+
     @Override
     public void subscribe(final SseSubscriber subscriber) {
       subscribers.put(subscriber.id(), subscriber);
+
+      if (replay != null) {
+        subscriber.client().replayTo(replay);
+      }
+
+      if (replay != null && subscriber.hasCurrentEventId()) {
+        final List<SseEvent> missed = replay.after(subscriber.currentEventId());
+        if (missed != null && !missed.isEmpty()) {
+          subscriber.client().send(missed);
+          subscriber.currentEventId(missed.get(missed.size() - 1).id);
+        }
+      }
     }
 
     @Override
@@ -157,7 +460,9 @@ public class SseStreamResource extends ResourceHandler {
 
     @Override
     public void stop() {
-      cancellable.cancel();
+      if (cancellable != null) {
+        cancellable.cancel();
+      }
 
       unsubscribeAll();
 
@@ -34,13 +34,13 @@ public class SseStreamResourceDispatcher extends ConfigurationResource<SseStream
 
     try {
       switch (mappedParameters.actionId) {
-      case 0: // GET /eventstreams/{streamName} subscribeToStream(String streamName, Class<? extends Actor> feedClass, int feedPayload, int feedInterval)
-        consumer = (handler) -> handler.subscribeToStream((String) mappedParameters.mapped.get(0).value, (Class<? extends Actor>) mappedParameters.mapped.get(1).value, (int) mappedParameters.mapped.get(2).value, (int) mappedParameters.mapped.get(3).value, (String) mappedParameters.mapped.get(4).value);
-        pooledHandler().handleFor(context, consumer);
+      case 0: // GET /eventstreams/{streamName} subscribeToStream(String streamName, Class<? extends Actor> feedClass, int feedPayload, int feedInterval, String feedDefaultId, int replayDepth, long replayAge, String overflowPolicy, int overflowThreshold, int shards)
+        consumer = (handler) -> handler.subscribeToStream((String) mappedParameters.mapped.get(0).value, (Class<? extends Actor>) mappedParameters.mapped.get(1).value, (int) mappedParameters.mapped.get(2).value, (int) mappedParameters.mapped.get(3).value, (String) mappedParameters.mapped.get(4).value, (int) mappedParameters.mapped.get(5).value, (long) mappedParameters.mapped.get(6).value, (String) mappedParameters.mapped.get(7).value, (int) mappedParameters.mapped.get(8).value, (int) mappedParameters.mapped.get(9).value);
+        pooledHandler(context).handleFor(context, consumer);
         break;
       case 1: // DELETE /eventstreams/{streamName}/{id} unsubscribeFromStream(String streamName, String id)
         consumer = (handler) -> handler.unsubscribeFromStream((String) mappedParameters.mapped.get(0).value, (String) mappedParameters.mapped.get(1).value);
-        pooledHandler().handleFor(context, consumer);
+        pooledHandler(context).handleFor(context, consumer);
         break;
       }
     } catch (Exception e) {
@@ -32,6 +32,18 @@ public class SseSubscriber {
     client.close();
   }
 
+  /**
+   * Send the events of {@code broadcast} to my client, and set my current
+   * event id to its last event id if it has one.
+   * @param broadcast the SseBroadcast to send
+   */
+  public void send(final SseBroadcast broadcast) {
+    client.send(broadcast);
+    if (!broadcast.lastEventId().isEmpty()) {
+      currentEventId = broadcast.lastEventId();
+    }
+  }
+
   public boolean isCompatibleWith(final String streamName) {
     return this.streamName.equals(streamName);
   }
@@ -7,8 +7,12 @@
 
 package io.vlingo.xoom.http;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 public class ChunkedBodyTest {
@@ -28,6 +32,20 @@ public class ChunkedBodyTest {
     assertTrue(body.content().contains(asChunk(Chunk2)));
   }
 
+  @Test
+  public void testThatChunksAreAnsweredWithoutFraming() {
+    final ChunkedBody body = Body.beginChunked().appendChunk(Chunk1).appendChunk(Chunk2);
+
+    assertEquals(Arrays.asList(Chunk1, Chunk2), body.chunks());
+    assertFalse(body.isEnded());
+
+    body.end();
+
+    assertEquals(Arrays.asList(Chunk1, Chunk2), body.chunks());
+    assertTrue(body.isEnded());
+    assertTrue(Body.beginChunked().end().isEnded());
+  }
+
   private String asChunk(final String content) {
     return Integer.toHexString(content.length()) + "\r\n" + content + "\r\n";
   }
@@ -0,0 +1,133 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.wire.message.Converters;
+
+public class RequestBodyStreamTest {
+  private final List<String> chunks = new ArrayList<>();
+  private Throwable failure;
+  private boolean completed;
+
+  @Test
+  public void testThatChunksAreDeliveredOnDemand() {
+    final RequestBodyStream stream = new RequestBodyStream(RequestBodyStream.DefaultMaximumBufferedBytes);
+    stream.subscribe(subscriber());
+
+    offer(stream, "one");
+    offer(stream, "two");
+    stream.complete();
+
+    assertTrue(chunks.isEmpty());
+
+    stream.request(1);
+    assertEquals(1, chunks.size());
+    assertEquals("one", chunks.get(0));
+    assertFalse(completed);
+
+    stream.request(1);
+    assertEquals(2, chunks.size());
+    assertEquals("two", chunks.get(1));
+    assertTrue(completed);
+  }
+
+  @Test
+  public void testThatUnrequestedContentBeyondMaximumFails() {
+    final RequestBodyStream stream = new RequestBodyStream(5);
+    stream.subscribe(subscriber());
+
+    offer(stream, "one");
+    offer(stream, "two");
+
+    assertTrue(stream.isFailed());
+    assertTrue(failure.getMessage().startsWith(Response.Status.PayloadTooLarge.toString()));
+    assertTrue(chunks.isEmpty());
+  }
+
+  @Test
+  public void testThatMaterializedBodyIsStreamed() {
+    final RequestBodyStream stream = RequestBodyStream.from(Body.from("content"));
+    stream.subscribe(subscriber());
+    stream.request(Long.MAX_VALUE);
+
+    assertEquals(1, chunks.size());
+    assertEquals("content", chunks.get(0));
+    assertTrue(completed);
+  }
+
+  @Test
+  public void testThatSourceSuspendsUntilDrained() {
+    final AtomicInteger resumed = new AtomicInteger(0);
+    final RequestBodyStream.Source source = RequestBodyStream.source(8, resumed::incrementAndGet);
+    final RequestBodyStream stream = RequestBodyStream.from(source.body());
+    stream.subscribe(subscriber());
+
+    assertTrue(source.offer(ByteBuffer.wrap(Converters.textToBytes("one"))));
+    assertFalse(source.offer(ByteBuffer.wrap(Converters.textToBytes("two"))));
+    assertEquals(0, resumed.get());
+
+    stream.request(1);
+    assertEquals(1, resumed.get());
+    assertEquals("one", chunks.get(0));
+
+    source.complete();
+    stream.request(1);
+    assertEquals("two", chunks.get(1));
+    assertTrue(completed);
+    assertEquals(1, resumed.get());
+  }
+
+  @Test
+  public void testThatCancelledSourceResumesAndDiscards() {
+    final AtomicInteger resumed = new AtomicInteger(0);
+    final RequestBodyStream.Source source = RequestBodyStream.source(8, resumed::incrementAndGet);
+
+    // never subscribed, such as by a handler answering before reading its body
+    assertTrue(source.offer(ByteBuffer.wrap(Converters.textToBytes("one"))));
+    assertFalse(source.offer(ByteBuffer.wrap(Converters.textToBytes("two"))));
+
+    source.cancel();
+    assertEquals(1, resumed.get());
+    assertTrue(source.offer(ByteBuffer.wrap(Converters.textToBytes("three"))));
+  }
+
+  private void offer(final RequestBodyStream stream, final String content) {
+    final byte[] bytes = Converters.textToBytes(content);
+    stream.offer(bytes, 0, bytes.length);
+  }
+
+  private RequestBodyStream.Subscriber subscriber() {
+    return new RequestBodyStream.Subscriber() {
+      @Override
+      public void onChunk(final ByteBuffer chunk) {
+        chunks.add(Converters.bytesToText(chunk.array(), chunk.position(), chunk.remaining()));
+      }
+
+      @Override
+      public void onCompleted() {
+        completed = true;
+      }
+
+      @Override
+      public void onFailure(final Throwable cause) {
+        failure = cause;
+      }
+    };
+  }
+}
@@ -8,6 +8,8 @@
 package io.vlingo.xoom.http;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -91,4 +93,12 @@ public class RequestHeaderTest {
     assertEquals(RequestHeader.ContentEncoding, header.name);
     assertEquals("", header.value);
   }
+
+  @Test
+  public void testTransferEncodingChunked() {
+    assertTrue(RequestHeader.from("Transfer-Encoding: chunked").isTransferEncodingChunked());
+    assertTrue(RequestHeader.from("transfer-encoding: gzip, Chunked").isTransferEncodingChunked());
+    assertFalse(RequestHeader.from("Transfer-Encoding: chunked, gzip").isTransferEncodingChunked());
+    assertFalse(RequestHeader.from("TE: chunked").isTransferEncodingChunked());
+  }
 }
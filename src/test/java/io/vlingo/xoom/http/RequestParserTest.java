@@ -11,7 +11,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -174,6 +176,242 @@ public class RequestParserTest extends ResourceTestFixtures {
     assertEquals(postWithExtendedCharacters, parser.fullRequest().toString());
   }
 
+  @Test
+  public void testThatMissingHeadersAreDistinguishedFromMissingBody() {
+    final int headersEnd = postJohnDoeUserMessage.indexOf("\n\n") + 2;
+
+    for (final boolean bytes : new boolean[] { false, true }) {
+      final String partialHeaders = postJohnDoeUserMessage.substring(0, headersEnd - 10);
+      final RequestParser parser = bytes ?
+              RequestParser.bytesParserFor(toByteBuffer(partialHeaders)) :
+              RequestParser.parserFor(toByteBuffer(partialHeaders));
+
+      assertTrue(parser.isMissingContent());
+      assertTrue(parser.isMissingHeaders());
+
+      parser.parseNext(toByteBuffer(postJohnDoeUserMessage.substring(headersEnd - 10, headersEnd + 2)));
+
+      assertTrue(parser.isMissingContent());
+      assertFalse(parser.isMissingHeaders());
+
+      parser.parseNext(toByteBuffer(postJohnDoeUserMessage.substring(headersEnd + 2)));
+
+      assertTrue(parser.hasFullRequest());
+      assertFalse(parser.isMissingHeaders());
+    }
+  }
+
+  @Test
+  public void testThatSingleRequestParsesFromBytes() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postJohnDoeUserMessage));
+
+    assertTrue(parser.hasCompleted());
+    assertTrue(parser.hasFullRequest());
+    assertFalse(parser.isMissingContent());
+
+    final Request request = parser.fullRequest();
+
+    assertNotNull(request);
+    assertTrue(request.method.isPOST());
+    assertEquals("/users", request.uri.getPath());
+    assertTrue(request.version.isHttp1_1());
+    assertEquals("vlingo.io", request.headerValueOr(RequestHeader.Host, ""));
+    assertEquals(johnDoeUserSerialized, request.body.content());
+  }
+
+  @Test
+  public void testThatTwoHundredRequestsParseNextFromBytesSucceeds() {
+    final String manyRequests = multipleRequestBuilder(200);
+
+    final int totalLength = manyRequests.length();
+
+    final Random random = new Random();
+
+    int alteringEndIndex = 1024;
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(manyRequests.substring(0, alteringEndIndex)));
+    int startingIndex = alteringEndIndex;
+
+    while (startingIndex < totalLength) {
+      alteringEndIndex = startingIndex + random.nextInt(512) + 1;
+      if (alteringEndIndex > totalLength) {
+        alteringEndIndex = totalLength;
+      }
+      parser.parseNext(toByteBuffer(manyRequests.substring(startingIndex, alteringEndIndex)));
+      startingIndex = alteringEndIndex;
+    }
+
+    assertTrue(parser.hasCompleted());
+    assertFalse(parser.isMissingContent());
+
+    int count = 0;
+    final Iterator<String> bodyIterator = uniqueBodies.iterator();
+    while (parser.hasFullRequest()) {
+      ++count;
+      final Request request = parser.fullRequest();
+
+      assertTrue(request.method.isPOST());
+      assertEquals("/users", request.uri.getPath());
+      assertEquals(bodyIterator.next(), request.body.content());
+    }
+
+    assertEquals(200, count);
+  }
+
+  @Test
+  public void testThatShortRequestWithExtendedCharacterSetParsesFromBytes() {
+    final byte[] postBytes = Converters.textToBytes(postWithExtendedCharacters);
+    final int split = postBytes.length - 3; // in the middle of a multi-byte character
+
+    final RequestParser parser = RequestParser.bytesParserFor(ByteBuffer.wrap(postBytes, 0, split).slice());
+
+    assertFalse(parser.hasFullRequest());
+    assertTrue(parser.isMissingContent());
+
+    parser.parseNext(ByteBuffer.wrap(postBytes, split, postBytes.length - split).slice());
+
+    assertTrue(parser.hasFullRequest());
+    assertTrue(parser.hasCompleted());
+    assertEquals(postWithExtendedCharacters, parser.fullRequest().toString());
+  }
+
+  private static final String postChunked =
+          "POST /users HTTP/1.1\r\nHost: vlingo.io\r\nTransfer-Encoding: chunked\r\n\r\n" +
+          "4\r\nWiki\r\n6;name=value\r\npedia \r\nE\r\nin \r\n\r\nchunks.\r\n0\r\nX-Checksum: 1234\r\n\r\n";
+
+  @Test
+  public void testThatChunkedRequestParsesIncrementally() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 70)));
+
+    assertFalse(parser.hasFullRequest());
+    assertTrue(parser.isMissingContent());
+
+    for (int index = 70; index < postChunked.length(); index += 7) {
+      parser.parseNext(toByteBuffer(postChunked.substring(index, Math.min(index + 7, postChunked.length()))));
+    }
+
+    assertTrue(parser.hasFullRequest());
+    assertTrue(parser.hasCompleted());
+
+    final Request request = parser.fullRequest();
+
+    assertEquals("Wikipedia in \r\n\r\nchunks.", request.body.content());
+    assertEquals("1234", request.headerValueOr("X-Checksum", ""));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatChunkedRequestExceedingMaximumFails() {
+    RequestParser.bytesParserFor(toByteBuffer(postChunked), 16);
+  }
+
+  @Test
+  public void testThatOversizedChunkExtensionFails() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 69)), 64);
+    final StringBuilder line = new StringBuilder("4");
+    while (line.length() <= 64) {
+      line.append(";name=value");
+    }
+
+    try {
+      // the line never ends, so it is rejected before it is complete
+      parser.parseNext(toByteBuffer(line.toString()));
+      fail("Chunk size line beyond the maximum must be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith(Response.Status.PayloadTooLarge.toString()));
+    }
+  }
+
+  @Test
+  public void testThatOversizedTrailersFail() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 69) + "0\r\n"), 64);
+
+    try {
+      for (int count = 0; count < 10; ++count) {
+        parser.parseNext(toByteBuffer("X-Trailer-" + count + ": value\r\n"));
+      }
+      fail("Trailers beyond the maximum must be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith(Response.Status.PayloadTooLarge.toString()));
+    }
+  }
+
+  @Test
+  public void testThatOverflowingContentLengthFails() {
+    final String request = "POST /users HTTP/1.1\nHost: test\nContent-Length: 4294967297\n\nxGET /users HTTP/1.1\nHost: test\n\n";
+
+    try {
+      RequestParser.bytesParserFor(toByteBuffer(request));
+      fail("Content-Length beyond int range must be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith(Response.Status.PayloadTooLarge.toString()));
+    }
+  }
+
+  @Test
+  public void testThatStreamedBodyRequestIsAnsweredBeforeContent() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 70)), 24, (method, uri) -> true);
+
+    assertTrue(parser.hasFullRequest());
+
+    final Request request = parser.fullRequest();
+    final RequestBodyStream stream = RequestBodyStream.from(request.body);
+    final StringBuilder content = new StringBuilder();
+
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override public void onChunk(final ByteBuffer chunk) { content.append(Converters.bytesToText(chunk.array(), chunk.position(), chunk.remaining())); }
+      @Override public void onCompleted() { content.append("|completed"); }
+      @Override public void onFailure(final Throwable cause) { content.append("|failed"); }
+    });
+    stream.request(Long.MAX_VALUE);
+
+    for (int index = 70; index < postChunked.length(); index += 7) {
+      parser.parseNext(toByteBuffer(postChunked.substring(index, Math.min(index + 7, postChunked.length()))));
+    }
+
+    assertFalse(parser.hasFullRequest());
+    assertTrue(parser.hasCompleted());
+    assertTrue(stream.isCompleted());
+    assertEquals("Wikipedia in \r\n\r\nchunks.|completed", content.toString());
+  }
+
+  @Test
+  public void testThatTrailersNeverChangeStreamedRequest() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 69)), 64, (method, uri) -> true);
+    final Request request = parser.fullRequest();
+    final int headerCount = request.headers.size();
+
+    parser.parseNext(toByteBuffer("4\r\nWiki\r\n0\r\nContent-Length: 99\r\nX-Checksum: 1234\r\n\r\n"));
+
+    assertTrue(parser.hasCompleted());
+    assertEquals(headerCount, request.headers.size());
+    assertEquals("", request.headerValueOr("X-Checksum", ""));
+  }
+
+  @Test
+  public void testThatFramingTrailersAreIgnored() {
+    final RequestParser parser = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 69) +
+            "4\r\nWiki\r\n0\r\nContent-Length: 99\r\nTransfer-Encoding: identity\r\nX-Checksum: 1234\r\n\r\n"));
+
+    final Request request = parser.fullRequest();
+
+    assertEquals("Wiki", request.body.content());
+    assertEquals("1234", request.headerValueOr("X-Checksum", ""));
+    assertEquals("4", request.headerValueOr(RequestHeader.ContentLength, ""));
+    assertEquals("chunked", request.headerValueOr(RequestHeader.TransferEncoding, ""));
+  }
+
+  @Test
+  public void testThatOnlyStreamedBodyFails() {
+    final RequestParser streaming = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 70)), 16, (method, uri) -> true);
+    final RequestBodyStream stream = RequestBodyStream.from(streaming.fullRequest().body);
+
+    assertTrue(streaming.failStreamedBody(new IllegalStateException("timed out")));
+    assertTrue(stream.isFailed());
+
+    final RequestParser aggregating = RequestParser.bytesParserFor(toByteBuffer(postChunked.substring(0, 70)));
+
+    assertFalse(aggregating.failStreamedBody(new IllegalStateException("timed out")));
+  }
+
   private String multipleRequestBuilder(final int amount) {
     final StringBuilder builder = new StringBuilder();
 
@@ -0,0 +1,107 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http;
+
+import static io.vlingo.xoom.http.Response.Status.Created;
+import static io.vlingo.xoom.http.Response.Status.Ok;
+import static io.vlingo.xoom.http.ResponseHeader.headers;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.wire.message.BasicConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.Converters;
+
+public class ResponseEncoderTest {
+
+  @Test
+  public void testThatTextResponseEncodesAsString() {
+    final Response response =
+            Response.of(Created, headers(ResponseHeader.Location, "/users/123").and(ResponseHeader.of("X-Custom", "custom")), "{ \"name\" : \"Jane\" }");
+
+    assertEncodesAsString(response);
+  }
+
+  @Test
+  public void testThatExtendedCharactersEncodeAsUTF8() {
+    final Response response =
+            Response.of(Ok, headers(ResponseHeader.ContentType, "text/plain; charset=UTF-8"), "é ü ñ € 日本 😀");
+
+    assertEncodesAsString(response);
+    assertEquals(Converters.encodedLength(response.entity.content()), Integer.parseInt(response.headerValueOr(ResponseHeader.ContentLength, "0")));
+  }
+
+  @Test
+  public void testThatBinaryBodyEncodesAsBase64() {
+    for (int length = 0; length < 7; ++length) {
+      final byte[] content = new byte[length];
+      Arrays.fill(content, (byte) (0xf0 + length));
+      final Response response = Response.of(Ok, Headers.empty(), Body.from(content, Body.Encoding.None));
+
+      assertEncodesAsString(response);
+    }
+  }
+
+  @Test
+  public void testThatChunkedBodyEncodesAsString() {
+    final Response response =
+            Response.of(Ok, headers(ResponseHeader.TransferEncoding, "chunked"), Body.beginChunkedWith("chunk").appendChunk("more"));
+
+    assertEncodesAsString(response);
+  }
+
+  @Test
+  public void testThatResponseEncodesAcrossBuffers() {
+    final byte[] binary = new byte[100];
+    for (int index = 0; index < binary.length; ++index) binary[index] = (byte) index;
+
+    final Response[] responses = {
+            Response.of(Ok, headers(ResponseHeader.ContentType, "text/plain; charset=UTF-8"), "é ü ñ € 日本 😀 and a little more ASCII text"),
+            Response.of(Ok, Headers.empty(), Body.from(binary, Body.Encoding.None)),
+            Response.of(Ok, Headers.empty(), Body.from(Arrays.copyOf(binary, 98), Body.Encoding.None)) };
+
+    for (final Response response : responses) {
+      for (final int capacity : new int[] { 4, 5, 7, 16, 61 }) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<ConsumerByteBuffer> filled = new ArrayList<>();
+
+        final ConsumerByteBuffer last = ResponseEncoder.encode(response, () -> BasicConsumerByteBuffer.allocate(0, capacity), filled::add);
+        filled.add(last);
+
+        for (final ConsumerByteBuffer buffer : filled) {
+          bytes.write(buffer.array(), 0, buffer.limit());
+        }
+
+        assertArrayEquals(Converters.textToBytes(response.toString()), bytes.toByteArray());
+        assertTrue(filled.size() > 1);
+      }
+    }
+  }
+
+  private void assertEncodesAsString(final Response response) {
+    final byte[] expected = Converters.textToBytes(response.toString());
+    final ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+
+    assertEquals(expected.length, response.size());
+
+    ResponseEncoder.encode(response, buffer);
+
+    assertEquals(expected.length, buffer.position());
+    assertArrayEquals(expected, buffer.array());
+  }
+}
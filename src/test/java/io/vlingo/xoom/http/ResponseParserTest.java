@@ -12,6 +12,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -159,6 +160,19 @@ public class ResponseParserTest extends ResourceTestFixtures {
     assertEquals(responseWithExtendedCharacters, parser.fullResponse().toString());
   }
 
+  @Test
+  public void testThatDirectBufferParses() {
+    final byte[] bytes = Converters.textToBytes(responseWithExtendedCharacters);
+    final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+
+    final ResponseParser parser = ResponseParser.parserFor(direct);
+
+    assertTrue(parser.hasFullResponse());
+    assertTrue(parser.hasCompleted());
+    assertEquals(responseWithExtendedCharacters, parser.fullResponse().toString());
+  }
+
   private String multipleResponseBuilder(final int amount) {
     final StringBuilder builder = new StringBuilder();
 
@@ -0,0 +1,112 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.resource.ActionRouter.Routed;
+
+public class ActionRouterTest {
+  private final Action queryUser = new Action(0, "GET", "/users/{userId}", "queryUser(String userId)", null);
+  private final Action queryMe = new Action(1, "GET", "/users/me", "queryMe()", null);
+  private final Action queryUserName = new Action(2, "GET", "/users/{userId}/name", "queryUserName(String userId)", null);
+  private final Action changeUserName = new Action(3, "PATCH", "/users/{userId}/name", "changeUserName(String userId)", null);
+  private final Action queryUsers = new Action(4, "GET", "/users", "queryUsers()", null);
+  private final Action queryProduct = new Action(0, "GET", "/products/{productId}", "queryProduct(String productId)", null);
+  private final Action queryProductVersion = new Action(1, "GET", "/products/{productId}/v{version}", "queryProductVersion(String productId, String version)", null);
+
+  private final TestResource users = new TestResource("users", queryUser, queryMe, queryUserName, changeUserName, queryUsers);
+  private final TestResource products = new TestResource("products", queryProduct, queryProductVersion);
+
+  private final ActionRouter router = ActionRouter.of(Arrays.asList(users, products));
+
+  @Test
+  public void testThatPathParameterRoutes() {
+    final Routed routed = router.route(Method.GET, URI.create("/users/123"));
+
+    assertEquals(users, routed.resource);
+    assertEquals(queryUser, routed.matchResults.action);
+    assertEquals("123", routed.matchResults.parameters().get(0).value);
+  }
+
+  @Test
+  public void testThatLiteralSegmentTakesPrecedence() {
+    assertEquals(queryMe, router.route(Method.GET, URI.create("/users/me")).matchResults.action);
+    assertEquals(queryUserName, router.route(Method.GET, URI.create("/users/me/name")).matchResults.action);
+  }
+
+  @Test
+  public void testThatMethodSelectsAction() {
+    assertEquals(changeUserName, router.route(Method.PATCH, URI.create("/users/123/name")).matchResults.action);
+    assertNull(router.route(Method.DELETE, URI.create("/users/123/name")));
+  }
+
+  @Test
+  public void testThatTrailingSlashRoutes() {
+    assertEquals(queryUser, router.route(Method.GET, URI.create("/users/123/")).matchResults.action);
+    assertEquals(queryUsers, router.route(Method.GET, URI.create("/users")).matchResults.action);
+  }
+
+  @Test
+  public void testThatMixedSegmentRoutes() {
+    final Routed routed = router.route(Method.GET, URI.create("/products/456/v2"));
+
+    assertEquals(products, routed.resource);
+    assertEquals(queryProductVersion, routed.matchResults.action);
+    assertEquals("456", routed.matchResults.parameters().get(0).value);
+    assertEquals("2", routed.matchResults.parameters().get(1).value);
+  }
+
+  @Test
+  public void testThatUnmatchedIsNotRouted() {
+    assertNull(router.route(Method.GET, URI.create("/users/123/address")));
+    assertNull(router.route(Method.GET, URI.create("/users//name")));
+    assertNull(router.route(Method.GET, URI.create("/orders/1")));
+  }
+
+  private static class TestResource extends Resource<ResourceHandler> {
+    private final List<Action> actions;
+
+    TestResource(final String name, final Action... actions) {
+      super(name, 1);
+      this.actions = Arrays.asList(actions);
+    }
+
+    @Override
+    public void dispatchToHandlerWith(final Context context, final Action.MappedParameters mappedParameters) { }
+
+    @Override
+    Action.MatchResults matchWith(final Method method, final URI uri) {
+      return Action.unmatchedResults;
+    }
+
+    @Override
+    List<Action> actions() {
+      return actions;
+    }
+
+    @Override
+    protected void log(final Logger logger) { }
+
+    @Override
+    protected ResourceHandler resourceHandlerInstance(final Stage stage) {
+      return null;
+    }
+  }
+}
@@ -268,4 +268,26 @@ public class ActionTest {
     assertEquals("three*", queryParameters.valuesOf("three").get(0));
     assertEquals("3.3", queryParameters.valuesOf("three").get(1));
   }
+
+  @Test
+  public void testMapsTypedParametersOutOfPathOrder() throws Exception {
+    final Action action =
+            new Action(
+                    0,
+                    "GET",
+                    "/orders/{orderId}/items/{index}/{express}",
+                    "queryItem(boolean express, long orderId, int index, String missing, String unmapped)",
+                    null);
+
+    final MatchResults matchResults = action.matchWith(Method.GET, new URI("/orders/1234567/items/3/true"));
+    assertTrue(matchResults.isMatched());
+
+    final Action.MappedParameters mappedParameters = action.map(null, matchResults.parameters());
+    assertEquals("queryItem", mappedParameters.methodName);
+    assertEquals(3, mappedParameters.mapped.size());
+    assertEquals(Boolean.TRUE, mappedParameters.mapped.get(0).value);
+    assertEquals(1234567L, mappedParameters.mapped.get(1).value);
+    assertEquals(3, mappedParameters.mapped.get(2).value);
+    assertEquals("int", mappedParameters.mapped.get(2).type);
+  }
 }
@@ -10,12 +10,33 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.Configuration.Timing;
+import io.vlingo.xoom.wire.message.Converters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
 import static junit.framework.TestCase.assertTrue;
 
 public class BenchmarkTests {
@@ -44,6 +65,46 @@ public class BenchmarkTests {
       usPerOp < expectedMinUsPerOp);
   }
 
+  @Test
+  @Ignore("Compares linear action matching to ActionRouter matching at 10, 100, and 1000 routes; run locally")
+  public void launchRouteMatchingBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.routeMatching.*")
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.NANOSECONDS)
+      .warmupTime(TimeValue.seconds(1))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(1))
+      .measurementIterations(2)
+      .threads(1)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .build();
+
+    new Runner(opt).run();
+  }
+
+  @Test
+  @Ignore("Measures requests/second through a Server on the loopback interface; run locally")
+  public void launchServerThroughputBenchmark() throws Exception {
+    Options opt = new OptionsBuilder()
+      .include(this.getClass().getSimpleName() + "\\.serverThroughput.*")
+      .mode(Mode.Throughput)
+      .timeUnit(TimeUnit.SECONDS)
+      .warmupTime(TimeValue.seconds(2))
+      .warmupIterations(2)
+      .measurementTime(TimeValue.seconds(5))
+      .measurementIterations(3)
+      .threads(4)
+      .forks(1)
+      .shouldFailOnError(true)
+      .shouldDoGC(true)
+      .build();
+
+    new Runner(opt).run();
+  }
+
   @State(Scope.Thread)
   public static class ActionMatchingBenchmarkState {
     Map<URI, Action> subjects;
@@ -85,4 +146,176 @@ public class BenchmarkTests {
       bh.consume(a.matchWith(a.method, e.getKey()));
     }
   }
+
+  @State(Scope.Thread)
+  public static class RouteMatchingBenchmarkState {
+    @Param({"10", "100", "1000"})
+    int routes;
+
+    List<Resource<?>> resources;
+    ActionRouter router;
+    URI[] uris;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      resources = new ArrayList<>();
+      final int routesPerResource = 10;
+      for (int resourceIndex = 0; resourceIndex < routes / routesPerResource; ++resourceIndex) {
+        final List<Action> actions = new ArrayList<>();
+        for (int actionIndex = 0; actionIndex < routesPerResource; ++actionIndex) {
+          final String root = "/resource" + resourceIndex + "/collection" + actionIndex;
+          actions.add(new Action(actions.size(), "GET", root + "/{id}/items/{itemId}", "foo(String id, String itemId)", null));
+        }
+        resources.add(new BenchmarkResource("resource" + resourceIndex, actions));
+      }
+      router = ActionRouter.of(resources);
+
+      final int last = routes / routesPerResource - 1;
+      uris = new URI[] {
+        URI.create("/resource0/collection0/" + UUID.randomUUID() + "/items/" + UUID.randomUUID()),
+        URI.create("/resource" + (last / 2) + "/collection5/" + UUID.randomUUID() + "/items/" + UUID.randomUUID()),
+        URI.create("/resource" + last + "/collection9/" + UUID.randomUUID() + "/items/" + UUID.randomUUID()),
+        URI.create("/missing/" + UUID.randomUUID())
+      };
+    }
+  }
+
+  @Benchmark
+  public void routeMatchingLinear(RouteMatchingBenchmarkState state, Blackhole bh) {
+    for (final URI uri : state.uris) {
+      Action.MatchResults matched = Action.unmatchedResults;
+      for (final Resource<?> resource : state.resources) {
+        matched = resource.matchWith(Method.GET, uri);
+        if (matched.isMatched()) {
+          break;
+        }
+      }
+      bh.consume(matched);
+    }
+  }
+
+  @Benchmark
+  public void routeMatchingTree(RouteMatchingBenchmarkState state, Blackhole bh) {
+    for (final URI uri : state.uris) {
+      bh.consume(state.router.route(Method.GET, uri));
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ServerBenchmarkState {
+    private static final AtomicInteger nextPort = new AtomicInteger(17100);
+
+    int port;
+    Server server;
+    World world;
+
+    @Setup(Level.Trial)
+    public void initialize() {
+      world = World.startWithDefaults("server-throughput-benchmark");
+      port = nextPort.incrementAndGet();
+      final ResourceHandler handler = new PingResource();
+      server = Server.startWith(world.stage(), Resources.are(handler.routes()), port, Sizing.define(), Timing.define());
+      server.startUp().await();
+    }
+
+    @TearDown(Level.Trial)
+    public void terminate() {
+      server.shutDown().await();
+      world.terminate();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ServerConnectionState {
+    final byte[] request = Converters.textToBytes("GET /ping HTTP/1.1\nHost: localhost\nConnection: keep-alive\n\n");
+    final byte[] response = new byte[1024];
+    InputStream input;
+    OutputStream output;
+    Socket socket;
+
+    @Setup(Level.Trial)
+    public void connect(final ServerBenchmarkState server) throws IOException {
+      socket = new Socket(InetAddress.getLoopbackAddress(), server.port);
+      socket.setTcpNoDelay(true);
+      input = socket.getInputStream();
+      output = socket.getOutputStream();
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws IOException {
+      socket.close();
+    }
+
+    int roundTrip() throws IOException {
+      output.write(request);
+      output.flush();
+      int total = 0;
+      while (!endsWithPong(total)) {
+        final int read = input.read(response, total, response.length - total);
+        if (read < 0) {
+          throw new IOException("Connection closed after " + total + " bytes.");
+        }
+        total += read;
+      }
+      return total;
+    }
+
+    private boolean endsWithPong(final int total) {
+      return total >= 4 &&
+             response[total - 4] == 'p' && response[total - 3] == 'o' &&
+             response[total - 2] == 'n' && response[total - 1] == 'g';
+    }
+  }
+
+  @Benchmark
+  public int serverThroughput(ServerBenchmarkState server, ServerConnectionState connection) throws IOException {
+    return connection.roundTrip();
+  }
+
+  public static class PingResource extends ResourceHandler {
+    public Completes<Response> ping() {
+      return Completes.withSuccess(Response.of(Response.Status.Ok, "pong"));
+    }
+
+    @Override
+    public Resource<?> routes() {
+      return resource("Ping API", get("/ping").handle(this::ping));
+    }
+  }
+
+  static class BenchmarkResource extends Resource<ResourceHandler> {
+    private final List<Action> actions;
+
+    BenchmarkResource(final String name, final List<Action> actions) {
+      super(name, 1);
+      this.actions = actions;
+    }
+
+    @Override
+    public void dispatchToHandlerWith(final Context context, final Action.MappedParameters mappedParameters) { }
+
+    @Override
+    Action.MatchResults matchWith(final Method method, final URI uri) {
+      for (final Action action : actions) {
+        final Action.MatchResults matchResults = action.matchWith(method, uri);
+        if (matchResults.isMatched()) {
+          return matchResults;
+        }
+      }
+      return Action.unmatchedResults;
+    }
+
+    @Override
+    List<Action> actions() {
+      return actions;
+    }
+
+    @Override
+    protected void log(final Logger logger) { }
+
+    @Override
+    protected ResourceHandler resourceHandlerInstance(final Stage stage) {
+      return null;
+    }
+  }
 }
@@ -3,11 +3,15 @@ package io.vlingo.xoom.http.resource;
 import io.vlingo.xoom.common.Tuple2;
 import io.vlingo.xoom.http.*;
 import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
+import io.vlingo.xoom.http.resource.Configuration.BufferSizeClass;
 import io.vlingo.xoom.http.resource.Configuration.Sizing;
 import io.vlingo.xoom.http.resource.Configuration.Timing;
 import org.junit.Test;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Properties;
 
 import static io.vlingo.xoom.http.Filters.noResponseFilters;
 import static io.vlingo.xoom.http.Method.POST;
@@ -15,7 +19,10 @@ import static io.vlingo.xoom.http.Response.Status.Ok;
 import static io.vlingo.xoom.http.Version.Http1_1;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class ConfigurationTest {
 
@@ -31,6 +38,7 @@ public class ConfigurationTest {
     assertEquals(10, configuration.sizing().dispatcherPoolSize);
     assertEquals(100, configuration.sizing().maxBufferPoolSize);
     assertEquals(65535, configuration.sizing().maxMessageSize);
+    assertEquals(PoolStrategy.RoundRobin, configuration.sizing().poolStrategy);
 
     assertNotNull(configuration.timing());
     assertEquals(4, configuration.timing().probeInterval);
@@ -45,7 +53,8 @@ public class ConfigurationTest {
         .with(Sizing.define()
           .withDispatcherPoolSize(20)
           .withMaxBufferPoolSize(200)
-          .withMaxMessageSize(3333))
+          .withMaxMessageSize(3333)
+          .withPoolStrategy(PoolStrategy.ConnectionAffine))
         .with(Timing.define()
           .withProbeInterval(30)
           .withProbeTimeout(40)
@@ -60,6 +69,7 @@ public class ConfigurationTest {
     assertEquals(20, configuration.sizing().dispatcherPoolSize);
     assertEquals(200, configuration.sizing().maxBufferPoolSize);
     assertEquals(3333, configuration.sizing().maxMessageSize);
+    assertEquals(PoolStrategy.ConnectionAffine, configuration.sizing().poolStrategy);
 
     assertNotNull(configuration.timing());
     assertEquals(30, configuration.timing().probeInterval);
@@ -71,6 +81,117 @@ public class ConfigurationTest {
     assertEquals(Ok, configuration.filters().process(RESPONSE).status);
   }
 
+  @Test
+  public void testThatBufferSizeClassesConfigure() {
+    final Sizing defaulted = Sizing.define();
+
+    assertEquals(1, defaulted.responseBufferSizeClasses().size());
+    assertEquals(65535, defaulted.responseBufferSizeClasses().get(0).size);
+    assertEquals(100, defaulted.responseBufferSizeClasses().get(0).limit);
+
+    final Sizing sized = defaulted.withBufferSizeClasses(BufferSizeClass.of(1024, 200), BufferSizeClass.of(4096, 50));
+
+    assertEquals(2, sized.responseBufferSizeClasses().size());
+    assertEquals(4096, sized.withMaxMessageSize(8192).responseBufferSizeClasses().get(1).size);
+
+    final Properties properties = new Properties();
+    properties.setProperty("server.buffer.pool.classes", "1024:200, 4096:100, 262144:5");
+
+    final List<BufferSizeClass> classes = Configuration.defineWith(properties).sizing().responseBufferSizeClasses();
+
+    assertEquals(3, classes.size());
+    assertEquals(1024, classes.get(0).size);
+    assertEquals(200, classes.get(0).limit);
+    assertEquals(262144, classes.get(2).size);
+    assertEquals(5, classes.get(2).limit);
+  }
+
+  @Test
+  public void testThatTimeoutsConfigure() {
+    final Timing timing = Timing.define().withRequestHeaderTimeout(5000).withConnectionIdleTimeout(60000);
+
+    assertEquals(5000, timing.requestHeaderTimeout);
+    assertEquals(60000, timing.connectionIdleTimeout);
+    assertEquals(10, timing.timeoutTick());
+    assertEquals(500, timing.withRequestMissingContentTimeout(0).timeoutTick());
+    assertEquals(0, Timing.define().withRequestMissingContentTimeout(0).timeoutTick());
+
+    final Properties properties = new Properties();
+    properties.setProperty("server.request.header.timeout", "3000");
+    properties.setProperty("server.connection.idle.timeout", "30000");
+
+    final Timing configured = Configuration.defineWith(properties).timing();
+
+    assertEquals(3000, configured.requestHeaderTimeout);
+    assertEquals(30000, configured.connectionIdleTimeout);
+  }
+
+  @Test
+  public void testThatDirectBuffersConfigure() {
+    assertFalse(Sizing.define().directBuffers);
+    assertTrue(Sizing.define().withDirectBuffers(true).withMaxMessageSize(8192).directBuffers);
+
+    final Properties properties = new Properties();
+    properties.setProperty("server.buffer.pool.direct", "true");
+
+    assertTrue(Configuration.defineWith(properties).sizing().directBuffers);
+  }
+
+  @Test
+  public void testThatAgentConfigures() {
+    assertNull(Configuration.define().agent());
+
+    final Agent agent = Agent.define().withWorkerThreads(8).withReusePort(true).withAcceptors(4).withWriteBufferWaterMarks(8192, 16384);
+
+    assertEquals(1, agent.bossThreads);
+    assertEquals(8, agent.workerThreads);
+    assertTrue(agent.tcpNoDelay);
+    assertEquals(4, agent.boundChannels(true));
+    assertEquals(1, agent.boundChannels(false));
+    assertEquals(1, agent.withReusePort(false).boundChannels(true));
+    assertEquals(16384, agent.writeBufferHighWaterMark);
+
+    final Properties properties = new Properties();
+    properties.setProperty("server.agent.enabled", "true");
+    properties.setProperty("server.agent.http2", "true");
+    properties.setProperty("server.agent.boss.threads", "2");
+    properties.setProperty("server.agent.worker.threads", "16");
+    properties.setProperty("server.agent.so.backlog", "4096");
+    properties.setProperty("server.agent.tcp.nodelay", "false");
+    properties.setProperty("server.agent.so.reuseport", "true");
+    properties.setProperty("server.agent.acceptors", "2");
+    properties.setProperty("server.agent.write.buffer.low.water.mark", "1024");
+    properties.setProperty("server.agent.write.buffer.high.water.mark", "2048");
+    properties.setProperty("server.agent.flush.batch.size", "0");
+    properties.setProperty("server.agent.request.body.timeout", "5000");
+
+    final Agent configured = Configuration.defineWith(properties).agent();
+
+    assertTrue(configured.http2);
+    assertEquals(2, configured.bossThreads);
+    assertEquals(16, configured.workerThreads);
+    assertEquals(4096, configured.backlog);
+    assertFalse(configured.tcpNoDelay);
+    assertEquals(2, configured.boundChannels(true));
+    assertEquals(1024, configured.writeBufferLowWaterMark);
+    assertEquals(2048, configured.writeBufferHighWaterMark);
+    assertEquals(0, configured.flushBatchSize);
+    assertEquals(5000, configured.requestBodyTimeout);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatInvertedAgentWaterMarksFail() {
+    Agent.define().withWriteBufferWaterMarks(65536, 1024);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatMalformedBufferSizeClassFails() {
+    final Properties properties = new Properties();
+    properties.setProperty("server.buffer.pool.classes", "1024");
+
+    Configuration.defineWith(properties);
+  }
+
   private static final Request REQUEST = Request.from(Method.GET, URI.create("/"), Http1_1, Headers.empty(), Body.empty());
 
   private static final Response RESPONSE = Response.of(Ok, Body.empty());
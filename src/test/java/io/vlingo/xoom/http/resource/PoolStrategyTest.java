@@ -0,0 +1,100 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.sse.MockRequestResponseContext;
+
+public class PoolStrategyTest {
+  private final Member[] pool = new Member[] { new Member(3), new Member(1), new Member(2) };
+
+  @Test
+  public void testThatRoundRobinSelectsInTurn() {
+    final AtomicLong index = new AtomicLong(0);
+    final MockRequestResponseContext context = new MockRequestResponseContext(null);
+
+    assertEquals(pool[1], PoolStrategy.RoundRobin.select(context, index, pool));
+    assertEquals(pool[2], PoolStrategy.RoundRobin.select(context, index, pool));
+    assertEquals(pool[0], PoolStrategy.RoundRobin.select(context, index, pool));
+  }
+
+  @Test
+  public void testThatConnectionAffineSelectsSameMember() {
+    final AtomicLong index = new AtomicLong(0);
+    final MockRequestResponseContext context = new MockRequestResponseContext(null);
+
+    final Member selected = PoolStrategy.ConnectionAffine.select(context, index, pool);
+
+    for (int count = 0; count < 10; ++count) {
+      assertEquals(selected, PoolStrategy.ConnectionAffine.select(context, index, pool));
+    }
+    assertEquals(0, index.get());
+    assertEquals(pool[1], PoolStrategy.ConnectionAffine.select(null, index, pool));
+  }
+
+  @Test
+  public void testThatLeastLoadedSelectsFewestPending() {
+    final AtomicLong index = new AtomicLong(0);
+
+    assertEquals(pool[1], PoolStrategy.LeastLoaded.select(null, index, pool));
+
+    pool[1].pending = 8;
+    assertEquals(pool[2], PoolStrategy.LeastLoaded.select(null, index, pool));
+    assertEquals(0, index.get());
+  }
+
+  @Test
+  public void testThatPowerOfTwoChoicesAvoidsMostPending() {
+    final AtomicLong index = new AtomicLong(0);
+    final Member[] pair = new Member[] { new Member(0), new Member(100) };
+
+    for (int count = 0; count < 10; ++count) {
+      assertEquals(pair[0], PoolStrategy.PowerOfTwoChoices.select(null, index, pair));
+    }
+  }
+
+  @Test
+  public void testThatUncountedPendingIsSupportedByRoundRobin() {
+    final Object[] uncounted = new Object[] { "zero", "one" };
+    final Member[] unsupported = new Member[] { new Member(0), new Member(-1) };
+
+    assertEquals(PoolStrategy.RoundRobin, PoolStrategy.LeastLoaded.supportedBy(uncounted));
+    assertEquals(PoolStrategy.RoundRobin, PoolStrategy.PowerOfTwoChoices.supportedBy(unsupported));
+    assertEquals(PoolStrategy.LeastLoaded, PoolStrategy.LeastLoaded.supportedBy(pool));
+    assertEquals(PoolStrategy.ConnectionAffine, PoolStrategy.ConnectionAffine.supportedBy(uncounted));
+  }
+
+  @Test
+  public void testThatStrategyIsNamed() {
+    assertEquals(PoolStrategy.RoundRobin, PoolStrategy.from("round-robin"));
+    assertEquals(PoolStrategy.ConnectionAffine, PoolStrategy.from("connection_affine"));
+    assertEquals(PoolStrategy.ConnectionAffine, PoolStrategy.from("ConnectionAffine"));
+    assertEquals(PoolStrategy.PowerOfTwoChoices, PoolStrategy.from("power-of-two-choices"));
+  }
+
+  private static class Member implements PendingMessages {
+    int pending;
+
+    Member(final int pending) {
+      this.pending = pending;
+    }
+
+    @Override
+    public int pendingMessages() {
+      if (pending < 0) {
+        throw new UnsupportedOperationException("Pending messages not available.");
+      }
+      return pending;
+    }
+  }
+}
@@ -42,6 +42,17 @@ public class ResourceBuilderTest extends ResourceTestFixtures {
     assertEquals(2, resource.handlers.size());
   }
 
+  @Test
+  public void virtualExecutionRoute() {
+    final Resource<?> resource = resource("blockingResource", ExecutionMode.Virtual,
+        get("/blocking").handle(() -> Completes.withSuccess((Response.of(Ok, serialized("Blocking")))))
+      );
+
+    assertEquals(ExecutionMode.Virtual, resource.executionMode());
+    assertEquals(ExecutionMode.Pooled, resource("pooledResource", get("/pooled").handle(() -> Completes.withSuccess(Response.of(Ok)))).executionMode());
+    assertEquals(ExecutionMode.Virtual, ExecutionMode.from("virtual"));
+  }
+
   @Test
   public void shouldRespondToCorrectResourceHandler() throws URISyntaxException {
     final DynamicResource resource = (DynamicResource) resource("userResource",
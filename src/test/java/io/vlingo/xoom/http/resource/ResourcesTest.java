@@ -7,15 +7,31 @@
 
 package io.vlingo.xoom.http.resource;
 
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.sse.SseConfiguration;
+import io.vlingo.xoom.http.resource.sse.SseStreamResource;
 import io.vlingo.xoom.http.sample.user.ProfileResource;
 import io.vlingo.xoom.http.sample.user.UserResource;
 
@@ -138,4 +154,56 @@ public class ResourcesTest {
     
     ConfigurationResource.newResourceFor("user", resourceHandlerClass, 5, actions);
   }
+
+  @Test
+  public void testThatSseStreamLoadsWithoutFeed() {
+    final SseConfiguration configuration =
+            SseConfiguration.define().withName("pushed").withStreamURL("/eventstreams/pushed").withPoolSize(1);
+
+    assertTrue(configuration.isConfigured());
+
+    final Map<String, Resource<?>> sseResources = Loader.resourcesFrom(configuration);
+    final ConfigurationResource<?> pushed = (ConfigurationResource<?>) sseResources.get("pushed");
+
+    assertNotNull(pushed);
+    assertEquals(SseStreamResource.class, pushed.resourceHandlerClass);
+    assertEquals(2, pushed.actions.size());
+  }
+
+  @Test
+  public void testThatDirectResourceDispatchesOnCallingThread() {
+    final World world = World.startWithDefaults("test-direct-execution");
+    final AtomicReference<Thread> handlingThread = new AtomicReference<>();
+
+    final Resource<?> direct = resource("direct", ExecutionMode.Direct,
+            get("/direct").handle(() -> {
+              handlingThread.set(Thread.currentThread());
+              return Completes.withSuccess(Response.of(Response.Status.Ok));
+            }));
+    final Resource<?> pooled = resource("pooled", get("/pooled").handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok))));
+
+    direct.allocateHandlerPool(world.stage());
+    pooled.allocateHandlerPool(world.stage());
+
+    final Resources resources = Resources.are(direct, pooled);
+
+    final MockCompletesEventuallyResponse completes = new MockCompletesEventuallyResponse();
+    final AccessSafely withCalls = completes.expectWithTimes(1);
+
+    assertTrue(resources.dispatchDirectly(new Context(Request.has(Method.GET).and(URI.create("/direct")), completes), world.defaultLogger()));
+    assertEquals(1, (int) withCalls.readFrom("completed"));
+    assertEquals(Response.Status.Ok, completes.response.get().status);
+    assertSame(Thread.currentThread(), handlingThread.get());
+
+    final MockCompletesEventuallyResponse pooledCompletes = new MockCompletesEventuallyResponse();
+    final AccessSafely pooledWithCalls = pooledCompletes.expectWithTimes(1);
+
+    assertTrue(resources.dispatchDirectly(new Context(Request.has(Method.GET).and(URI.create("/pooled")), pooledCompletes), world.defaultLogger()));
+    assertEquals(1, (int) pooledWithCalls.readFrom("completed"));
+    assertEquals(Response.Status.Ok, pooledCompletes.response.get().status);
+
+    assertFalse(Resources.are(pooled).dispatchDirectly(new Context(Request.has(Method.GET).and(URI.create("/pooled")), pooledCompletes), world.defaultLogger()));
+
+    world.terminate();
+  }
 }
@@ -0,0 +1,94 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.http.resource.Configuration.BufferSizeClass;
+import io.vlingo.xoom.http.resource.ResponseBufferPool.SizeClassStatistics;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+
+public class ResponseBufferPoolTest {
+  private final ResponseBufferPool pool =
+          new ResponseBufferPool(Arrays.asList(BufferSizeClass.of(4096, 1), BufferSizeClass.of(1024, 2)));
+
+  @Test
+  public void testThatSmallestSufficientClassIsAcquired() {
+    assertEquals(1024, pool.acquire(1).capacity());
+    assertEquals(1024, pool.acquire(1024).capacity());
+    assertEquals(4096, pool.acquire(1025).capacity());
+    assertEquals(4096, pool.acquire(100000).capacity());
+    assertEquals(4096, pool.largestBufferSize());
+  }
+
+  @Test
+  public void testThatReleasedBufferIsReacquired() {
+    final ConsumerByteBuffer buffer = pool.acquire(200);
+    buffer.put(new byte[] { 1, 2, 3 });
+    buffer.release();
+    buffer.release();
+
+    final ConsumerByteBuffer reacquired = pool.acquire(300);
+
+    assertSame(buffer, reacquired);
+    assertEquals(0, reacquired.position());
+
+    final SizeClassStatistics statistics = pool.statistics().get(0);
+    assertEquals(1024, statistics.size);
+    assertEquals(1, statistics.hits);
+    assertEquals(1, statistics.misses);
+    assertEquals(0, statistics.idle);
+  }
+
+  @Test
+  public void testThatIdleBuffersAreLimited() {
+    final ConsumerByteBuffer buffer1 = pool.acquire(4000);
+    final ConsumerByteBuffer buffer2 = pool.acquire(4000);
+    buffer1.release();
+    buffer2.release();
+
+    final SizeClassStatistics statistics = pool.statistics().get(1);
+    assertEquals(4096, statistics.size);
+    assertEquals(0, statistics.hits);
+    assertEquals(2, statistics.misses);
+    assertEquals(1, statistics.idle);
+  }
+
+  @Test
+  public void testThatDirectBuffersArePooled() {
+    final ResponseBufferPool directPool = new ResponseBufferPool(Collections.singletonList(BufferSizeClass.of(1024, 2)), true);
+
+    final ConsumerByteBuffer buffer = directPool.acquire(10);
+    buffer.put(new byte[] { 1, 2, 3 }).flip();
+
+    assertTrue(directPool.isDirect());
+    assertTrue(buffer.asByteBuffer().isDirect());
+    assertEquals(1024, buffer.capacity());
+    assertEquals(3, buffer.limit());
+
+    buffer.release();
+
+    final ConsumerByteBuffer reacquired = directPool.acquire(10);
+
+    assertSame(buffer, reacquired);
+    assertEquals(0, reacquired.position());
+    assertEquals(1024, reacquired.limit());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatSizeClassIsRequired() {
+    new ResponseBufferPool(Collections.emptyList());
+  }
+}
@@ -0,0 +1,166 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.BufferSizeClass;
+import io.vlingo.xoom.wire.channel.RequestResponseContext;
+import io.vlingo.xoom.wire.channel.ResponseSenderChannel;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.Converters;
+
+public class ResponseWriterTest {
+  private static final int BufferSize = 1024;
+  private static final int SegmentsInFlight = 2;
+
+  private final List<Boolean> closeFollowing = new ArrayList<>();
+  private final List<ConsumerByteBuffer> written = new ArrayList<>();
+  private ResponseBufferPool pool;
+  private ResponseWriter writer;
+
+  @Test
+  public void testThatLargeResponseHoldsLimitedSegmentsInFlight() {
+    final Response large = Response.of(Response.Status.Ok, text(20 * BufferSize));
+
+    writer.respondWith(large, true);
+
+    assertEquals(SegmentsInFlight, written.size());
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    int released = 0;
+    while (released < written.size()) {
+      assertTrue(written.size() - released <= SegmentsInFlight);
+      final ConsumerByteBuffer buffer = written.get(released++);
+      bytes.write(buffer.array(), 0, buffer.limit());
+      buffer.release();
+    }
+
+    assertArrayEquals(Converters.textToBytes(large.toString()), bytes.toByteArray());
+    assertEquals(SegmentsInFlight, pool.statistics().get(0).misses);
+    assertEquals(SegmentsInFlight, pool.statistics().get(0).idle);
+    assertTrue(closeFollowing.get(closeFollowing.size() - 1));
+    assertFalse(closeFollowing.subList(0, closeFollowing.size() - 1).contains(true));
+  }
+
+  @Test
+  public void testThatResponseCompletedMeanwhileFollowsLargeResponse() {
+    final Response large = Response.of(Response.Status.Ok, text(5 * BufferSize));
+    final Response small = Response.of(Response.Status.Created, "small");
+
+    writer.respondWith(large, false);
+    writer.respondWith(small, false);
+
+    assertEquals(SegmentsInFlight, written.size());
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    for (int released = 0; released < written.size(); ++released) {
+      final ConsumerByteBuffer buffer = written.get(released);
+      bytes.write(buffer.array(), 0, buffer.limit());
+      buffer.release();
+    }
+
+    assertArrayEquals(Converters.textToBytes(large.toString() + small.toString()), bytes.toByteArray());
+  }
+
+  @Test
+  public void testThatSegmentReleasedWhileWrittenContinuesWriting() {
+    final Response large = Response.of(Response.Status.Ok, text(10 * BufferSize));
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    final ResponseWriter releasing = new ResponseWriter(new Context(buffer -> {
+      bytes.write(buffer.array(), 0, buffer.limit());
+      buffer.release();
+    }), pool, 1);
+
+    releasing.respondWith(large, false);
+
+    assertArrayEquals(Converters.textToBytes(large.toString()), bytes.toByteArray());
+  }
+
+  @Test
+  public void testThatConnectionIsBusyUntilResponsesAreWritten() {
+    final List<String> activity = new ArrayList<>();
+    final ResponseWriter active = new ResponseWriter(new Context(written::add), pool, SegmentsInFlight, new ResponseWriter.Activity() {
+      @Override public void busy() { activity.add("busy"); }
+      @Override public void idle() { activity.add("idle"); }
+    });
+
+    active.requested();
+    active.requested();
+
+    assertTrue(active.isBusy());
+    assertEquals(Arrays.asList("busy"), activity);
+
+    active.respondWith(Response.of(Response.Status.Ok, "small"), false, true);
+    active.respondWith(Response.of(Response.Status.Ok, text(5 * BufferSize)), false, true);
+    active.respondWith(Response.of(Response.Status.BadRequest, "unrequested"), false, false);
+
+    // the unrequested response is written last, after the connection became idle
+    for (int released = 0; released < written.size() - 1; ++released) {
+      assertTrue(active.isBusy());
+      written.get(released).release();
+    }
+
+    assertFalse(active.isBusy());
+    written.get(written.size() - 1).release();
+    assertEquals(Arrays.asList("busy", "idle"), activity);
+  }
+
+  @Before
+  public void setUp() {
+    pool = new ResponseBufferPool(Arrays.asList(new BufferSizeClass(BufferSize, 4)));
+    writer = new ResponseWriter(new Context(written::add), pool, SegmentsInFlight);
+  }
+
+  private String text(final int length) {
+    final StringBuilder builder = new StringBuilder(length);
+    for (int index = 0; index < length; ++index) {
+      builder.append((char) ('a' + index % 26));
+    }
+    return builder.toString();
+  }
+
+  private class Context implements RequestResponseContext<String>, ResponseSenderChannel {
+    private final Consumer<ConsumerByteBuffer> written;
+
+    Context(final Consumer<ConsumerByteBuffer> written) {
+      this.written = written;
+    }
+
+    @Override public <T> T consumerData() { return null; }
+    @Override public <T> T consumerData(final T data) { return data; }
+    @Override public boolean hasConsumerData() { return false; }
+    @Override public String id() { return "1"; }
+    @Override public ResponseSenderChannel sender() { return this; }
+    @Override public void whenClosing(final Object data) { }
+
+    @Override public void abandon(final RequestResponseContext<?> context) { }
+    @Override public void respondWith(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer) { respondWith(context, buffer, false); }
+    @Override public void respondWith(final RequestResponseContext<?> context, final Object response, final boolean closeFollowing) { }
+
+    @Override
+    public void respondWith(final RequestResponseContext<?> context, final ConsumerByteBuffer buffer, final boolean closeFollowing) {
+      ResponseWriterTest.this.closeFollowing.add(closeFollowing);
+      written.accept(buffer);
+    }
+  }
+}
@@ -0,0 +1,318 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.nextPort;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpClientUpgradeHandler;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2ClientUpgradeCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.util.CharsetUtil;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.sse.SseConfiguration;
+import io.vlingo.xoom.http.sample.user.AllSseFeedActor;
+
+public class ServerAgentH2cTest {
+  private static final int ConcurrentStreams = 4;
+
+  private EventLoopGroup group;
+  private int port;
+  private Server server;
+  private final List<Completes<Response>> together = new ArrayList<>();
+  private World world;
+
+  @Test
+  public void testThatPriorKnowledgeConnectionResponds() throws Exception {
+    final Channel connection = connectWithPriorKnowledge();
+
+    final Responses responses = request(connection, "/h2/hello");
+
+    assertEquals("hello", responses.body());
+    assertEquals(Response.Status.Ok.code, responses.response.status().code());
+    assertEquals("5", responses.response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+
+    connection.close().syncUninterruptibly();
+  }
+
+  @Test
+  public void testThatUpgradedConnectionResponds() throws Exception {
+    final Responses upgraded = new Responses();
+    final CountDownLatch upgrade = new CountDownLatch(1);
+
+    final Channel connection = connect(new ChannelInitializer<SocketChannel>() {
+      @Override
+      protected void initChannel(final SocketChannel channel) {
+        final HttpClientCodec codec = new HttpClientCodec();
+
+        final Http2ClientUpgradeCodec upgradeCodec =
+                new Http2ClientUpgradeCodec(
+                        Http2FrameCodecBuilder.forClient().build(),
+                        new Http2MultiplexHandler(new ChannelInboundHandlerAdapter(), streamOf(upgraded)));
+
+        channel.pipeline().addLast(codec, new HttpClientUpgradeHandler(codec, upgradeCodec, 65536), new ChannelInboundHandlerAdapter() {
+          @Override
+          public void userEventTriggered(final ChannelHandlerContext context, final Object event) throws Exception {
+            if (event == HttpClientUpgradeHandler.UpgradeEvent.UPGRADE_SUCCESSFUL) {
+              upgrade.countDown();
+            }
+            super.userEventTriggered(context, event);
+          }
+        });
+      }
+    });
+
+    connection.writeAndFlush(requestOf("/h2/hello"));
+
+    assertTrue(upgrade.await(5, TimeUnit.SECONDS));
+
+    // the upgrade request is answered on stream 1, and further requests on streams of their own
+    assertEquals("hello", upgraded.body());
+    assertEquals("hello", request(connection, "/h2/hello").body());
+
+    connection.close().syncUninterruptibly();
+  }
+
+  @Test
+  public void testThatConcurrentStreamsShareConnection() throws Exception {
+    final Channel connection = connectWithPriorKnowledge();
+
+    final List<Responses> all = new ArrayList<>();
+    for (int count = 0; count < ConcurrentStreams; ++count) {
+      all.add(request(connection, "/h2/together"));
+    }
+
+    // each is answered only once all are outstanding at the same time
+    for (final Responses responses : all) {
+      assertEquals("together", responses.body());
+    }
+
+    connection.close().syncUninterruptibly();
+  }
+
+  @Test
+  public void testThatEventStreamStaysOpen() throws Exception {
+    final Channel connection = connectWithPriorKnowledge();
+
+    final FullHttpRequest subscribe = requestOf("/eventstreams/all");
+    subscribe.headers().set(HttpHeaderNames.ACCEPT, "text/event-stream");
+
+    final Responses responses = request(connection, subscribe);
+
+    final String events = responses.contentUntil("data: data-1\n");
+
+    assertEquals(Response.Status.Ok.code, responses.response.status().code());
+    assertTrue(responses.response.headers().get(HttpHeaderNames.CONTENT_TYPE).startsWith("text/event-stream"));
+    assertTrue(events.contains("id: 1\n"));
+    assertEquals(1, responses.ended.getCount());
+
+    connection.close().syncUninterruptibly();
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-agent-h2c");
+    port = nextPort();
+    group = new NioEventLoopGroup(1);
+
+    AllSseFeedActor.registerInstantiator();
+
+    // SSE responses are written from pooled direct buffers
+    final Sizing sizing = Sizing.define().withDispatcherPoolSize(10).withDirectBuffers(true);
+    Configuration.define().with(sizing);
+
+    final List<Resource<?>> resources = new ArrayList<>();
+
+    resources.add(
+            resource("h2",
+                    get("/h2/hello").handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok, "hello"))),
+                    get("/h2/together").handle(this::together)));
+
+    resources.addAll(
+            Loader.resourcesFrom(
+                    SseConfiguration.define()
+                      .withName("all")
+                      .withStreamURL("/eventstreams/all")
+                      .with(AllSseFeedActor.class)
+                      .withDefaultId("1")
+                      .withPayloadCount(5)
+                      .withInterval(1000)
+                      .withPoolSize(2))
+              .values());
+
+    server = Server.startWithAgent(
+            world.stage(),
+            Resources.are(resources.toArray(new Resource<?>[0])),
+            Filters.none(),
+            port,
+            sizing,
+            Agent.define().withHttp2(true),
+            "queueMailbox");
+
+    assertTrue(server.startUp().await(500L));
+  }
+
+  @After
+  public void tearDown() {
+    group.shutdownGracefully().syncUninterruptibly();
+    server.shutDown();
+    world.terminate();
+    Configuration.define();
+  }
+
+  private synchronized Completes<Response> together() {
+    final Completes<Response> completes = Completes.using(world.stage().scheduler());
+    together.add(completes);
+    if (together.size() == ConcurrentStreams) {
+      together.forEach(each -> each.with(Response.of(Response.Status.Ok, "together")));
+    }
+    return completes;
+  }
+
+  private Channel connect(final ChannelHandler initializer) {
+    return new Bootstrap()
+            .group(group)
+            .channel(NioSocketChannel.class)
+            .handler(initializer)
+            .connect("localhost", port)
+            .syncUninterruptibly()
+            .channel();
+  }
+
+  private Channel connectWithPriorKnowledge() {
+    return connect(new ChannelInitializer<SocketChannel>() {
+      @Override
+      protected void initChannel(final SocketChannel channel) {
+        channel.pipeline().addLast(Http2FrameCodecBuilder.forClient().build(), new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+      }
+    });
+  }
+
+  private Responses request(final Channel connection, final String path) {
+    return request(connection, requestOf(path));
+  }
+
+  private Responses request(final Channel connection, final FullHttpRequest request) {
+    final Responses responses = new Responses();
+
+    final Channel stream =
+            new Http2StreamChannelBootstrap(connection)
+              .handler(streamOf(responses))
+              .open()
+              .syncUninterruptibly()
+              .getNow();
+
+    stream.writeAndFlush(request);
+
+    return responses;
+  }
+
+  private FullHttpRequest requestOf(final String path) {
+    final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path);
+    request.headers().set(HttpHeaderNames.HOST, "localhost:" + port);
+    request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), "http");
+    return request;
+  }
+
+  private ChannelHandler streamOf(final Responses responses) {
+    return new ChannelInitializer<Channel>() {
+      @Override
+      protected void initChannel(final Channel stream) {
+        stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false), responses);
+      }
+    };
+  }
+
+  /**
+   * The response of one stream, as its HttpResponse and the content of each HttpContent.
+   */
+  private static class Responses extends SimpleChannelInboundHandler<HttpObject> {
+    final BlockingQueue<String> contents = new LinkedBlockingQueue<>();
+    final CountDownLatch ended = new CountDownLatch(1);
+    volatile HttpResponse response;
+
+    String body() throws InterruptedException {
+      assertTrue(ended.await(5, TimeUnit.SECONDS));
+      final StringBuilder body = new StringBuilder();
+      for (final String content : contents) {
+        body.append(content);
+      }
+      return body.toString();
+    }
+
+    String contentUntil(final String expected) throws InterruptedException {
+      final StringBuilder content = new StringBuilder();
+      final long deadline = System.currentTimeMillis() + 5000;
+      while (content.indexOf(expected) < 0) {
+        final String next = contents.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        if (next == null) {
+          throw new AssertionError("Missing " + expected + " in: " + content);
+        }
+        content.append(next);
+      }
+      return content.toString();
+    }
+
+    @Override
+    protected void channelRead0(final ChannelHandlerContext context, final HttpObject message) {
+      if (message instanceof HttpResponse) {
+        response = (HttpResponse) message;
+      }
+      if (message instanceof HttpContent && ((HttpContent) message).content().isReadable()) {
+        contents.add(((HttpContent) message).content().toString(CharsetUtil.UTF_8));
+      }
+      if (message instanceof LastHttpContent) {
+        ended.countDown();
+      }
+    }
+  }
+}
@@ -0,0 +1,27 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+
+public class ServerAgentHttp2Test extends ServerTest {
+
+  @Override
+  protected Server startServer() {
+    return Server.startWithAgent(
+            world.stage(),
+            resources,
+            Filters.none(),
+            serverPort,
+            Sizing.define().withDispatcherPoolSize(100),
+            Agent.define().withHttp2(true),
+            "queueMailbox");
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.netty.channel.epoll.Epoll;
+import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+
+/**
+ * The tests of {@code ServerTest} served by an agent that binds two server
+ * channels to the same port with {@code SO_REUSEPORT}, which requires epoll.
+ */
+public class ServerAgentReusePortTest extends ServerTest {
+  private static final int Acceptors = 2;
+
+  @BeforeClass
+  public static void assumeEpoll() {
+    assumeTrue("SO_REUSEPORT requires epoll", Epoll.isAvailable());
+  }
+
+  @Test
+  public void testThatEachAcceptorListens() throws IOException {
+    assertEquals(Acceptors, listenersOn(serverPort));
+  }
+
+  @Override
+  protected Server startServer() {
+    return Server.startWithAgent(
+            world.stage(),
+            resources,
+            Filters.none(),
+            serverPort,
+            Sizing.define(),
+            Agent.define().withReusePort(true).withAcceptors(Acceptors),
+            "queueMailbox");
+  }
+
+  /*
+   * Answer the number of sockets listening on port, as listed by the kernel
+   * in the st column of each of its TCP tables, where 0A is LISTEN.
+   */
+  private int listenersOn(final int port) throws IOException {
+    final String local = String.format(":%04X", port);
+    int listeners = 0;
+    for (final String table : new String[] { "/proc/net/tcp", "/proc/net/tcp6" }) {
+      final Path path = Paths.get(table);
+      if (!Files.exists(path)) {
+        continue;
+      }
+      for (final String line : Files.readAllLines(path)) {
+        final String[] columns = line.trim().split("\\s+");
+        if (columns.length > 3 && columns[1].endsWith(local) && columns[3].equals("0A")) {
+          ++listeners;
+        }
+      }
+    }
+    return listeners;
+  }
+}
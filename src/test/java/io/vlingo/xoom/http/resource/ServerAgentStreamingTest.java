@@ -0,0 +1,214 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.post;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.nextPort;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.readUntilClosed;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.responsesIn;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.send;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.sendBody;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Body;
+import io.vlingo.xoom.http.ChunkedBody;
+import io.vlingo.xoom.http.Filters;
+import io.vlingo.xoom.http.Header.Headers;
+import io.vlingo.xoom.http.RequestBodyStream;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.ResponseHeader;
+import io.vlingo.xoom.http.resource.Configuration.Agent;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+
+public class ServerAgentStreamingTest {
+  private static final int MaxAggregatedContentLength = 1024;
+  private static final long RequestBodyTimeout = 1000;
+  private static final int UploadLength = 4 * RequestBodyStream.DefaultMaximumBufferedBytes;
+  private static final long SubscriberDelay = 300;
+
+  private static final String[] Chunks = { "first chunk", "second chunk", "third and last chunk" };
+
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final AtomicLong uploaded = new AtomicLong();
+  private int port;
+  private Server server;
+  private World world;
+
+  @Test
+  public void testThatUploadBeyondAggregationLimitStreams() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      // more than the stream holds without demand, so only read as the subscriber drains it
+      send(socket, "POST /upload HTTP/1.1\r\nHost: test\r\nConnection: close\r\nContent-Length: " + UploadLength + "\r\n\r\n");
+      sendBody(socket, UploadLength);
+
+      final String received = readUntilClosed(socket);
+
+      assertNull(failure.get());
+      assertTrue(received.startsWith("HTTP/1.1 " + Response.Status.Ok));
+      assertTrue(received.endsWith(String.valueOf(UploadLength)));
+      assertEquals(UploadLength, uploaded.get());
+    }
+  }
+
+  @Test
+  public void testThatUnreadUploadIsDiscardedOnceAnswered() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      // answered without reading any of it, so it could be sent in full only if reading resumes
+      send(socket, "POST /unauthorized HTTP/1.1\r\nHost: test\r\nContent-Length: " + UploadLength + "\r\n\r\n");
+      sendBody(socket, UploadLength);
+
+      send(socket, "GET /chunked HTTP/1.1\r\nHost: test\r\nConnection: close\r\n\r\n");
+
+      final String received = readUntilClosed(socket);
+
+      assertTrue(received.startsWith("HTTP/1.1 " + Response.Status.Unauthorized));
+      assertEquals(2, responsesIn(received));
+      assertTrue(received.contains(Chunks[2]));
+    }
+  }
+
+  @Test
+  public void testThatStalledUploadTimesOut() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "POST /upload HTTP/1.1\r\nHost: test\r\nContent-Length: " + UploadLength + "\r\n\r\n");
+      sendBody(socket, MaxAggregatedContentLength);
+
+      final long start = System.currentTimeMillis();
+      final String received = readUntilClosed(socket);
+
+      assertEquals("", received);
+      assertTrue(System.currentTimeMillis() - start >= RequestBodyTimeout / 2);
+
+      for (int retries = 0; failure.get() == null && retries < 20; ++retries) {
+        Thread.sleep(50);
+      }
+      assertTrue(failure.get() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testThatAggregatedUploadBeyondLimitIsRejected() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "POST /aggregated HTTP/1.1\r\nHost: test\r\nConnection: close\r\nContent-Length: " + (MaxAggregatedContentLength + 1) + "\r\n\r\n");
+
+      final String received = readUntilClosed(socket);
+
+      assertTrue(received.startsWith("HTTP/1.1 " + Response.Status.PayloadTooLarge.code));
+    }
+  }
+
+  @Test
+  public void testThatChunkedResponseDownloadsInChunks() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "GET /chunked HTTP/1.1\r\nHost: test\r\nConnection: close\r\n\r\n");
+
+      final String received = readUntilClosed(socket);
+      final int bodyStart = received.indexOf("\r\n\r\n") + 4;
+      final String head = received.substring(0, bodyStart).toLowerCase();
+
+      assertTrue(received.startsWith("HTTP/1.1 " + Response.Status.Ok));
+      assertTrue(head.contains("transfer-encoding: chunked"));
+      assertFalse(head.contains("content-length"));
+      assertEquals(Arrays.asList(Chunks), dechunked(received.substring(bodyStart)));
+    }
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-agent-streaming");
+    port = nextPort();
+
+    final Resource<?> resource =
+            resource("streaming",
+                    post("/upload").bodyStream().handle(this::upload),
+                    post("/unauthorized").bodyStream().handle(this::unauthorized),
+                    post("/aggregated").handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok))),
+                    get("/chunked").handle(this::chunked));
+
+    server = Server.startWithAgent(
+            world.stage(),
+            Resources.are(resource),
+            Filters.none(),
+            port,
+            Sizing.define().withDispatcherPoolSize(10),
+            Agent.define().withMaxAggregatedContentLength(MaxAggregatedContentLength).withRequestBodyTimeout(RequestBodyTimeout),
+            "queueMailbox");
+
+    assertTrue(server.startUp().await(500L));
+  }
+
+  @After
+  public void tearDown() {
+    server.shutDown();
+    world.terminate();
+  }
+
+  private Completes<Response> chunked() {
+    final ChunkedBody body = Body.beginChunked();
+    for (final String chunk : Chunks) {
+      body.appendChunk(chunk);
+    }
+    return Completes.withSuccess(
+            Response.of(
+                    Response.Status.Ok,
+                    Headers.of(ResponseHeader.of(ResponseHeader.TransferEncoding, "chunked")),
+                    body.end()));
+  }
+
+  private Completes<Response> upload(final RequestBodyStream stream) {
+    final Completes<Response> completes = Completes.using(world.stage().scheduler());
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override public void onChunk(final ByteBuffer chunk) { uploaded.addAndGet(chunk.remaining()); }
+      @Override public void onCompleted() { completes.with(Response.of(Response.Status.Ok, String.valueOf(uploaded.get()))); }
+      @Override public void onFailure(final Throwable cause) {
+        failure.set(cause);
+        completes.with(Response.of(Response.Status.BadRequest));
+      }
+    });
+    // no demand at first, such that the held content suspends reading
+    world.stage().scheduler().scheduleOnce((scheduled, data) -> stream.request(Long.MAX_VALUE), null, 0, SubscriberDelay);
+    return completes;
+  }
+
+  private Completes<Response> unauthorized(final RequestBodyStream stream) {
+    return Completes.withSuccess(Response.of(Response.Status.Unauthorized));
+  }
+
+  private List<String> dechunked(final String body) {
+    final List<String> chunks = new ArrayList<>();
+    for (int index = 0; ; ) {
+      final int lineEnd = body.indexOf("\r\n", index);
+      final int size = Integer.parseInt(body.substring(index, lineEnd), 16);
+      if (size == 0) {
+        assertEquals("\r\n", body.substring(lineEnd + 2));
+        return chunks;
+      }
+      chunks.add(body.substring(lineEnd + 2, lineEnd + 2 + size));
+      index = lineEnd + 2 + size + 2;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import io.vlingo.xoom.http.Filters;
+
+public class ServerAgentWithoutFlushBatchingTest extends ServerTest {
+
+  @Override
+  protected Server startServer() {
+    return Server.startWithAgent(world.stage(), resources, Filters.none(), serverPort, 100, 0, "queueMailbox");
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.nextPort;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.readUntilClosed;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.responsesIn;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Socket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.Configuration.Timing;
+
+public class ServerIdleConnectionTest {
+  private static final long HandlingTime = 1000;
+  private static final long IdleTimeout = 300;
+
+  private int port;
+  private Server server;
+  private World world;
+
+  @Test
+  public void testThatSlowHandlerConnectionIsNotIdle() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "GET /slow HTTP/1.1\r\nHost: test\r\n\r\n");
+
+      final String received = readUntilClosed(socket);
+
+      assertTrue(received.startsWith(Response.Status.Ok.toString(), "HTTP/1.1 ".length()));
+      assertTrue(received.endsWith("slow"));
+    }
+  }
+
+  @Test
+  public void testThatConnectionIdlesAfterResponseIsWritten() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "GET /fast HTTP/1.1\r\nHost: test\r\n\r\n");
+
+      final long start = System.currentTimeMillis();
+      final String received = readUntilClosed(socket);
+
+      assertEquals(1, responsesIn(received));
+      assertTrue(System.currentTimeMillis() - start < HandlingTime + IdleTimeout);
+    }
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-idle-connection");
+    port = nextPort();
+
+    final Resource<?> resource =
+            resource("idle",
+                    get("/slow").handle(this::slow),
+                    get("/fast").handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok, "fast"))));
+
+    server = Server.startWith(world.stage(), Resources.are(resource), port, new Sizing(1, 1, 100, 10240), new Timing(1, 1, 200, 0, IdleTimeout));
+    assertTrue(server.startUp().await(500L));
+  }
+
+  @After
+  public void tearDown() {
+    server.shutDown();
+    world.terminate();
+  }
+
+  private Completes<Response> slow() {
+    final Completes<Response> completes = Completes.using(world.stage().scheduler());
+    world.stage().scheduler().scheduleOnce(
+            (scheduled, data) -> completes.with(Response.of(Response.Status.Ok, "slow")), null, 0, HandlingTime);
+    return completes;
+  }
+}
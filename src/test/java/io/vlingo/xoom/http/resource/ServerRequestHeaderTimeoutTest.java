@@ -0,0 +1,82 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.nextPort;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.readUntilClosed;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.responsesIn;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.send;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.Socket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.Configuration.Timing;
+
+public class ServerRequestHeaderTimeoutTest {
+  private static final long RequestHeaderTimeout = 500;
+  private static final long TrickleInterval = 100;
+
+  private int port;
+  private Server server;
+  private World world;
+
+  @Test
+  public void testThatTrickledHeadersTimeOut() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      final long start = System.currentTimeMillis();
+
+      send(socket, "GET /fast HTTP/1.1\r\n");
+
+      // each byte arrives well within the timeout, but the headers never end
+      try {
+        for (int count = 0; System.currentTimeMillis() - start < 6 * RequestHeaderTimeout; ++count) {
+          send(socket, count % 2 == 0 ? "X" : "-");
+          Thread.sleep(TrickleInterval);
+        }
+      } catch (IOException e) {
+        // closed by the server
+      }
+
+      final String received = readUntilClosed(socket);
+
+      assertTrue(received.startsWith("HTTP/1.1 " + Response.Status.RequestTimeout));
+      assertEquals(1, responsesIn(received));
+    }
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-request-header-timeout");
+    port = nextPort();
+
+    final Resource<?> resource =
+            resource("header",
+                    get("/fast").handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok, "fast"))));
+
+    server = Server.startWith(world.stage(), Resources.are(resource), port, new Sizing(1, 1, 100, 10240), new Timing(1, 1, 200, RequestHeaderTimeout, 0));
+    assertTrue(server.startUp().await(500L));
+  }
+
+  @After
+  public void tearDown() {
+    server.shutDown();
+    world.terminate();
+  }
+}
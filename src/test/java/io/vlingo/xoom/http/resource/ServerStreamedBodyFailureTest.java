@@ -0,0 +1,105 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.post;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.nextPort;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.readUntilClosed;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.responsesIn;
+import static io.vlingo.xoom.http.resource.SocketTestFixtures.send;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.RequestBodyStream;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration.Sizing;
+import io.vlingo.xoom.http.resource.Configuration.Timing;
+
+public class ServerStreamedBodyFailureTest {
+  private AtomicReference<Throwable> failure;
+  private CountDownLatch failed;
+  private int port;
+  private Server server;
+  private World world;
+
+  @Test
+  public void testThatMissingStreamedContentFailsOnlyTheStream() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "POST /upload HTTP/1.1\r\nHost: test\r\nContent-Length: 1000\r\n\r\n0123456789");
+
+      assertTrue(failed.await(5, TimeUnit.SECONDS));
+      assertTrue(failure.get().getMessage().startsWith(Response.Status.RequestTimeout.toString()));
+
+      final String received = readUntilClosed(socket);
+      assertFalse(received.contains(Response.Status.BadRequest.toString()));
+      assertTrue(responsesIn(received) <= 1);
+    }
+  }
+
+  @Test
+  public void testThatMalformedStreamedContentFailsOnlyTheStream() throws Exception {
+    try (final Socket socket = new Socket("localhost", port)) {
+      send(socket, "POST /upload HTTP/1.1\r\nHost: test\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nWiki\r\nzz\r\n");
+
+      assertTrue(failed.await(5, TimeUnit.SECONDS));
+      assertTrue(failure.get().getMessage().startsWith(Response.Status.BadRequest.toString()));
+
+      final String received = readUntilClosed(socket);
+      assertFalse(received.contains(Response.Status.BadRequest.toString()));
+      assertTrue(responsesIn(received) <= 1);
+    }
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-streamed-body-failure");
+    port = nextPort();
+    failure = new AtomicReference<>();
+    failed = new CountDownLatch(1);
+
+    final Resource<?> resource =
+            resource("streamed", post("/upload").bodyStream().handle(this::upload));
+
+    server = Server.startWith(world.stage(), Resources.are(resource), port, new Sizing(1, 1, 100, 10240), new Timing(1, 1, 200));
+    assertTrue(server.startUp().await(500L));
+  }
+
+  @After
+  public void tearDown() {
+    server.shutDown();
+    world.terminate();
+  }
+
+  private Completes<Response> upload(final RequestBodyStream stream) {
+    final Completes<Response> completes = Completes.using(world.stage().scheduler());
+    stream.subscribe(new RequestBodyStream.Subscriber() {
+      @Override public void onChunk(final ByteBuffer chunk) { }
+      @Override public void onCompleted() { completes.with(Response.of(Response.Status.Ok)); }
+      @Override public void onFailure(final Throwable cause) {
+        failure.set(cause);
+        failed.countDown();
+        completes.with(Response.of(Response.Status.RequestTimeout));
+      }
+    });
+    stream.request(Long.MAX_VALUE);
+    return completes;
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ports and plain socket exchanges of the tests that drive a {@code Server}
+ * byte by byte, rather than by way of a client channel.
+ */
+final class SocketTestFixtures {
+  private static final Random random = new Random();
+  private static final AtomicInteger serverPort = new AtomicInteger(10_000 + random.nextInt(50_000));
+
+  static int nextPort() {
+    return serverPort.getAndIncrement();
+  }
+
+  static void send(final Socket socket, final String content) throws IOException {
+    socket.getOutputStream().write(content.getBytes(StandardCharsets.UTF_8));
+    socket.getOutputStream().flush();
+  }
+
+  static void sendBody(final Socket socket, final int length) throws IOException {
+    final OutputStream output = socket.getOutputStream();
+    final byte[] bytes = new byte[8192];
+    Arrays.fill(bytes, (byte) 'x');
+    for (int remaining = length; remaining > 0; remaining -= bytes.length) {
+      output.write(bytes, 0, Math.min(bytes.length, remaining));
+    }
+    output.flush();
+  }
+
+  static String readUntilClosed(final Socket socket) throws IOException {
+    socket.setSoTimeout(5000);
+    final InputStream input = socket.getInputStream();
+    final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    final byte[] bytes = new byte[1024];
+    try {
+      for (int count = input.read(bytes); count >= 0; count = input.read(bytes)) {
+        received.write(bytes, 0, count);
+      }
+    } catch (SocketTimeoutException e) {
+      throw new AssertionError("Connection was not closed: " + received.toString("UTF-8"), e);
+    }
+    return received.toString("UTF-8");
+  }
+
+  static int responsesIn(final String received) {
+    int responses = 0;
+    for (int index = received.indexOf("HTTP/1.1 "); index >= 0; index = received.indexOf("HTTP/1.1 ", index + 1)) {
+      ++responses;
+    }
+    return responses;
+  }
+
+  private SocketTestFixtures() { }
+}
@@ -0,0 +1,98 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+  private final List<String> expired = new ArrayList<>();
+  private final TimingWheel<String,String> wheel = new TimingWheel<>(10, 8, 0);
+
+  @Test
+  public void testThatTimeoutExpiresWhenDue() {
+    wheel.schedule("a", "value-a", 25);
+
+    wheel.advance(20, this::expire);
+    assertTrue(expired.isEmpty());
+
+    wheel.advance(30, this::expire);
+    assertEquals(1, expired.size());
+    assertEquals("a=value-a", expired.get(0));
+    assertFalse(wheel.contains("a"));
+  }
+
+  @Test
+  public void testThatTimeoutBeyondOneTurnWaitsForItsTurn() {
+    wheel.schedule("far", "value", 250);
+
+    wheel.advance(100, this::expire);
+    wheel.advance(200, this::expire);
+    assertTrue(expired.isEmpty());
+    assertEquals(1, wheel.size());
+
+    wheel.advance(250, this::expire);
+    assertEquals(1, expired.size());
+  }
+
+  @Test
+  public void testThatRescheduleDefersAndCancelRemoves() {
+    wheel.schedule("a", "value-a", 20);
+    wheel.schedule("b", "value-b", 20);
+
+    wheel.advance(10, this::expire);
+    assertTrue(wheel.reschedule("a", 50));
+    assertEquals("value-b", wheel.cancel("b"));
+    assertFalse(wheel.reschedule("c", 50));
+
+    wheel.advance(30, this::expire);
+    assertTrue(expired.isEmpty());
+
+    wheel.advance(60, this::expire);
+    assertEquals(1, expired.size());
+    assertEquals("a=value-a", expired.get(0));
+    assertTrue(wheel.isEmpty());
+  }
+
+  @Test
+  public void testThatScheduleIfAbsentKeepsFirstDeadline() {
+    assertTrue(wheel.scheduleIfAbsent("a", "first", 20));
+    wheel.advance(10, this::expire);
+    assertFalse(wheel.scheduleIfAbsent("a", "second", 100));
+
+    wheel.advance(20, this::expire);
+    assertEquals("a=first", expired.get(0));
+  }
+
+  @Test
+  public void testThatLateAdvanceExpiresAllDue() {
+    for (int index = 0; index < 20; ++index) {
+      wheel.schedule("key-" + index, "value", 10 * (index + 1));
+    }
+
+    wheel.advance(1000, this::expire);
+
+    assertEquals(20, expired.size());
+    assertTrue(wheel.isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatTickMustBePositive() {
+    new TimingWheel<String,String>(0, 8, 0);
+  }
+
+  private void expire(final String key, final String value) {
+    expired.add(key + "=" + value);
+  }
+}
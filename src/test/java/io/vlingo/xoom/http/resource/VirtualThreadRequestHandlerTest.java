@@ -0,0 +1,131 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource;
+
+import static io.vlingo.xoom.http.resource.ResourceBuilder.get;
+import static io.vlingo.xoom.http.resource.ResourceBuilder.resource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.http.Context;
+import io.vlingo.xoom.http.Method;
+import io.vlingo.xoom.http.Request;
+import io.vlingo.xoom.http.Response;
+
+public class VirtualThreadRequestHandlerTest {
+  private static final int ExecutionLimit = 2;
+  private static final int TotalRequests = 8;
+
+  private final Set<Thread> handlingThreads = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger maximumRunning = new AtomicInteger();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger running = new AtomicInteger();
+  private Resources resources;
+  private World world;
+
+  @Test
+  public void testThatHandlersRunOffCallingThreadWithinLimit() throws Exception {
+    final List<AccessSafely> outcomes = new ArrayList<>();
+
+    for (int count = 0; count < TotalRequests; ++count) {
+      final MockCompletesEventuallyResponse completes = new MockCompletesEventuallyResponse();
+      outcomes.add(completes.expectWithTimes(1));
+      resources.dispatchMatching(new Context(Request.has(Method.GET).and(URI.create("/blocking")), completes), world.defaultLogger());
+    }
+
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (running.get() < ExecutionLimit && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(100); // any handler beyond the limit would have started by now
+
+    assertEquals(ExecutionLimit, running.get());
+
+    release.countDown();
+
+    for (final AccessSafely outcome : outcomes) {
+      assertEquals(1, (int) outcome.readFrom("completed"));
+      assertEquals(Response.Status.Ok, ((Response) outcome.readFrom("response")).status);
+    }
+
+    assertEquals(ExecutionLimit, maximumRunning.get());
+    assertFalse(handlingThreads.isEmpty());
+    assertFalse(handlingThreads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void testThatUnpooledResourceAllocatesNoHandlerActors() {
+    final Resource<?> resource = resource("unpooled", null, 4, ExecutionMode.Virtual, ExecutionLimit,
+            get("/unpooled").handle(() -> Completes.withSuccess(Response.of(Response.Status.Ok))));
+
+    resource.allocateHandlerPool(world.stage());
+
+    assertTrue(resource.pooledHandler() instanceof VirtualThreadRequestHandler);
+    assertSame(resource.pooledHandler(), resource.pooledHandler());
+  }
+
+  @Test
+  public void testThatDefaultLimitIsSmallerOnPlatformThreads() {
+    final int expected =
+            VirtualThreadRequestHandler.supportsVirtualThreads() ?
+                    Resource.DefaultExecutionLimit :
+                    Resource.DefaultPlatformExecutionLimit;
+
+    assertEquals(expected, Resource.defaultExecutionLimit());
+    assertTrue(Resource.DefaultPlatformExecutionLimit < Resource.DefaultExecutionLimit);
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-virtual-execution");
+
+    final Resource<?> resource = resource("blocking", null, 1, ExecutionMode.Virtual, ExecutionLimit,
+            get("/blocking").handle(this::block));
+
+    resource.allocateHandlerPool(world.stage());
+
+    resources = Resources.are(resource);
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    world.terminate();
+  }
+
+  private Completes<Response> block() {
+    handlingThreads.add(Thread.currentThread());
+    maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+    try {
+      assertTrue(release.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      running.decrementAndGet();
+    }
+    return Completes.withSuccess(Response.of(Response.Status.Ok));
+  }
+}
@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.http.resource.sse;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -21,6 +23,7 @@ import io.vlingo.xoom.wire.message.Converters;
 
 public class MockResponseSenderChannel implements ResponseSenderChannel {
   public AtomicInteger abandonCount = new AtomicInteger(0);
+  public List<ConsumerByteBuffer> eventsBuffers = new CopyOnWriteArrayList<>();
   public AtomicReference<Response> eventsResponse = new AtomicReference<>();
   public AtomicInteger respondWithCount = new AtomicInteger(0);
   public AtomicReference<Response> response = new AtomicReference<>();
@@ -55,6 +58,7 @@ public class MockResponseSenderChannel implements ResponseSenderChannel {
     if (!receivedStatus) {
       response.set(parser.fullResponse());
     } else {
+      eventsBuffers.add(buffer);
       respondWithSafely.writeUsing("events", parser.fullResponse());
     }
     receivedStatus = true;
@@ -0,0 +1,208 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.common.Scheduler;
+import io.vlingo.xoom.http.resource.Configuration;
+import io.vlingo.xoom.http.resource.sse.SseStreamResource.ShardedSsePublisher;
+
+public class ShardedSsePublisherTest {
+  private ShardedSsePublisher publisher;
+  private RecordingPublisher[] shards;
+
+  @Test
+  public void testThatSubscribersAreRoutedByIdToOneShard() {
+    final List<SseSubscriber> subscribers = new ArrayList<>();
+    for (int count = 0; count < 40; ++count) {
+      final SseSubscriber subscriber = subscriber("client-" + count);
+      subscribers.add(subscriber);
+      publisher.subscribe(subscriber);
+    }
+
+    int total = 0;
+    for (final RecordingPublisher shard : shards) {
+      assertFalse(shard.subscribed.isEmpty());
+      total += shard.subscribed.size();
+    }
+    assertEquals(40, total);
+
+    for (final SseSubscriber subscriber : subscribers) {
+      final RecordingPublisher shard = (RecordingPublisher) publisher.shardOf(subscriber);
+      assertTrue(shard.subscribed.contains(subscriber));
+
+      final SseSubscriber unsubscriber = subscriber(subscriber.id());
+      publisher.unsubscribe(unsubscriber);
+
+      assertSame(shard, publisher.shardOf(unsubscriber));
+      assertTrue(shard.unsubscribed.contains(unsubscriber));
+    }
+  }
+
+  @Test
+  public void testThatEventsArePublishedToAllShards() {
+    final SseEvent event = SseEvent.Builder.instance().id(1).data("data").toEvent();
+
+    publisher.subscribe(subscriber("client-1"));
+    publisher.publish(event);
+
+    final SseBroadcast broadcast = shards[0].published.get(0);
+
+    assertEquals(1, broadcast.eventCount());
+
+    for (final RecordingPublisher shard : shards) {
+      // encoded once for all shards
+      assertEquals(1, shard.published.size());
+      assertSame(broadcast, shard.published.get(0));
+      broadcast.release();
+    }
+  }
+
+  @Test
+  public void testThatEventsAreRetainedOnceForStream() {
+    final SseReplayBuffer replay = new SseReplayBuffer(10, 0);
+    publisher = new ShardedSsePublisher(shards, replay, null, 0, null);
+
+    publisher.publish(SseEvent.Builder.instance().id(1).data("unheard").toEvent());
+
+    assertEquals(1, replay.size());
+    for (final RecordingPublisher shard : shards) {
+      assertTrue(shard.published.isEmpty());
+    }
+
+    publisher.subscribe(subscriber("client-1"));
+    publisher.publish(SseEvent.Builder.instance().id(2).data("heard").toEvent());
+
+    assertEquals(2, replay.size());
+    assertEquals("2", replay.after("1").get(0).id);
+    for (final RecordingPublisher shard : shards) {
+      assertEquals(1, shard.published.size());
+      shard.published.get(0).release();
+    }
+  }
+
+  @Test
+  public void testThatFeedIsSentAllSubscribersOnce() {
+    final RecordingFeed feed = new RecordingFeed();
+    final RecordingScheduler scheduler = new RecordingScheduler();
+    publisher = new ShardedSsePublisher(shards, null, feed, 1000, scheduler);
+
+    assertEquals(1, scheduler.intervals.size());
+    assertEquals(1000L, (long) scheduler.intervals.get(0));
+
+    for (int count = 0; count < 10; ++count) {
+      publisher.subscribe(subscriber("client-" + count));
+    }
+
+    publisher.intervalSignal(null, null);
+
+    assertEquals(1, feed.sent.size());
+    assertEquals(10, feed.sent.get(0).size());
+
+    publisher.stop();
+
+    assertTrue(scheduler.cancelled);
+    scheduler.close();
+  }
+
+  @Test
+  public void testThatAllShardsStop() {
+    assertEquals(3, publisher.shardCount());
+    assertFalse(publisher.isStopped());
+
+    publisher.stop();
+
+    assertTrue(publisher.isStopped());
+  }
+
+  @Before
+  public void setUp() {
+    Configuration.define();
+    shards = new RecordingPublisher[] { new RecordingPublisher(), new RecordingPublisher(), new RecordingPublisher() };
+    publisher = new ShardedSsePublisher(shards);
+  }
+
+  private SseSubscriber subscriber(final String id) {
+    return new SseSubscriber("all", new SseClient(new MockRequestResponseContext(new MockResponseSenderChannel()) {
+      @Override
+      public String id() {
+        return id;
+      }
+    }));
+  }
+
+  private static class RecordingFeed implements SseFeed {
+    final List<Collection<SseSubscriber>> sent = new ArrayList<>();
+
+    @Override
+    public void to(final Collection<SseSubscriber> subscribers) {
+      sent.add(subscribers);
+    }
+  }
+
+  private static class RecordingScheduler extends Scheduler {
+    final List<Long> intervals = new ArrayList<>();
+    boolean cancelled;
+
+    @Override
+    public <T> Cancellable schedule(final Scheduled<T> scheduled, final T data, final long delayBefore, final long interval) {
+      intervals.add(interval);
+      return () -> cancelled = true;
+    }
+  }
+
+  private static class RecordingPublisher implements SsePublisher {
+    final List<SseBroadcast> published = new ArrayList<>();
+    final List<SseSubscriber> subscribed = new ArrayList<>();
+    final List<SseSubscriber> unsubscribed = new ArrayList<>();
+    boolean stopped;
+
+    @Override
+    public void publish(final SseEvent... events) {
+      throw new UnsupportedOperationException("Events are published to shards as a broadcast.");
+    }
+
+    @Override
+    public void publish(final SseBroadcast broadcast) {
+      published.add(broadcast);
+    }
+
+    @Override
+    public void subscribe(final SseSubscriber subscriber) {
+      subscribed.add(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(final SseSubscriber subscriber) {
+      unsubscribed.add(subscriber);
+    }
+
+    @Override
+    public boolean isStopped() {
+      return stopped;
+    }
+
+    @Override
+    public void stop() {
+      stopped = true;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.http.Response;
+import io.vlingo.xoom.http.resource.Configuration;
+import io.vlingo.xoom.wire.message.ConsumerByteBuffer;
+import io.vlingo.xoom.wire.message.Converters;
+
+public class SseBroadcastTest {
+  private MockRequestResponseContext context1;
+  private MockRequestResponseContext context2;
+  private SseSubscriber subscriber1;
+  private SseSubscriber subscriber2;
+
+  @Test
+  public void testThatBroadcastSendsToAllSubscribers() {
+    final AccessSafely respondWithSafely1 = context1.channel.expectRespondWith(1);
+    final AccessSafely respondWithSafely2 = context2.channel.expectRespondWith(1);
+
+    final SseBroadcast broadcast = SseBroadcast.of(event(1), event(2), event(3));
+
+    assertEquals(3, broadcast.eventCount());
+    assertEquals("3", broadcast.lastEventId());
+
+    broadcast.to(Arrays.asList(subscriber1, subscriber2));
+
+    assertEquals(1, (int) respondWithSafely1.readFrom("count"));
+    assertEquals(1, (int) respondWithSafely2.readFrom("count"));
+
+    final List<MessageEvent> messageEvents1 = MessageEvent.from(respondWithSafely1.readFrom("eventsResponse"));
+    final List<MessageEvent> messageEvents2 = MessageEvent.from(respondWithSafely2.readFrom("eventsResponse"));
+
+    assertEquals(3, messageEvents1.size());
+    assertEquals(3, messageEvents2.size());
+    assertEquals("3", messageEvents1.get(2).id);
+    assertEquals("data-3", messageEvents2.get(2).data);
+
+    assertEquals("3", subscriber1.currentEventId());
+    assertEquals("3", subscriber2.currentEventId());
+  }
+
+  @Test
+  public void testThatSubscriberStillReceivesOwnEvents() {
+    final AccessSafely respondWithSafely = context1.channel.expectRespondWith(2);
+
+    final SseBroadcast broadcast = SseBroadcast.of(event(1));
+    subscriber1.send(broadcast);
+    broadcast.release();
+
+    subscriber1.client().send(event(2));
+
+    assertEquals(2, (int) respondWithSafely.readFrom("count"));
+
+    final Response eventsResponse = respondWithSafely.readFrom("eventsResponse");
+
+    assertEquals("2", MessageEvent.from(eventsResponse).get(0).id);
+  }
+
+  @Test
+  public void testThatViewsShareEncodedEvents() {
+    final SseBroadcast broadcast = SseBroadcast.of(event(1), event(2));
+    final String expected = event(1).sendable() + event(2).sendable();
+
+    final ConsumerByteBuffer view1 = broadcast.view();
+    final ConsumerByteBuffer view2 = broadcast.view();
+
+    assertNotSame(view1, view2);
+    assertEquals(Converters.encodedLength(expected), broadcast.length());
+    assertEquals(expected, Converters.bytesToText(view1.array(), 0, view1.limit()));
+
+    view1.asByteBuffer().position(view1.limit());
+
+    assertEquals(0, view2.position());
+    assertEquals(broadcast.length(), view2.remaining());
+
+    broadcast.release();
+    view1.release();
+    view2.release();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testThatReleasedBroadcastFailsToSend() {
+    final SseBroadcast broadcast = SseBroadcast.of(event(1));
+
+    final ConsumerByteBuffer view = broadcast.view();
+    broadcast.release();
+    view.release();
+    view.release();
+
+    subscriber1.send(broadcast);
+  }
+
+  @Before
+  public void setUp() {
+    Configuration.define();
+    context1 = new MockRequestResponseContext(new MockResponseSenderChannel());
+    context2 = new MockRequestResponseContext(new MockResponseSenderChannel());
+    subscriber1 = new SseSubscriber("all", new SseClient(context1));
+    subscriber2 = new SseSubscriber("all", new SseClient(context2));
+  }
+
+  private SseEvent event(final int id) {
+    return SseEvent.Builder.instance().id(id).event("E" + id).data("data-" + id).toEvent();
+  }
+}
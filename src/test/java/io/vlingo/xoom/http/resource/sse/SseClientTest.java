@@ -17,6 +17,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.http.Header.Headers;
 import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.ResponseHeader;
 import io.vlingo.xoom.http.resource.Configuration;
@@ -172,10 +173,99 @@ public class SseClientTest {
     assertTrue(messageEvent.endOfStream());
   }
 
+  @Test
+  public void testThatSlowClientDropsOldest() {
+    final SseOverflow overflow = SseOverflow.of(SseOverflow.Policy.DropOldest, 10);
+    final MockRequestResponseContext slowContext = new MockRequestResponseContext(new MockResponseSenderChannel());
+    final SseClient slowClient = new SseClient(slowContext, Headers.empty(), overflow);
+
+    for (int id = 1; id <= 4; ++id) {
+      slowClient.send(event(id));
+    }
+
+    assertEquals(1, slowContext.channel.respondWithCount.get());
+    assertEquals(2, overflow.droppedCount());
+    assertTrue(slowClient.outstandingBytes() > 10);
+
+    final AccessSafely respondWithSafely = slowContext.channel.expectRespondWith(1);
+
+    slowContext.channel.eventsBuffers.get(0).release();
+
+    assertEquals(2, (int) respondWithSafely.readFrom("count"));
+    assertEquals("4", MessageEvent.from(respondWithSafely.readFrom("eventsResponse")).get(0).id);
+  }
+
+  @Test
+  public void testThatSlowClientCoalescesToLatest() {
+    final SseOverflow overflow = SseOverflow.of(SseOverflow.Policy.CoalesceToLatest, 10);
+    final MockRequestResponseContext slowContext = new MockRequestResponseContext(new MockResponseSenderChannel());
+    final SseClient slowClient = new SseClient(slowContext, Headers.empty(), overflow);
+
+    for (int id = 1; id <= 4; ++id) {
+      slowClient.send(event(id));
+    }
+
+    assertEquals(2, overflow.coalescedCount());
+    assertEquals(slowContext.channel.eventsBuffers.get(0).limit(), slowClient.backlogBytes());
+
+    final AccessSafely respondWithSafely = slowContext.channel.expectRespondWith(1);
+
+    slowContext.channel.eventsBuffers.get(0).release();
+
+    assertEquals(2, (int) respondWithSafely.readFrom("count"));
+    assertEquals("4", MessageEvent.from(respondWithSafely.readFrom("eventsResponse")).get(0).id);
+    assertEquals(0, overflow.droppedCount());
+    assertEquals(0, slowClient.backlogBytes());
+  }
+
+  @Test
+  public void testThatSlowClientDisconnects() {
+    final SseOverflow overflow = SseOverflow.of(SseOverflow.Policy.Disconnect, 10);
+    final MockRequestResponseContext slowContext = new MockRequestResponseContext(new MockResponseSenderChannel());
+    final SseClient slowClient = new SseClient(slowContext, Headers.empty(), overflow);
+    final AccessSafely abandonSafely = slowContext.channel.expectAbandon(1);
+
+    slowClient.send(event(1));
+    slowClient.send(event(2));
+
+    assertEquals(1, (int) abandonSafely.readFrom("count"));
+    assertEquals(1, overflow.disconnectedCount());
+    assertEquals(1, slowContext.channel.eventsBuffers.size());
+  }
+
+  @Test
+  public void testThatSentEventsAreRetainedForReplay() {
+    final SseReplayBuffer replay = new SseReplayBuffer(10, 0);
+    final SseClient other = new SseClient(new MockRequestResponseContext(new MockResponseSenderChannel()));
+
+    client.replayTo(replay);
+    other.replayTo(replay);
+
+    client.send(event(1), event(2));
+    other.send(event(1), event(2));
+    client.send(event(3));
+
+    final SseBroadcast broadcast = SseBroadcast.of(event(4));
+    client.send(broadcast);
+    other.send(broadcast);
+    broadcast.release();
+
+    assertEquals(4, replay.size());
+
+    final List<SseEvent> missed = replay.after("1");
+
+    assertEquals(3, missed.size());
+    assertEquals("4", missed.get(2).id);
+  }
+
   @Before
   public void setUp() {
     Configuration.define();
     context = new MockRequestResponseContext(new MockResponseSenderChannel());
     client = new SseClient(context);
   }
+
+  private SseEvent event(final int id) {
+    return SseEvent.Builder.instance().id(id).data("data-" + id).toEvent();
+  }
 }
@@ -0,0 +1,106 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.http.resource.sse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SseReplayBufferTest {
+
+  @Test
+  public void testThatMissedEventsReplay() {
+    final SseReplayBuffer replay = new SseReplayBuffer(10, 0);
+
+    for (int id = 1; id <= 5; ++id) {
+      replay.append(event(id), 1000);
+    }
+
+    final List<SseEvent> missed = replay.after("2", 2000);
+
+    assertEquals(3, missed.size());
+    assertEquals("3", missed.get(0).id);
+    assertEquals("5", missed.get(2).id);
+    assertTrue(replay.after("5", 2000).isEmpty());
+  }
+
+  @Test
+  public void testThatDepthEvictsOldest() {
+    final SseReplayBuffer replay = new SseReplayBuffer(3, 0);
+
+    for (int id = 1; id <= 7; ++id) {
+      replay.append(event(id), 1000);
+    }
+
+    assertEquals(3, replay.size());
+    assertNull(replay.after("4", 1000));
+
+    final List<SseEvent> missed = replay.after("5", 1000);
+
+    assertEquals(2, missed.size());
+    assertEquals("6", missed.get(0).id);
+    assertEquals("7", missed.get(1).id);
+  }
+
+  @Test
+  public void testThatAgeExpiresEvents() {
+    final SseReplayBuffer replay = new SseReplayBuffer(10, 500);
+
+    replay.append(event(1), 1000);
+    replay.append(event(2), 1400);
+    replay.append(event(3), 1800);
+
+    assertEquals(2, replay.after("1", 1450).size());
+    assertNull(replay.after("1", 1600));
+    assertEquals(1, replay.after("2", 1600).size());
+  }
+
+  @Test
+  public void testThatEventsWithoutIdAreNotRetained() {
+    final SseReplayBuffer replay = new SseReplayBuffer(10, 0);
+
+    replay.append(SseEvent.Builder.instance().data("anonymous").toEvent(), 1000);
+
+    assertEquals(0, replay.size());
+    assertNull(replay.after("", 1000));
+  }
+
+  @Test
+  public void testThatRetainedIdIsRetainedOnce() {
+    final SseReplayBuffer replay = new SseReplayBuffer(2, 0);
+
+    for (int subscriber = 0; subscriber < 3; ++subscriber) {
+      replay.append(Arrays.asList(event(1), event(2)));
+    }
+
+    assertEquals(2, replay.size());
+    assertEquals(1, replay.after("1").size());
+
+    replay.append(event(3), 1000);
+    replay.append(event(1), 1000);
+
+    final List<SseEvent> missed = replay.after("3", 1000);
+
+    assertEquals(1, missed.size());
+    assertEquals("1", missed.get(0).id);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatDepthIsRequired() {
+    new SseReplayBuffer(0, 0);
+  }
+
+  private SseEvent event(final int id) {
+    return SseEvent.Builder.instance().id(id).data("data-" + id).toEvent();
+  }
+}
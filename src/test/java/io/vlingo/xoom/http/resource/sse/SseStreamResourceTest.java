@@ -8,6 +8,7 @@
 package io.vlingo.xoom.http.resource.sse;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
@@ -22,10 +23,12 @@ import io.vlingo.xoom.http.Context;
 import io.vlingo.xoom.http.Method;
 import io.vlingo.xoom.http.Request;
 import io.vlingo.xoom.http.RequestHeader;
+import io.vlingo.xoom.http.Response;
 import io.vlingo.xoom.http.resource.Configuration;
 import io.vlingo.xoom.http.resource.MockCompletesEventuallyResponse;
 import io.vlingo.xoom.http.sample.user.AllSseFeedActor;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class SseStreamResourceTest {
@@ -95,6 +98,65 @@ public class SseStreamResourceTest {
     assertEquals(1, resource.requestResponseContext.channel.abandonCount.get());
   }
 
+  @Test
+  public void testThatPublishedEventsSendWithoutFeedInterval() {
+    final String streamName = nextStreamName();
+    final Request request =
+            Request
+              .method(Method.GET)
+              .uri("/eventstreams/" + streamName)
+              .and(RequestHeader.host("StreamsRUs.co"))
+              .and(RequestHeader.accept("text/event-stream"));
+
+    assertFalse(SseStreamResource.publish(streamName, SseEvent.Builder.instance().id(1).data("unheard").toEvent()));
+
+    final AccessSafely respondWithSafely = resource.requestResponseContext.channel.expectRespondWith(2);
+
+    resource.nextRequest(request);
+
+    resource.subscribeToStream(streamName, null, 0, 0, "");
+
+    assertTrue(SseStreamResource.publish(streamName, SseEvent.Builder.instance().id(1).data("first").toEvent()));
+    assertTrue(SseStreamResource.publish(streamName, SseEvent.Builder.instance().id(2).data("second").toEvent()));
+
+    assertEquals(2, (int) respondWithSafely.readFrom("count"));
+
+    final Response eventsResponse = respondWithSafely.readFrom("eventsResponse");
+
+    assertEquals("second", MessageEvent.from(eventsResponse).get(0).data);
+  }
+
+  @Test
+  public void testThatConfiguredStreamReplaysEventsPublishedBeforeSubscriber() {
+    final String streamName = nextStreamName();
+    final Request request =
+            Request
+              .method(Method.GET)
+              .uri("/eventstreams/" + streamName)
+              .and(RequestHeader.host("StreamsRUs.co"))
+              .and(RequestHeader.accept("text/event-stream"))
+              .and(RequestHeader.of(RequestHeader.LastEventID, "1"));
+
+    SseStreamResource.configure(streamName, null, 0, 0, "", 10, 0, 1);
+
+    assertTrue(SseStreamResource.publish(streamName, SseEvent.Builder.instance().id(1).data("first").toEvent()));
+    assertTrue(SseStreamResource.publish(streamName, SseEvent.Builder.instance().id(2).data("second").toEvent(), SseEvent.Builder.instance().id(3).data("third").toEvent()));
+
+    final AccessSafely respondWithSafely = resource.requestResponseContext.channel.expectRespondWith(1);
+
+    resource.nextRequest(request);
+
+    resource.subscribeToStream(streamName, null, 0, 0, "", 10, 0);
+
+    assertEquals(1, (int) respondWithSafely.readFrom("count"));
+
+    final List<MessageEvent> replayed = MessageEvent.from(respondWithSafely.readFrom("eventsResponse"));
+
+    assertEquals(2, replayed.size());
+    assertEquals("second", replayed.get(0).data);
+    assertEquals("third", replayed.get(1).data);
+  }
+
   @Test
   public void testThatFeedWithInstantiatorFeeds() {
     final String streamName = nextStreamName();